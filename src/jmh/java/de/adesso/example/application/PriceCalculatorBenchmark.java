@@ -0,0 +1,104 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright © 2020 Matthias Brenner and Adesso SE
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the “Software”), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package de.adesso.example.application;
+
+import java.util.concurrent.TimeUnit;
+
+import org.javamoney.moneta.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import de.adesso.example.ProjectApplication;
+import de.adesso.example.application.accounting.Accounting;
+import de.adesso.example.application.stock.Article;
+import de.adesso.example.application.stock.PricingBean;
+import de.adesso.example.framework.ApplicationProtocol;
+
+/**
+ * Compares the price calculation of an article by the manually built
+ * {@link PriceCalculator} (JDK proxy, five steps including the lookup of the
+ * customer) with the annotated {@link PriceCalculatorAnnotated} (generated
+ * class, three steps). Both get the customer as appendix.
+ *
+ * @author Matthias
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class PriceCalculatorBenchmark {
+
+	private ConfigurableApplicationContext context;
+	private PriceCalculator manual;
+	private PriceCalculatorAnnotated annotated;
+	private Article article;
+
+	@Setup
+	public void setup() {
+		this.context = new SpringApplicationBuilder(ProjectApplication.class)
+				.web(WebApplicationType.NONE)
+				.properties(
+						"logging.level.root=WARN",
+						"logging.level.de.adesso=WARN",
+						"logging.level.org.springframework=WARN")
+				.run();
+		this.manual = this.context.getBean(PriceCalculator.class);
+		this.annotated = this.context.getBean(PriceCalculatorAnnotated.class);
+		this.context.getBean(PricingBean.class)
+				.registerPrice("price-calculator", Money.of(42, Standard.EUROS));
+		this.article = new Article("price-calculator");
+	}
+
+	@TearDown
+	public void tearDown() {
+		this.context.close();
+	}
+
+	@Benchmark
+	public Money manualChain() {
+		return this.manual.calculatePrice(this.article, this.createProtocol())
+				.getResult();
+	}
+
+	@Benchmark
+	public Money annotatedChain() {
+		return this.annotated.calculatePriceOfArticle(this.article, this.createProtocol())
+				.getResult();
+	}
+
+	private ApplicationProtocol<Money> createProtocol() {
+		return new ApplicationProtocol<Money>()
+				.addAppendix(null, Accounting.getUnknownCustomer());
+	}
+}
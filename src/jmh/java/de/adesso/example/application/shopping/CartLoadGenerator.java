@@ -0,0 +1,242 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright © 2020 Matthias Brenner and Adesso SE
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the “Software”), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package de.adesso.example.application.shopping;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.javamoney.moneta.Money;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import de.adesso.example.ProjectApplication;
+import de.adesso.example.application.Standard;
+import de.adesso.example.application.employment.Employment;
+import de.adesso.example.application.marketing.VoucherDiscountAbsolute;
+import de.adesso.example.application.stock.Article;
+import de.adesso.example.application.stock.PricingBean;
+import de.adesso.example.framework.ApplicationProtocol;
+import de.adesso.example.framework.core.LatencyHistogram;
+
+/**
+ * Drives {@link ShoppingBean#priceCart} from concurrent callers for a fixed
+ * duration. In contrast to the benchmarks each call gets another cart: the
+ * number of lines, the articles and whether an employee or vouchers are part of
+ * the protocol are chosen randomly. After the warm-up the throughput, the
+ * latency percentiles, the time spent for garbage collection and the allocation
+ * rate are reported.
+ * <p>
+ * The load is configured by system properties, run it with e.g.
+ * {@code gradlew loadTest -Pload.threads=32 -Pload.duration=600}:
+ * <ul>
+ * <li>{@code load.threads}: number of callers, default 8</li>
+ * <li>{@code load.warmup}: seconds of warm-up, default 10</li>
+ * <li>{@code load.duration}: seconds of measurement, default 60</li>
+ * <li>{@code load.lines}: maximum number of lines of a cart, default 20</li>
+ * <li>{@code load.employees}: share of carts bought by an employee, default
+ * 0.2</li>
+ * <li>{@code load.vouchers}: share of carts with vouchers, default 0.3</li>
+ * <li>{@code load.executor}: executor of the cart, platform or virtual, default
+ * platform</li>
+ * </ul>
+ * The allocation rate covers the threads alive at the end of the measurement,
+ * the collection time is reported by the garbage collectors and approximates
+ * the pauses.
+ *
+ * @author Matthias
+ *
+ */
+public class CartLoadGenerator {
+
+	private static final int ARTICLES = 1000;
+
+	private final int threads = Integer.getInteger("load.threads", 8);
+	private final int warmupSeconds = Integer.getInteger("load.warmup", 10);
+	private final int durationSeconds = Integer.getInteger("load.duration", 60);
+	private final int maxLines = Integer.getInteger("load.lines", 20);
+	private final double employeeShare = Double.parseDouble(System.getProperty("load.employees", "0.2"));
+	private final double voucherShare = Double.parseDouble(System.getProperty("load.vouchers", "0.3"));
+	private final String executor = System.getProperty("load.executor", "platform");
+
+	private final LatencyHistogram latencies = new LatencyHistogram();
+	private final LongAdder failures = new LongAdder();
+
+	private ShoppingBean shoppingBean;
+	private Employment employment;
+
+	public static void main(final String[] args) throws InterruptedException {
+		new CartLoadGenerator().run();
+	}
+
+	private void run() throws InterruptedException {
+		try (ConfigurableApplicationContext context = new SpringApplicationBuilder(ProjectApplication.class)
+				.web(WebApplicationType.NONE)
+				.properties(
+						"application.cart.executor=" + this.executor,
+						"application.framework.metrics.log-interval=0",
+						"logging.level.root=WARN",
+						"logging.level.de.adesso=WARN",
+						"logging.level.org.springframework=WARN")
+				.run()) {
+			this.shoppingBean = context.getBean(ShoppingBean.class);
+			this.employment = context.getBean(Employment.class);
+			final PricingBean pricingBean = context.getBean(PricingBean.class);
+			for (int i = 0; i < ARTICLES; i++) {
+				pricingBean.registerPrice(articleId(i), Money.of(1 + i % 100, Standard.EUROS));
+			}
+
+			final long measurementStart = System.nanoTime() + TimeUnit.SECONDS.toNanos(this.warmupSeconds);
+			final long end = measurementStart + TimeUnit.SECONDS.toNanos(this.durationSeconds);
+			final ExecutorService callers = Executors.newFixedThreadPool(this.threads);
+			for (int t = 0; t < this.threads; t++) {
+				callers.execute(() -> this.callUntil(measurementStart, end));
+			}
+
+			// take the counters of the runtime at the start of the measurement
+			TimeUnit.NANOSECONDS.sleep(measurementStart - System.nanoTime());
+			final long gcCountStart = gcCount();
+			final long gcTimeStart = gcTime();
+			final long allocatedStart = allocatedBytes();
+
+			// the callers are still alive, otherwise their allocation is lost
+			TimeUnit.NANOSECONDS.sleep(end - System.nanoTime());
+			final long gcCount = gcCount() - gcCountStart;
+			final long gcTime = gcTime() - gcTimeStart;
+			final long allocated = allocatedBytes() - allocatedStart;
+
+			callers.shutdown();
+			callers.awaitTermination(60L, TimeUnit.SECONDS);
+			final double seconds = (System.nanoTime() - measurementStart) / 1e9;
+			this.report(seconds, gcCount, gcTime, allocated);
+		}
+	}
+
+	private void callUntil(final long measurementStart, final long end) {
+		long now = System.nanoTime();
+		while (now < end) {
+			final ShoppingCart cart = this.createCart();
+			final ApplicationProtocol<ShoppingCart> protocol = this.createProtocol();
+			final long start = System.nanoTime();
+			boolean failed = false;
+			try {
+				this.shoppingBean.priceCart(cart, protocol);
+			} catch (final RuntimeException e) {
+				failed = true;
+			}
+			now = System.nanoTime();
+			if (start >= measurementStart) {
+				this.latencies.record(now - start);
+				if (failed) {
+					this.failures.increment();
+				}
+			}
+		}
+	}
+
+	private ShoppingCart createCart() {
+		final ThreadLocalRandom random = ThreadLocalRandom.current();
+		final ShoppingCart cart = new ShoppingCart();
+		final int lines = 1 + random.nextInt(this.maxLines);
+		for (int i = 0; i < lines; i++) {
+			cart.addEntry(new Article(articleId(random.nextInt(ARTICLES))), 1 + random.nextInt(3));
+		}
+		return cart;
+	}
+
+	private ApplicationProtocol<ShoppingCart> createProtocol() {
+		final ThreadLocalRandom random = ThreadLocalRandom.current();
+		final ApplicationProtocol<ShoppingCart> protocol = new ApplicationProtocol<>();
+		if (random.nextDouble() < this.employeeShare) {
+			protocol.addAppendix(null, this.employment.createEmployee("Müller", "Hans", random.nextInt(10000)));
+		}
+		if (random.nextDouble() < this.voucherShare) {
+			final int vouchers = 1 + random.nextInt(3);
+			for (int i = 0; i < vouchers; i++) {
+				protocol.addAppendix(null, new VoucherDiscountAbsolute("load " + random.nextInt(),
+						Money.of(5, Standard.EUROS)));
+			}
+		}
+		return protocol;
+	}
+
+	private void report(final double seconds, final long gcCount, final long gcMillis, final long allocated) {
+		final long calls = this.latencies.getCount();
+		System.out.println("load of ShoppingBean::priceCart ------------------------");
+		System.out.println(String.format("callers %d, duration %.1f s, lines 1-%d, employees %.0f %%, "
+				+ "vouchers %.0f %%, executor %s",
+				this.threads, seconds, this.maxLines, this.employeeShare * 100, this.voucherShare * 100,
+				this.executor));
+		System.out.println(String.format("calls %d, failures %d, throughput %.1f carts/s",
+				calls, this.failures.sum(), calls / seconds));
+		System.out.println(String.format("latency ms: mean %.3f, p50 %.3f, p90 %.3f, p99 %.3f, p99.9 %.3f, max %.3f",
+				this.latencies.getMean() / 1e6, this.millis(50), this.millis(90), this.millis(99),
+				this.millis(99.9), this.latencies.getMax() / 1e6));
+		System.out.println(String.format("gc: %d collections, %d ms (%.2f %% of the time)",
+				gcCount, gcMillis, gcMillis / (seconds * 10)));
+		System.out.println(String.format("allocation: %.1f MB/s, %.1f KB per cart",
+				allocated / seconds / (1 << 20), calls == 0 ? 0.0 : (double) allocated / calls / 1024));
+	}
+
+	private double millis(final double percentile) {
+		return this.latencies.getPercentile(percentile) / 1e6;
+	}
+
+	private static String articleId(final int i) {
+		return "load-" + i;
+	}
+
+	private static long gcCount() {
+		return ManagementFactory.getGarbageCollectorMXBeans().stream()
+				.mapToLong(GarbageCollectorMXBean::getCollectionCount)
+				.filter(c -> c > 0)
+				.sum();
+	}
+
+	private static long gcTime() {
+		return ManagementFactory.getGarbageCollectorMXBeans().stream()
+				.mapToLong(GarbageCollectorMXBean::getCollectionTime)
+				.filter(t -> t > 0)
+				.sum();
+	}
+
+	private static long allocatedBytes() {
+		final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+		if (!(threads instanceof com.sun.management.ThreadMXBean)) {
+			return 0;
+		}
+		final long[] ids = threads.getAllThreadIds();
+		return Arrays.stream(((com.sun.management.ThreadMXBean) threads).getThreadAllocatedBytes(ids))
+				.filter(b -> b > 0)
+				.sum();
+	}
+}
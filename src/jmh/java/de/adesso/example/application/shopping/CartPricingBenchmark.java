@@ -0,0 +1,104 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright © 2020 Matthias Brenner and Adesso SE
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the “Software”), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package de.adesso.example.application.shopping;
+
+import java.util.concurrent.TimeUnit;
+
+import org.javamoney.moneta.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import de.adesso.example.ProjectApplication;
+import de.adesso.example.application.Standard;
+import de.adesso.example.application.stock.Article;
+import de.adesso.example.application.stock.PricingBean;
+import de.adesso.example.framework.ApplicationProtocol;
+
+/**
+ * Compares the calculation of carts by {@link ShoppingBean#priceCart} with the
+ * platform thread pool and with virtual threads. Throughput and the sampled
+ * latency (including the p99 percentile) are reported. On a runtime without
+ * virtual threads, both executors are the thread pool.
+ *
+ * @author Matthias
+ *
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class CartPricingBenchmark {
+
+	@Param({ "10", "1000", "100000" })
+	private int lines;
+
+	@Param({ "platform", "virtual" })
+	private String executor;
+
+	private ConfigurableApplicationContext context;
+	private ShoppingBean shoppingBean;
+	private ShoppingCart cart;
+
+	@Setup
+	public void setup() {
+		this.context = new SpringApplicationBuilder(ProjectApplication.class)
+				.web(WebApplicationType.NONE)
+				.properties(
+						"application.cart.executor=" + this.executor,
+						"logging.level.root=WARN",
+						"logging.level.de.adesso=WARN",
+						"logging.level.org.springframework=WARN")
+				.run();
+		this.shoppingBean = this.context.getBean(ShoppingBean.class);
+
+		// one article per line, otherwise the lines would be merged
+		final PricingBean pricingBean = this.context.getBean(PricingBean.class);
+		this.cart = new ShoppingCart();
+		for (int i = 0; i < this.lines; i++) {
+			final String articleId = "benchmark-" + i;
+			pricingBean.registerPrice(articleId, Money.of(1 + i % 100, Standard.EUROS));
+			this.cart.addEntry(new Article(articleId));
+		}
+	}
+
+	@TearDown
+	public void tearDown() {
+		this.context.close();
+	}
+
+	@Benchmark
+	public ApplicationProtocol<ShoppingCart> priceCart() {
+		return this.shoppingBean.priceCart(this.cart, new ApplicationProtocol<>());
+	}
+}
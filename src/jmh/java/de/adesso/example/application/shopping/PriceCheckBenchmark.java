@@ -0,0 +1,103 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright © 2020 Matthias Brenner and Adesso SE
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the “Software”), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package de.adesso.example.application.shopping;
+
+import java.util.concurrent.TimeUnit;
+
+import org.javamoney.moneta.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import de.adesso.example.ProjectApplication;
+import de.adesso.example.application.Standard;
+import de.adesso.example.application.stock.Article;
+import de.adesso.example.application.stock.PricingBean;
+import de.adesso.example.framework.ApplicationProtocol;
+import de.adesso.example.framework.ApplicationProtocolPool;
+
+/**
+ * Compares price checks of single articles by
+ * {@link ShoppingBean#calculatePriceOfArticle} with a new protocol per call and
+ * with a pooled protocol. Run it with the gc profiler ({@code -prof gc}) to see
+ * the allocation per call.
+ *
+ * @author Matthias
+ *
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class PriceCheckBenchmark {
+
+	private ConfigurableApplicationContext context;
+	private ShoppingBean shoppingBean;
+	private Article article;
+
+	@Setup
+	public void setup() {
+		this.context = new SpringApplicationBuilder(ProjectApplication.class)
+				.web(WebApplicationType.NONE)
+				.properties(
+						"logging.level.root=WARN",
+						"logging.level.de.adesso=WARN",
+						"logging.level.org.springframework=WARN")
+				.run();
+		this.shoppingBean = this.context.getBean(ShoppingBean.class);
+		this.context.getBean(PricingBean.class)
+				.registerPrice("price-check", Money.of(42, Standard.EUROS));
+		this.article = new Article("price-check");
+	}
+
+	@TearDown
+	public void tearDown() {
+		this.context.close();
+	}
+
+	@Benchmark
+	public Money newProtocol() {
+		return this.shoppingBean.calculatePriceOfArticle(this.article, new ApplicationProtocol<>())
+				.getResult();
+	}
+
+	@Benchmark
+	public Money pooledProtocol() {
+		final ApplicationProtocol<Money> protocol = ApplicationProtocolPool.acquire();
+		try {
+			return this.shoppingBean.calculatePriceOfArticle(this.article, protocol)
+					.getResult();
+		} finally {
+			ApplicationProtocolPool.release(protocol);
+		}
+	}
+}
@@ -0,0 +1,124 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright © 2020 Matthias Brenner and Adesso SE
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the “Software”), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package de.adesso.example.framework;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures the queries of the appendixes for protocols of different sizes. The
+ * appendixes are of four types, one further appendix is unique. Half of the
+ * appendixes are added after a copy, so the list consists of two layers.
+ *
+ * @author Matthias
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class AppendixListBenchmark {
+
+	@Param({ "1", "10", "100", "1000" })
+	private int size;
+
+	private ApplicationProtocol<Object> protocol;
+	private AppendixTypeMask mask;
+
+	@Setup
+	public void setup() {
+		ApplicationProtocol<Object> filled = new ApplicationProtocol<>();
+		filled.addAppendix(null, new Unique());
+		for (int i = 0; i < this.size; i++) {
+			if (i == this.size / 2) {
+				filled = filled.copy();
+			}
+			filled.addAppendix(null, this.createAppendix(i));
+		}
+		this.protocol = filled;
+		this.mask = AppendixTypeMask.of(List.of(Unique.class, First.class));
+	}
+
+	@Benchmark
+	public Object singleAppendix() {
+		return this.protocol.getAppendixOfClassTOrNull(Unique.class);
+	}
+
+	@Benchmark
+	public Object appendixesOfType() {
+		return this.protocol.getAllAppenixesOfTypeAsListT(First.class);
+	}
+
+	@Benchmark
+	public Object appendixesOfSuperType() {
+		return this.protocol.getAllAppenixesOfTypeAsListT(Tag.class);
+	}
+
+	@Benchmark
+	public boolean containsTypes() {
+		return this.protocol.containsAppendixTypes(this.mask);
+	}
+
+	@Benchmark
+	public Object copy() {
+		return this.protocol.copy();
+	}
+
+	private Object createAppendix(final int i) {
+		switch (i % 4) {
+		case 0:
+			return new First();
+		case 1:
+			return new Second();
+		case 2:
+			return new Third();
+		default:
+			return Integer.valueOf(i);
+		}
+	}
+
+	private interface Tag {
+	}
+
+	private static class Unique {
+	}
+
+	private static class First implements Tag {
+	}
+
+	private static class Second implements Tag {
+	}
+
+	private static class Third {
+	}
+}
@@ -0,0 +1,142 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright © 2020 Matthias Brenner and Adesso SE
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the “Software”), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package de.adesso.example.framework.core;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import de.adesso.example.framework.ApplicationOwner;
+import de.adesso.example.framework.ApplicationProtocol;
+
+/**
+ * Measures the preparation of the arguments of one bean operation. The
+ * allocated bytes per step are reported by the gc profiler (see
+ * <code>gc.alloc.rate.norm</code>). The stream based preparation is the way the
+ * arguments were prepared before the argument plan was introduced.
+ *
+ * @author Matthias
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class ArgumentPreparationBenchmark {
+
+	private BeanOperation operation;
+	private List<Argument> arguments;
+	private ApplicationProtocol<Integer> state;
+	private Object[] args;
+
+	@Setup
+	public void setup() throws NoSuchMethodException {
+		final Method emulatedMethod = PriceCheck.class.getMethod("price", String.class, int.class,
+				ApplicationProtocol.class);
+		final Method beanMethod = PriceStep.class.getMethod("price", String.class, int.class, Customer.class,
+				Set.class, ApplicationProtocol.class);
+
+		this.operation = BeanOperation.builder()
+				.implementation(new PriceStep())
+				.methodIdentifier("price")
+				.method(beanMethod)
+				.argument(new ArgumentFromMethod(String.class, 0))
+				.argument(new ArgumentFromMethod(int.class, 1))
+				.argument(new ArgumentFromAppendix(Customer.class))
+				.argument(new ArgumentSetFromAppendix(Voucher.class))
+				.argument(new ArgumentApplicationProtocol())
+				.build();
+		MethodImplementation.builder()
+				.methodIdentifier("price")
+				.beanOperation(this.operation)
+				.build()
+				.method(emulatedMethod)
+				.init(null, null);
+		this.arguments = this.operation.getArguments();
+
+		final Owner owner = new Owner();
+		this.state = new ApplicationProtocol<Integer>()
+				.addAppendix(owner, new Customer())
+				.addAppendix(owner, new Voucher())
+				.addAppendix(owner, new Voucher());
+		this.args = new Object[] { "4711", 3, this.state };
+	}
+
+	@Benchmark
+	public Object streamPreparation() {
+		return this.arguments.stream()
+				.map(a -> a.prepareArgument(this.state, this.args))
+				.collect(Collectors.toList()).toArray();
+	}
+
+	@Benchmark
+	public Object planPreparation() {
+		return this.operation.prepareArguments(this.state, this.args);
+	}
+
+	@Benchmark
+	public Object execute() {
+		return this.operation.execute(this.state, this.args);
+	}
+
+	public interface PriceCheck {
+
+		ApplicationProtocol<Integer> price(String articleId, int quantity, ApplicationProtocol<Integer> state);
+	}
+
+	public static class PriceStep {
+
+		public ApplicationProtocol<?> price(final String articleId, final int quantity, final Customer customer,
+				final Set<Voucher> vouchers, final ApplicationProtocol<?> state) {
+			return state;
+		}
+	}
+
+	public static class Customer {
+	}
+
+	public static class Voucher {
+	}
+
+	private static class Owner extends ApplicationOwner {
+
+		private static final UUID ownerId = UUID.randomUUID();
+
+		@Override
+		protected UUID getOwnerId() {
+			return ownerId;
+		}
+	}
+}
@@ -0,0 +1,107 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright © 2020 Matthias Brenner and Adesso SE
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the “Software”), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package de.adesso.example.framework.core;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import de.adesso.example.framework.ApplicationProtocol;
+
+/**
+ * Compares the call of a bean method by {@link Method#invoke(Object, Object...)}
+ * with the calls by the {@link BeanInvoker}s: reflection, method handle and the
+ * class spun by the {@link java.lang.invoke.LambdaMetafactory}, which is used
+ * for public beans. The direct call is the lower bound.
+ *
+ * @author Matthias
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class BeanOperationBenchmark {
+
+	private PriceStep bean;
+	private Method method;
+	private BeanInvoker reflectiveInvoker;
+	private BeanInvoker methodHandleInvoker;
+	private BeanInvoker compiledInvoker;
+	private Object[] arguments;
+
+	@Setup
+	public void setup() throws NoSuchMethodException, IllegalAccessException {
+		this.bean = new PriceStep();
+		this.method = PriceStep.class.getMethod("price", String.class, int.class, ApplicationProtocol.class);
+		this.reflectiveInvoker = BeanInvokerFactory.reflective(this.method);
+		this.methodHandleInvoker = BeanInvokerFactory.methodHandle(this.method);
+		this.compiledInvoker = BeanInvokerFactory.compile(this.method);
+		this.arguments = new Object[] { "4711", 3, new ApplicationProtocol<Integer>() };
+	}
+
+	@Benchmark
+	public Object directCall() {
+		return this.bean.price((String) this.arguments[0], (Integer) this.arguments[1],
+				(ApplicationProtocol<?>) this.arguments[2]);
+	}
+
+	@Benchmark
+	public Object methodInvoke() throws Exception {
+		return this.method.invoke(this.bean, this.arguments);
+	}
+
+	@Benchmark
+	public Object reflectiveInvoker() throws Exception {
+		return this.reflectiveInvoker.invoke(this.bean, this.arguments);
+	}
+
+	@Benchmark
+	public Object methodHandleInvoker() throws Exception {
+		return this.methodHandleInvoker.invoke(this.bean, this.arguments);
+	}
+
+	@Benchmark
+	public Object compiledInvoker() throws Exception {
+		return this.compiledInvoker.invoke(this.bean, this.arguments);
+	}
+
+	public static class PriceStep {
+
+		public ApplicationProtocol<?> price(final String articleId, final int quantity,
+				final ApplicationProtocol<?> state) {
+			if (articleId.length() + quantity < 0) {
+				return null;
+			}
+			return state;
+		}
+	}
+}
@@ -0,0 +1,126 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright © 2020 Matthias Brenner and Adesso SE
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the “Software”), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package de.adesso.example.framework.core;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.context.support.StaticApplicationContext;
+
+import de.adesso.example.framework.ApplicationProtocol;
+import de.adesso.example.framework.annotation.ProxyStrategy;
+
+/**
+ * Measures the overhead of the dispatcher for an emulated method with a single
+ * bean operation. The JDK proxy and the generated class are compared with the
+ * direct call of the bean.
+ *
+ * @author Matthias
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class DispatcherBenchmark {
+
+	private StaticApplicationContext context;
+	private PriceStep bean;
+	private PriceCheck proxy;
+	private PriceCheck generatedClass;
+	private ApplicationProtocol<Integer> state;
+
+	@Setup
+	public void setup() throws Exception {
+		this.context = new StaticApplicationContext();
+		this.context.refresh();
+		this.bean = new PriceStep();
+		this.proxy = this.emulate(ProxyStrategy.JDK_PROXY);
+		this.generatedClass = this.emulate(ProxyStrategy.GENERATED_CLASS);
+		this.state = new ApplicationProtocol<>();
+	}
+
+	@TearDown
+	public void tearDown() {
+		this.context.close();
+	}
+
+	@Benchmark
+	public Object directCall() {
+		return this.bean.price("4711", 3, this.state);
+	}
+
+	@Benchmark
+	public Object jdkProxy() {
+		return this.proxy.price("4711", 3, this.state);
+	}
+
+	@Benchmark
+	public Object generatedClass() {
+		return this.generatedClass.price("4711", 3, this.state);
+	}
+
+	private PriceCheck emulate(final ProxyStrategy proxyStrategy) throws Exception {
+		final PriceCheck emulated = new DaisyChainDispatcherFactory(this.context)
+				.emulationInterface(PriceCheck.class)
+				.proxyStrategy(proxyStrategy)
+				.implementation(MethodImplementation.builder()
+						.methodIdentifier("price")
+						.beanOperation(BeanOperation.builder()
+								.implementation(this.bean)
+								.methodIdentifier("price")
+								.argument(new ArgumentFromMethod(String.class, 0))
+								.argument(new ArgumentFromMethod(int.class, 1))
+								.argument(new ArgumentApplicationProtocol())
+								.build())
+						.build())
+				.build();
+		((InitializingBean) emulated).afterPropertiesSet();
+		return emulated;
+	}
+
+	public interface PriceCheck {
+
+		ApplicationProtocol<Integer> price(String articleId, int quantity, ApplicationProtocol<Integer> state);
+	}
+
+	public static class PriceStep {
+
+		public ApplicationProtocol<Integer> price(final String articleId, final int quantity,
+				final ApplicationProtocol<Integer> state) {
+			if (articleId.length() + quantity < 0) {
+				return null;
+			}
+			return state;
+		}
+	}
+}
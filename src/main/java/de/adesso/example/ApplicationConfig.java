@@ -24,12 +24,16 @@
  */
 package de.adesso.example;
 
+import java.util.concurrent.Executor;
+
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.beans.factory.config.ConfigurableBeanFactory;
 import org.springframework.boot.SpringBootConfiguration;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Scope;
 import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 
 import de.adesso.example.application.PriceCalculator;
@@ -47,6 +51,7 @@ import de.adesso.example.framework.core.ArgumentFromMethod;
 import de.adesso.example.framework.core.BeanOperation;
 import de.adesso.example.framework.core.DaisyChainDispatcherFactory;
 import de.adesso.example.framework.core.MethodImplementation;
+import de.adesso.example.framework.core.VirtualThreads;
 import lombok.extern.log4j.Log4j2;
 
 @SpringBootConfiguration
@@ -54,6 +59,9 @@ import lombok.extern.log4j.Log4j2;
 @Log4j2
 public class ApplicationConfig {
 
+	/** value of property application.cart.executor to use virtual threads */
+	public static final String VIRTUAL_THREADS = "virtual";
+
 	public ApplicationConfig() {
 		log.atDebug().log("intatiated the configuration");
 	}
@@ -67,6 +75,34 @@ public class ApplicationConfig {
 		return threadPoolTaskScheduler;
 	}
 
+	/**
+	 * The executor calculating the entries of a cart in parallel. By default it
+	 * is a pool of its own with five platform threads. With property
+	 * <code>application.cart.executor=virtual</code> each entry is calculated by
+	 * its own virtual thread, if the runtime supports them (Java 21 or later).
+	 * <p>
+	 * The executor is looked up by its name. It is no candidate for autowiring, so
+	 * an {@link Executor} injected by type remains unambiguous.
+	 *
+	 * @param mode the configured executor mode
+	 * @return the executor for the cart calculation
+	 */
+	@Bean(autowireCandidate = false)
+	public Executor cartExecutor(@Value("${application.cart.executor:platform}") final String mode) {
+		if (VIRTUAL_THREADS.equalsIgnoreCase(mode)) {
+			final Executor executor = VirtualThreads.newPerTaskExecutor().orElse(null);
+			if (executor != null) {
+				log.atInfo().log("cart entries are calculated by virtual threads");
+				return executor;
+			}
+			log.atWarn().log("virtual threads not available, cart entries are calculated by the thread pool");
+		}
+		final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(5);
+		executor.setThreadNamePrefix("CartExecutor");
+		return executor;
+	}
+
 	@Bean
 	@Scope(scopeName = ConfigurableBeanFactory.SCOPE_SINGLETON)
 	PriceCalculator priceCalculator(
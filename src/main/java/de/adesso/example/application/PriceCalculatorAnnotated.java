@@ -24,17 +24,27 @@
  */
 package de.adesso.example.application;
 
+import java.util.List;
+
 import org.javamoney.moneta.Money;
 
+import de.adesso.example.application.accounting.Customer;
+import de.adesso.example.application.employment.Employee;
 import de.adesso.example.application.employment.EmployeeShoppingBean;
+import de.adesso.example.application.marketing.Marketing;
 import de.adesso.example.application.marketing.MarketingBean;
+import de.adesso.example.application.marketing.Voucher;
 import de.adesso.example.application.stock.Article;
 import de.adesso.example.application.stock.PricingBean;
 import de.adesso.example.framework.ApplicationProtocol;
+import de.adesso.example.framework.annotation.BatchOf;
+import de.adesso.example.framework.annotation.CachedResult;
 import de.adesso.example.framework.annotation.Emulated;
 import de.adesso.example.framework.annotation.Implementation;
 import de.adesso.example.framework.annotation.ImplementationDefinition;
+import de.adesso.example.framework.annotation.ProxyStrategy;
 import de.adesso.example.framework.annotation.RequiredParameter;
+import de.adesso.example.framework.annotation.SingleFlight;
 
 /**
  * This interface defines the functionality required for calculation of prices.
@@ -44,7 +54,7 @@ import de.adesso.example.framework.annotation.RequiredParameter;
  * @author Matthias
  *
  */
-@Emulated
+@Emulated(proxyStrategy = ProxyStrategy.GENERATED_CLASS)
 public interface PriceCalculatorAnnotated {
 
 	/**
@@ -58,6 +68,10 @@ public interface PriceCalculatorAnnotated {
 	 *                   calculation chain
 	 * @return the price for the article incorporating all price reductions
 	 */
+	@CachedResult(
+			appendixes = { Customer.class, Employee.class, Voucher.class },
+			invalidatedBy = { PricingBean.CATALOG, Marketing.VOUCHERS })
+	@SingleFlight(appendixes = { Customer.class, Employee.class, Voucher.class })
 	@ImplementationDefinition(
 			value = {
 					@Implementation(bean = PricingBean.class, method = "buildPrice"),
@@ -67,4 +81,18 @@ public interface PriceCalculatorAnnotated {
 	ApplicationProtocol<Money> calculatePriceOfArticle(
 			@RequiredParameter Article article,
 			@RequiredParameter ApplicationProtocol<Money> appendixes);
+
+	/**
+	 * Batch form of {@link #calculatePriceOfArticle(Article, ApplicationProtocol)}.
+	 * Each article is calculated with its own copy of the appendixes. The chain is
+	 * prepared once for all articles.
+	 *
+	 * @param articles   the articles to be calculated
+	 * @param appendixes the appendixes shared by all articles
+	 * @return the protocol of each article in the order of the articles
+	 */
+	@BatchOf("calculatePriceOfArticle")
+	List<ApplicationProtocol<Money>> calculatePricesOfArticles(
+			@RequiredParameter List<Article> articles,
+			@RequiredParameter ApplicationProtocol<Money> appendixes);
 }
@@ -26,13 +26,15 @@ package de.adesso.example.application.accounting;
 
 import java.util.UUID;
 
+import de.adesso.example.framework.CacheKey;
+
 /**
  * The customer is a special kind of debtor.
  *
  * @author Matthias
  *
  */
-public class Customer extends Debtor {
+public class Customer extends Debtor implements CacheKey {
 
 	private static final long serialVersionUID = 26384465296502720L;
 
@@ -40,4 +42,9 @@ public class Customer extends Debtor {
 		super(id);
 	}
 
+	@Override
+	public Object cacheKey() {
+		return this.getId();
+	}
+
 }
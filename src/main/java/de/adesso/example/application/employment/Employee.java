@@ -31,6 +31,7 @@ import org.javamoney.moneta.Money;
 
 import de.adesso.example.application.Standard;
 import de.adesso.example.application.accounting.Customer;
+import de.adesso.example.framework.CacheKey;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
@@ -38,7 +39,7 @@ import lombok.ToString;
 
 @Getter
 @ToString
-public class Employee implements Serializable {
+public class Employee implements Serializable, CacheKey {
 
 	private static final long serialVersionUID = 800784862436922847L;
 
@@ -57,6 +58,11 @@ public class Employee implements Serializable {
 		this.id = id;
 	}
 
+	@Override
+	public Object cacheKey() {
+		return this.id;
+	}
+
 	void registerBenefit(final EmployeeBenefit benefitRecord) {
 		this.benefit.add(benefitRecord.getBenefit());
 	}
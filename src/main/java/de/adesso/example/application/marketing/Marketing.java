@@ -27,19 +27,27 @@ package de.adesso.example.application.marketing;
 import java.util.UUID;
 
 import org.javamoney.moneta.Money;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import de.adesso.example.application.Standard;
 import de.adesso.example.application.accounting.Creditor;
 import de.adesso.example.framework.ApplicationOwner;
+import de.adesso.example.framework.core.ResultCacheRegistry;
 
 @Service
 public class Marketing extends ApplicationOwner {
 
+	/** tag of the cached results depending on the vouchers */
+	public static final String VOUCHERS = "vouchers";
+
 	private static final UUID marketingOwner = UUID.randomUUID();
 
 	private static final Creditor marketingVoucherAccount = new Creditor(UUID.randomUUID());
 
+	@Autowired(required = false)
+	private ResultCacheRegistry resultCaches;
+
 	@Override
 	protected UUID getOwnerId() {
 		return marketingOwner;
@@ -56,4 +64,14 @@ public class Marketing extends ApplicationOwner {
 	public Voucher createTenEuroDiscount() {
 		return new VoucherDiscountAbsolute("10EuroDiscount", Money.of(10.00, Standard.EUROS));
 	}
+
+	/**
+	 * Has to be called, if the conditions of vouchers were changed. The cached
+	 * results depending on the vouchers are invalidated.
+	 */
+	public void vouchersChanged() {
+		if (this.resultCaches != null) {
+			this.resultCaches.invalidate(VOUCHERS);
+		}
+	}
 }
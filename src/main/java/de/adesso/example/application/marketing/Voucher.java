@@ -28,12 +28,13 @@ import java.io.Serializable;
 import java.util.HashSet;
 import java.util.Set;
 
+import de.adesso.example.framework.CacheKey;
 import lombok.Getter;
 import lombok.ToString;
 
 @Getter
 @ToString
-public class Voucher implements Serializable {
+public class Voucher implements Serializable, CacheKey {
 
 	private static final long serialVersionUID = 6119269215970563757L;
 
@@ -83,6 +84,11 @@ public class Voucher implements Serializable {
 		this.compatibility = compatibility;
 	}
 
+	@Override
+	public Object cacheKey() {
+		return this.voucherId;
+	}
+
 	public void utilize() {
 		if (this.maxApplications == 0) {
 			throw VoucherNotUtilizableException.notUtilizable(this);
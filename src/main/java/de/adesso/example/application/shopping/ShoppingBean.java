@@ -24,6 +24,8 @@
  */
 package de.adesso.example.application.shopping;
 
+import java.util.concurrent.CompletableFuture;
+
 import org.javamoney.moneta.Money;
 
 import de.adesso.example.application.PriceCalculatorAnnotated;
@@ -35,9 +37,11 @@ import de.adesso.example.framework.ApplicationProtocol;
 import de.adesso.example.framework.annotation.Emulated;
 import de.adesso.example.framework.annotation.Implementation;
 import de.adesso.example.framework.annotation.ImplementationDefinition;
+import de.adesso.example.framework.annotation.ProxyStrategy;
 import de.adesso.example.framework.annotation.RequiredParameter;
+import de.adesso.example.framework.annotation.SplitJoinDefinition;
 
-@Emulated
+@Emulated(proxyStrategy = ProxyStrategy.GENERATED_CLASS)
 public interface ShoppingBean {
 
 	/**
@@ -61,13 +65,44 @@ public interface ShoppingBean {
 					@Implementation(bean = ShoppingCartCalculator.class, method = "initCartProcessing"),
 					@Implementation(bean = EmployeeShoppingBean.class, method = "setEmployeeCustomer"),
 					@Implementation(bean = AccountingBean.class, method = "checkOrAddCustomerOnCart"),
-					@Implementation(bean = MarketingBean.class, method = "assignVouchers"),
-					@Implementation(bean = ShoppingCartCalculator.class, method = "priceCartParallel")
+					@Implementation(bean = MarketingBean.class, method = "assignVouchers")
 			})
+	@SplitJoinDefinition(
+			split = ShoppingCartSplit.class,
+			branch = @Implementation(bean = PriceCalculatorAnnotated.class, method = "calculatePriceOfArticle"),
+			join = ShoppingCartCalculator.class,
+			executor = "cartExecutor")
 	ApplicationProtocol<ShoppingCart> priceCart(
 			@RequiredParameter ShoppingCart cart,
 			@RequiredParameter ApplicationProtocol<ShoppingCart> appendixes);
 
+	/**
+	 * Asynchronous variant of {@link #priceCart(ShoppingCart, ApplicationProtocol)}.
+	 * The chain is executed by the common fork join pool and the entries by the
+	 * cart executor. The calling thread returns immediately. The chain does not use
+	 * the cart executor, because it waits for the entries.
+	 *
+	 * @param cart       the cart containing the articles and the amount of them to
+	 *                   be purchased
+	 * @param appendixes the appendixes to the operation
+	 * @return the future providing the results
+	 */
+	@ImplementationDefinition(
+			value = {
+					@Implementation(bean = ShoppingCartCalculator.class, method = "initCartProcessing"),
+					@Implementation(bean = EmployeeShoppingBean.class, method = "setEmployeeCustomer"),
+					@Implementation(bean = AccountingBean.class, method = "checkOrAddCustomerOnCart"),
+					@Implementation(bean = MarketingBean.class, method = "assignVouchers")
+			})
+	@SplitJoinDefinition(
+			split = ShoppingCartSplit.class,
+			branch = @Implementation(bean = PriceCalculatorAnnotated.class, method = "calculatePriceOfArticle"),
+			join = ShoppingCartCalculator.class,
+			executor = "cartExecutor")
+	CompletableFuture<ApplicationProtocol<ShoppingCart>> priceCartAsync(
+			@RequiredParameter ShoppingCart cart,
+			@RequiredParameter ApplicationProtocol<ShoppingCart> appendixes);
+
 	@ImplementationDefinition(
 			value = {
 					@Implementation(bean = EmployeeShoppingBean.class, method = "setEmployeeCustomer"),
@@ -25,65 +25,22 @@
 package de.adesso.example.application.shopping;
 
 import java.util.List;
-import java.util.Set;
-import java.util.concurrent.Future;
-import java.util.stream.Collectors;
 
 import org.javamoney.moneta.Money;
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
-import de.adesso.example.application.PriceCalculatorAnnotated;
 import de.adesso.example.application.Standard;
 import de.adesso.example.application.accounting.AccountingRecord;
-import de.adesso.example.application.accounting.Customer;
-import de.adesso.example.application.marketing.Voucher;
 import de.adesso.example.framework.ApplicationProtocol;
 import de.adesso.example.framework.annotation.CallStrategy;
 import de.adesso.example.framework.annotation.CallingStrategy;
 import de.adesso.example.framework.annotation.Required;
+import de.adesso.example.framework.core.ParallelBranch;
 import de.adesso.example.framework.core.ParallelJoin;
-import lombok.SneakyThrows;
 
 @Service
 public class ShoppingCartCalculator extends ParallelJoin {
 
-	private final PriceCalculatorAnnotated queue;
-	private final ShoppingCartSplit splitter;
-
-	@Autowired
-	public ShoppingCartCalculator(final PriceCalculatorAnnotated queue, final ShoppingCartSplit splitter) {
-		this.splitter = splitter;
-		this.queue = queue;
-	}
-
-	/**
-	 * This is the parallel running part of the calculation. It splits the cart into
-	 * the various products and calculates them in parallel.
-	 *
-	 * @param cart     the cart to be calculated
-	 * @param customer the customer of the cart
-	 * @param vouchers the vouchers the customer provided
-	 * @param state    state of the calculation
-	 * @return the enriched state
-	 */
-	@CallStrategy(strategy = CallingStrategy.EAGER)
-	public ApplicationProtocol<ShoppingCart> priceCartParallel(
-			@Required final ShoppingCart cart,
-			@Required final Customer customer,
-			@Required final Set<Voucher> vouchers,
-			@Required final ApplicationProtocol<ShoppingCart> state) {
-
-		this.clearState(state, cart);
-		final List<Future<ApplicationProtocol<Money>>> result = cart.getAllEntries().stream()
-				.map(ShoppingCartEntry::getSubEntries)
-				.flatMap(List::stream)
-				.map(se -> this.splitter.execute(this.queue, se, customer))
-				.collect(Collectors.toList());
-
-		return this.joinResult(result, cart, state);
-	}
-
 	/**
 	 * Initialize calculation of the shopping cart. This is part of the calculation
 	 * chain and ensures, that the following steps can relay on proper settings.
@@ -101,37 +58,29 @@ public class ShoppingCartCalculator extends ParallelJoin {
 	}
 
 	/**
-	 * This method will get on the futures, thus it waits till the result of the
-	 * calculation is present.
+	 * This is the join of the parallel calculation of the sub-entries, see
+	 * {@link ShoppingCartSplit}. The results of the sub-entries are combined to
+	 * the result of the cart.
 	 *
-	 * @param futures parallel calculated results
-	 * @param cart    the cart being calculated
-	 * @param state   the processing state
+	 * @param args     the arguments of the emulated method, the cart is the first
+	 *                 one
+	 * @param state    the processing state
+	 * @param branches the calculated sub-entries
 	 * @return the updated state containing all results
 	 */
-	private ApplicationProtocol<ShoppingCart> joinResult(
-			final List<Future<ApplicationProtocol<Money>>> futures,
-			final ShoppingCart cart,
-			final ApplicationProtocol<ShoppingCart> state) {
-
-		futures.stream()
-				.map(this::consume)
-				.forEach(s -> this.combine(s, state, cart));
+	@Override
+	@SuppressWarnings("unchecked")
+	public ApplicationProtocol<?> join(final Object[] args, final ApplicationProtocol<?> state,
+			final List<ParallelBranch> branches) {
+		final ShoppingCart cart = (ShoppingCart) args[0];
+		final ApplicationProtocol<ShoppingCart> cartState = (ApplicationProtocol<ShoppingCart>) state;
+
+		this.clearState(cartState, cart);
+		branches.forEach(b -> this.combine((ShoppingCartSubEntry) b.getSubject(),
+				(ApplicationProtocol<Money>) b.getResult(), cartState, cart));
 		cart.getAllEntries().forEach(this::sumSubEntries);
-		state.setResult(cart);
-		return state;
-	}
-
-	/**
-	 * Consume the future. The process will block in this function till the
-	 * calculation is done.
-	 *
-	 * @param future the result of a sub calculation
-	 * @return the result of the sub calculation
-	 */
-	@SneakyThrows
-	private ApplicationProtocol<Money> consume(final Future<ApplicationProtocol<Money>> future) {
-		return future.get();
+		cartState.setResult(cart);
+		return cartState;
 	}
 
 	/**
@@ -147,17 +96,20 @@ public class ShoppingCartCalculator extends ParallelJoin {
 	/**
 	 * Combine the results of each sub-entry to the result of the cart
 	 *
+	 * @param subEntry     the calculated sub-entry
 	 * @param singleResult the result of a single sub calculation
-	 * @param state
-	 * @return
+	 * @param state        the processing state
+	 * @param cart         the cart being calculated
 	 */
-	private ApplicationProtocol<ShoppingCart> combine(
+	private void combine(
+			final ShoppingCartSubEntry subEntry,
 			final ApplicationProtocol<Money> singleResult,
 			final ApplicationProtocol<ShoppingCart> state,
 			final ShoppingCart cart) {
-		cart.setTotal(cart.getTotal().add(singleResult.getResult()));
+		final Money subEntryTotal = singleResult.getResult().multiply(subEntry.getCount());
+		subEntry.setTotal(subEntryTotal);
+		cart.setTotal(cart.getTotal().add(subEntryTotal));
 		state.transfertAppendixes(singleResult);
-		return state;
 	}
 
 	private void sumSubEntries(final ShoppingCartEntry entry) {
@@ -24,38 +24,59 @@
  */
 package de.adesso.example.application.shopping;
 
-import java.util.concurrent.Future;
+import java.util.List;
+import java.util.stream.Collectors;
 
 import org.javamoney.moneta.Money;
-import org.springframework.scheduling.annotation.Async;
-import org.springframework.scheduling.annotation.AsyncResult;
 import org.springframework.stereotype.Service;
 
-import de.adesso.example.application.PriceCalculatorAnnotated;
 import de.adesso.example.application.accounting.Customer;
 import de.adesso.example.framework.ApplicationProtocol;
+import de.adesso.example.framework.core.ParallelBranch;
 import de.adesso.example.framework.core.ParallelSplit;
 
+/**
+ * Splits the calculation of the cart into the calculation of the sub-entries.
+ * Each sub-entry is calculated by its own branch.
+ *
+ * @author Matthias
+ *
+ */
 @Service
 public class ShoppingCartSplit extends ParallelSplit {
 
-	@Async
-	public Future<ApplicationProtocol<Money>> execute(
-			final PriceCalculatorAnnotated queue,
-			final ShoppingCartSubEntry subEntry,
-			final Customer customer) {
+	/**
+	 * Creates a branch for each sub-entry. The branch calculates the price of the
+	 * article of the sub-entry. Its protocol contains the customer and the vouchers
+	 * assigned to the sub-entry.
+	 *
+	 * @param args  the arguments of the emulated method, the cart is the first one
+	 * @param state the state of the cart calculation
+	 * @return the branches, one per sub-entry
+	 */
+	@Override
+	public List<ParallelBranch> split(final Object[] args, final ApplicationProtocol<?> state) {
+		final ShoppingCart cart = (ShoppingCart) args[0];
+		// the appendixes common to all branches are shared by the copies
+		final ApplicationProtocol<Money> common = new ApplicationProtocol<>();
+		final Customer customer = state.getAppendixOfClassTOrNull(Customer.class);
+		if (customer != null) {
+			// without customer the branches fail, the price requires it
+			common.addAppendix(null, customer);
+		}
 
-		final ApplicationProtocol<Money> appendixes = new ApplicationProtocol<>();
-		appendixes.addAppendix(null, customer);
-		appendixes.addAllAppendixes(null, subEntry.getAllVouchers());
+		return cart.getAllEntries().stream()
+				.map(ShoppingCartEntry::getSubEntries)
+				.flatMap(List::stream)
+				.map(se -> this.createBranch(se, common))
+				.collect(Collectors.toList());
+	}
 
-		final ApplicationProtocol<Money> result = queue.calculatePriceOfArticle(
-				subEntry.getEntry().getArticle(),
-				appendixes);
-		result.setResult(result.getResult().multiply(subEntry.getCount()));
-		subEntry.setTotal(result.getResult());
-		final AsyncResult<ApplicationProtocol<Money>> future = new AsyncResult<>(result);
+	private ParallelBranch createBranch(final ShoppingCartSubEntry subEntry,
+			final ApplicationProtocol<Money> common) {
+		final ApplicationProtocol<Money> appendixes = common.copy();
+		appendixes.addAllAppendixes(null, subEntry.getAllVouchers());
 
-		return future;
+		return new ParallelBranch(subEntry, subEntry.getEntry().getArticle(), appendixes);
 	}
 }
@@ -24,6 +24,7 @@
  */
 package de.adesso.example.application.stock;
 
+import de.adesso.example.framework.CacheKey;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.ToString;
@@ -31,7 +32,12 @@ import lombok.ToString;
 @Getter
 @AllArgsConstructor
 @ToString
-public class Article {
+public class Article implements CacheKey {
 
 	String articelId;
+
+	@Override
+	public Object cacheKey() {
+		return this.articelId;
+	}
 }
@@ -0,0 +1,413 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright © 2020 Matthias Brenner and Adesso SE
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the “Software”), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package de.adesso.example.application.stock;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import javax.money.CurrencyUnit;
+import javax.money.Monetary;
+
+import org.javamoney.moneta.Money;
+
+/**
+ * Price catalog stored in a memory mapped file. The prices are read from the
+ * mapped file without copying them to the heap, so the catalog may hold tens of
+ * millions of articles. Several JVMs on the same host mapping the same file
+ * share its pages.
+ * <p>
+ * The file consists of
+ * <ul>
+ * <li>a header of {@value #HEADER_SIZE} bytes: magic number, version, currency
+ * code, number of index slots and number of records,</li>
+ * <li>the index, an open addressing hash table of the article identifiers with
+ * one int per slot holding the record number plus one, 0 if the slot is
+ * empty,</li>
+ * <li>the records of {@value #RECORD_SIZE} bytes each: length and ASCII
+ * characters of the article identifier and the price in minor units of the
+ * currency, e.g. cents.</li>
+ * </ul>
+ * The file is created by a {@link Writer}. The catalog itself is read only and
+ * can be used by several threads.
+ *
+ * @author Matthias
+ *
+ */
+public class MappedPriceCatalog {
+
+	/** maximum length of an article identifier */
+	public static final int MAX_ID_LENGTH = 23;
+
+	static final int HEADER_SIZE = 64;
+	static final int RECORD_SIZE = 32;
+
+	private static final int MAGIC = 0x50524354; // "PRCT"
+	private static final int VERSION = 1;
+	private static final int SLOT_SIZE = Integer.BYTES;
+	private static final int PRICE_OFFSET = 24;
+	/** a mapped buffer is limited to 2 GB, larger files are mapped in segments */
+	private static final int SEGMENT_SHIFT = 30;
+	private static final long SEGMENT_SIZE = 1L << SEGMENT_SHIFT;
+	private static final long NOT_FOUND = Long.MIN_VALUE;
+
+	private final MappedSegments segments;
+	private final CurrencyUnit currency;
+	private final long slotMask;
+	private final long recordsOffset;
+	private final long size;
+
+	private MappedPriceCatalog(final MappedSegments segments, final long length) {
+		this.segments = segments;
+		if (length < HEADER_SIZE || segments.getInt(0) != MAGIC || segments.getInt(4) != VERSION) {
+			throw new IllegalArgumentException("the file is no price catalog of version " + VERSION);
+		}
+		final byte[] code = new byte[3];
+		for (int i = 0; i < code.length; i++) {
+			code[i] = segments.get(8 + i);
+		}
+		this.currency = Monetary.getCurrency(new String(code, StandardCharsets.US_ASCII));
+		final long slots = segments.getLong(16);
+		if (slots <= 0 || Long.bitCount(slots) != 1 || slots > (length - HEADER_SIZE) / SLOT_SIZE) {
+			throw new IllegalArgumentException("the number of index slots is no power of two within the file: "
+					+ slots);
+		}
+		this.slotMask = slots - 1;
+		this.size = segments.getLong(24);
+		// a lookup ends at an empty slot
+		if (this.size < 0 || this.size >= slots) {
+			throw new IllegalArgumentException("invalid number of records for " + slots + " slots: " + this.size);
+		}
+		this.recordsOffset = recordsOffset(slots);
+		if (this.recordsOffset + this.size * RECORD_SIZE > length) {
+			throw new IllegalArgumentException("the file is truncated, it has " + length + " bytes for "
+					+ this.size + " records");
+		}
+	}
+
+	/**
+	 * Maps the catalog file read only.
+	 *
+	 * @param file the catalog created by a {@link Writer}
+	 * @return the catalog
+	 * @throws IOException              if the file cannot be mapped
+	 * @throws IllegalArgumentException if the file is no complete catalog
+	 */
+	public static MappedPriceCatalog open(final Path file) throws IOException {
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			// the mapping remains valid after the channel is closed
+			final long length = channel.size();
+			return new MappedPriceCatalog(MappedSegments.map(channel, MapMode.READ_ONLY, length), length);
+		}
+	}
+
+	/**
+	 * Creates a catalog file.
+	 *
+	 * @param file          the file to be created or replaced
+	 * @param currency      the currency of all prices
+	 * @param maximumSize   the maximum number of articles
+	 * @return the writer adding the prices
+	 * @throws IOException if the file cannot be created
+	 */
+	public static Writer create(final Path file, final CurrencyUnit currency, final long maximumSize)
+			throws IOException {
+		return new Writer(file, currency, maximumSize);
+	}
+
+	/**
+	 * Looks up the price of an article.
+	 *
+	 * @param articleId the identifier of the article
+	 * @return the price or null, if the catalog does not contain the article
+	 */
+	public Money getPrice(final String articleId) {
+		final long minorUnits = this.getMinorUnits(articleId);
+		return minorUnits == NOT_FOUND ? null : Money.ofMinor(this.currency, minorUnits);
+	}
+
+	/**
+	 * Looks up the price of an article in minor units of the currency. Nothing is
+	 * allocated.
+	 *
+	 * @param articleId the identifier of the article
+	 * @return the price in minor units or {@link Long#MIN_VALUE}, if the catalog
+	 *         does not contain the article
+	 */
+	public long getMinorUnits(final String articleId) {
+		if (articleId.length() > MAX_ID_LENGTH) {
+			return NOT_FOUND;
+		}
+		final long record = findRecord(this.segments, this.slotMask, this.recordsOffset, articleId);
+		return record < 0 ? NOT_FOUND : this.segments.getLong(this.recordOffset(record) + PRICE_OFFSET);
+	}
+
+	public CurrencyUnit getCurrency() {
+		return this.currency;
+	}
+
+	/**
+	 * @return number of articles in the catalog
+	 */
+	public long size() {
+		return this.size;
+	}
+
+	private long recordOffset(final long record) {
+		return this.recordsOffset + record * RECORD_SIZE;
+	}
+
+	/**
+	 * Probes the index for the article.
+	 *
+	 * @return the number of the record or -(slot + 1) of the empty slot ending the
+	 *         probe
+	 */
+	private static long findRecord(final MappedSegments segments, final long slotMask, final long recordsOffset,
+			final String articleId) {
+		long slot = hash(articleId) & slotMask;
+		while (true) {
+			final int entry = segments.getInt(HEADER_SIZE + slot * SLOT_SIZE);
+			if (entry == 0) {
+				return -(slot + 1);
+			}
+			final long record = entry - 1L;
+			if (idEquals(segments, recordsOffset + record * RECORD_SIZE, articleId)) {
+				return record;
+			}
+			slot = (slot + 1) & slotMask;
+		}
+	}
+
+	private static boolean idEquals(final MappedSegments segments, final long offset, final String articleId) {
+		final int length = segments.get(offset);
+		if (length != articleId.length()) {
+			return false;
+		}
+		for (int i = 0; i < length; i++) {
+			if (segments.get(offset + 1 + i) != articleId.charAt(i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * FNV-1a over the characters, finished by a mix of the bits, so the lower bits
+	 * used to select the slot depend on all characters.
+	 */
+	private static long hash(final String articleId) {
+		long hash = 0xcbf29ce484222325L;
+		for (int i = 0; i < articleId.length(); i++) {
+			hash ^= articleId.charAt(i);
+			hash *= 0x100000001b3L;
+		}
+		hash ^= hash >>> 33;
+		hash *= 0xff51afd7ed558ccdL;
+		hash ^= hash >>> 33;
+		return hash;
+	}
+
+	private static long slotsFor(final long maximumSize) {
+		// at most half of the slots are used to keep the probes short
+		return Long.highestOneBit(Math.max(2, maximumSize) * 2 - 1) << 1;
+	}
+
+	private static long recordsOffset(final long slots) {
+		// records are aligned, so they do not cross the border of a segment
+		final long indexEnd = HEADER_SIZE + slots * SLOT_SIZE;
+		return (indexEnd + RECORD_SIZE - 1) / RECORD_SIZE * RECORD_SIZE;
+	}
+
+	/**
+	 * Creates the file of a catalog. The file is sized for the maximum number of
+	 * articles. Adding an article a second time replaces its price. The catalog
+	 * is complete, when the writer is closed.
+	 */
+	public static class Writer implements Closeable {
+
+		private final FileChannel channel;
+		private final MappedSegments segments;
+		private final CurrencyUnit currency;
+		private final long maximumSize;
+		private final long slotMask;
+		private final long recordsOffset;
+		private long size;
+
+		private Writer(final Path file, final CurrencyUnit currency, final long maximumSize) throws IOException {
+			if (maximumSize >= Integer.MAX_VALUE) {
+				throw new IllegalArgumentException("the catalog is limited to " + (Integer.MAX_VALUE - 1)
+						+ " articles");
+			}
+			this.currency = currency;
+			this.maximumSize = maximumSize;
+			final long slots = slotsFor(maximumSize);
+			this.slotMask = slots - 1;
+			this.recordsOffset = recordsOffset(slots);
+			this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+					StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+			final long fileSize = this.recordsOffset + maximumSize * RECORD_SIZE;
+			this.segments = MappedSegments.map(this.channel, MapMode.READ_WRITE, fileSize);
+
+			this.segments.putInt(0, MAGIC);
+			this.segments.putInt(4, VERSION);
+			final byte[] code = currency.getCurrencyCode().getBytes(StandardCharsets.US_ASCII);
+			for (int i = 0; i < 3; i++) {
+				this.segments.put(8 + i, code[i]);
+			}
+			this.segments.putLong(16, slots);
+		}
+
+		/**
+		 * Adds the price of an article.
+		 *
+		 * @param articleId the identifier, up to {@value MappedPriceCatalog#MAX_ID_LENGTH}
+		 *                  ASCII characters
+		 * @param price     the price in the currency of the catalog
+		 * @return the writer for chained calls
+		 */
+		public Writer add(final String articleId, final Money price) {
+			if (!price.getCurrency().equals(this.currency)) {
+				throw new IllegalArgumentException("the price has to be in " + this.currency);
+			}
+			final long minorUnits = price.getNumber().numberValue(BigDecimal.class)
+					.movePointRight(this.currency.getDefaultFractionDigits())
+					.longValueExact();
+			return this.add(articleId, minorUnits);
+		}
+
+		/**
+		 * Adds the price of an article.
+		 *
+		 * @param articleId  the identifier, up to {@value MappedPriceCatalog#MAX_ID_LENGTH}
+		 *                   ASCII characters
+		 * @param minorUnits the price in minor units of the currency
+		 * @return the writer for chained calls
+		 */
+		public Writer add(final String articleId, final long minorUnits) {
+			validateId(articleId);
+			long record = findRecord(this.segments, this.slotMask, this.recordsOffset, articleId);
+			if (record < 0) {
+				if (this.size == this.maximumSize) {
+					throw new IllegalStateException("the catalog is full, maximum size " + this.maximumSize);
+				}
+				final long slot = -record - 1;
+				record = this.size++;
+				this.segments.putInt(HEADER_SIZE + slot * SLOT_SIZE, (int) (record + 1));
+				final long offset = this.recordsOffset + record * RECORD_SIZE;
+				this.segments.put(offset, (byte) articleId.length());
+				for (int i = 0; i < articleId.length(); i++) {
+					this.segments.put(offset + 1 + i, (byte) articleId.charAt(i));
+				}
+			}
+			this.segments.putLong(this.recordsOffset + record * RECORD_SIZE + PRICE_OFFSET, minorUnits);
+			return this;
+		}
+
+		/**
+		 * Writes the number of articles and flushes the file.
+		 */
+		@Override
+		public void close() throws IOException {
+			this.segments.putLong(24, this.size);
+			this.segments.force();
+			this.channel.close();
+		}
+
+		private static void validateId(final String articleId) {
+			if (articleId.isEmpty() || articleId.length() > MAX_ID_LENGTH) {
+				throw new IllegalArgumentException("the article id has to have 1 to " + MAX_ID_LENGTH
+						+ " characters: " + articleId);
+			}
+			for (int i = 0; i < articleId.length(); i++) {
+				if (articleId.charAt(i) > 127) {
+					throw new IllegalArgumentException("the article id has to be ASCII: " + articleId);
+				}
+			}
+		}
+	}
+
+	/**
+	 * A file mapped in segments of 1 GB. Values do not cross the borders of the
+	 * segments, because they are aligned to their size.
+	 */
+	private static class MappedSegments {
+
+		private final MappedByteBuffer[] buffers;
+
+		private MappedSegments(final MappedByteBuffer[] buffers) {
+			this.buffers = buffers;
+		}
+
+		static MappedSegments map(final FileChannel channel, final MapMode mode, final long size)
+				throws IOException {
+			final int count = (int) ((size + SEGMENT_SIZE - 1) >>> SEGMENT_SHIFT);
+			final MappedByteBuffer[] buffers = new MappedByteBuffer[count];
+			for (int i = 0; i < count; i++) {
+				final long position = (long) i << SEGMENT_SHIFT;
+				buffers[i] = channel.map(mode, position, Math.min(SEGMENT_SIZE, size - position));
+				buffers[i].order(ByteOrder.LITTLE_ENDIAN);
+			}
+			return new MappedSegments(buffers);
+		}
+
+		byte get(final long offset) {
+			return this.buffers[(int) (offset >>> SEGMENT_SHIFT)].get((int) (offset & (SEGMENT_SIZE - 1)));
+		}
+
+		int getInt(final long offset) {
+			return this.buffers[(int) (offset >>> SEGMENT_SHIFT)].getInt((int) (offset & (SEGMENT_SIZE - 1)));
+		}
+
+		long getLong(final long offset) {
+			return this.buffers[(int) (offset >>> SEGMENT_SHIFT)].getLong((int) (offset & (SEGMENT_SIZE - 1)));
+		}
+
+		void put(final long offset, final byte value) {
+			this.buffers[(int) (offset >>> SEGMENT_SHIFT)].put((int) (offset & (SEGMENT_SIZE - 1)), value);
+		}
+
+		void putInt(final long offset, final int value) {
+			this.buffers[(int) (offset >>> SEGMENT_SHIFT)].putInt((int) (offset & (SEGMENT_SIZE - 1)), value);
+		}
+
+		void putLong(final long offset, final long value) {
+			this.buffers[(int) (offset >>> SEGMENT_SHIFT)].putLong((int) (offset & (SEGMENT_SIZE - 1)), value);
+		}
+
+		void force() {
+			for (final MappedByteBuffer buffer : this.buffers) {
+				buffer.force();
+			}
+		}
+	}
+}
@@ -24,12 +24,18 @@
  */
 package de.adesso.example.application.stock;
 
-import java.util.HashMap;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.annotation.PostConstruct;
 
 import org.javamoney.moneta.Money;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import de.adesso.example.application.Standard;
@@ -38,17 +44,37 @@ import de.adesso.example.application.accounting.AccountingRecord;
 import de.adesso.example.application.accounting.Creditor;
 import de.adesso.example.application.accounting.Customer;
 import de.adesso.example.framework.ApplicationProtocol;
+import de.adesso.example.framework.annotation.BatchImplementation;
 import de.adesso.example.framework.annotation.CallStrategy;
 import de.adesso.example.framework.annotation.CallingStrategy;
 import de.adesso.example.framework.annotation.Required;
+import de.adesso.example.framework.core.ResultCacheRegistry;
 
 @Service
 public class PricingBean {
 
-	private final Map<String, Money> articlePrices = new HashMap<>();
+	/** tag of the cached results depending on the prices of the catalog */
+	public static final String CATALOG = "catalog";
+
+	private final Map<String, Money> articlePrices = new ConcurrentHashMap<>();
+
+	@Autowired(required = false)
+	private ResultCacheRegistry resultCaches;
+
+	/** file of the {@link MappedPriceCatalog}, empty if there is none */
+	@Value("${application.pricing.catalog:}")
+	private String catalogFile;
+	private MappedPriceCatalog catalog;
 
 	@PostConstruct
 	public void init() {
+		if (this.catalogFile != null && !this.catalogFile.isEmpty()) {
+			try {
+				this.catalog = MappedPriceCatalog.open(Paths.get(this.catalogFile));
+			} catch (final IOException e) {
+				throw new UncheckedIOException("cannot map the price catalog " + this.catalogFile, e);
+			}
+		}
 		this.articlePrices.put("12345", Money.of(123.50, Standard.EUROS));
 		this.articlePrices.put("112244", Money.of(64.00, Standard.EUROS));
 		this.articlePrices.put("112255", Money.of(89.95, Standard.EUROS));
@@ -57,7 +83,23 @@ public class PricingBean {
 		this.articlePrices.put("112268", Money.of(1.00, Standard.EUROS));
 	}
 
+	/**
+	 * Registers or replaces the price of an article. The registered price takes
+	 * precedence over the mapped catalog. The cached results depending on the
+	 * catalog are invalidated.
+	 *
+	 * @param articleId the identifier of the article
+	 * @param price     the price of the article
+	 */
+	public void registerPrice(final String articleId, final Money price) {
+		this.articlePrices.put(articleId, price);
+		if (this.resultCaches != null) {
+			this.resultCaches.invalidate(CATALOG);
+		}
+	}
+
 	@CallStrategy(strategy = CallingStrategy.EAGER)
+	@BatchImplementation(method = "buildPrices")
 	public ApplicationProtocol<Money> buildPrice(
 			@Required final Article article,
 			@Required final Customer customer,
@@ -66,12 +108,39 @@ public class PricingBean {
 		final Money price = this.buildPrice(article);
 		state.setResult(price);
 
-		this.addBookingRecords(state, price, customer);
+		this.addBookingRecords(state, price, customer, Accounting.getRevenueAccount());
 		return state;
 	}
 
+	/**
+	 * Batch form of {@link #buildPrice(Article, Customer, ApplicationProtocol)}.
+	 * The revenue account is looked up once for all articles.
+	 *
+	 * @param articles  the articles
+	 * @param customers the customer of each article
+	 * @param states    the protocol of each article
+	 * @return the updated protocols
+	 */
+	public List<ApplicationProtocol<Money>> buildPrices(
+			final List<Article> articles,
+			final List<Customer> customers,
+			final List<ApplicationProtocol<Money>> states) {
+		final Creditor revenueAccount = Accounting.getRevenueAccount();
+		for (int i = 0; i < articles.size(); i++) {
+			final Money price = this.buildPrice(articles.get(i));
+			final ApplicationProtocol<Money> state = states.get(i);
+			state.setResult(price);
+			this.addBookingRecords(state, price, customers.get(i), revenueAccount);
+		}
+
+		return states;
+	}
+
 	private Money buildPrice(final Article article) {
-		final Money price = this.articlePrices.get(article.articelId);
+		Money price = this.articlePrices.get(article.articelId);
+		if (price == null && this.catalog != null) {
+			price = this.catalog.getPrice(article.articelId);
+		}
 		if (price == null) {
 			throw new ArticleNotFoundException(article.getArticelId());
 		}
@@ -79,9 +148,7 @@ public class PricingBean {
 	}
 
 	private ApplicationProtocol<Money> addBookingRecords(final ApplicationProtocol<Money> state, final Money price,
-			final Customer customer) {
-		final Creditor revenueAccount = Accounting.getRevenueAccount();
-
+			final Customer customer, final Creditor revenueAccount) {
 		return state.addAppendix(null, AccountingRecord.builder()
 				.debitor(customer)
 				.creditor(revenueAccount)
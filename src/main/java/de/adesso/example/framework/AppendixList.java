@@ -26,22 +26,74 @@ package de.adesso.example.framework;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.function.BiConsumer;
 
 import de.adesso.example.framework.exception.TooManyElementsException;
 
+/**
+ * List of the appendixes of a protocol. Copies of the list are persistent: the
+ * appendixes existing at the time of the copy are frozen into a segment shared
+ * by the list and its copy. Each list writes into its own top layer only, so a
+ * copy costs O(1) and allocates just what is added to it afterwards. Removing
+ * a shared appendix flattens the segments of the removing list first.
+ * <p>
+ * Adding or transferring the appendixes of another list appends its frozen
+ * segments, independent of the number of appendixes. Adjacent segments are
+ * merged like the digits of a binary counter: a segment is never smaller than
+ * half of the segment before it. So a list consists of at most log2(n) + 1
+ * segments, however often it is copied or spliced, and every appendix is
+ * merged log2(n) times at most.
+ * <p>
+ * Queries by type use the index of the merged segments. It is built on the
+ * first query and is shared by all lists referring to the same frozen
+ * segments, so queries cost O(1) after copies and splices as well.
+ * <p>
+ * A layer stores the contents and owners of its appendixes in parallel arrays,
+ * no object is allocated per appendix. {@link #reset()} empties the list and
+ * keeps the capacity of its top layer for reuse.
+ */
 class AppendixList implements Serializable {
 
 	private static final long serialVersionUID = 3547825846436619073L;
+
 	/**
-	 * List of all appendix values.
+	 * Cache of all types an instance of a class is assignable to: the class itself,
+	 * its super classes and all implemented interfaces.
 	 */
-	private List<ApplicationAppendix<?>> appendixes = new ArrayList<>();
+	private static final ClassValue<List<Class<?>>> ASSIGNABLE_TYPES = new ClassValue<>() {
+
+		@Override
+		protected List<Class<?>> computeValue(final Class<?> type) {
+			final Set<Class<?>> types = new LinkedHashSet<>();
+			collectAssignableTypes(type, types);
+			return List.copyOf(types);
+		}
+	};
+
+	/**
+	 * The appendixes frozen by copies and splices, null if there are none. They
+	 * may be shared with other lists.
+	 */
+	private Frozen frozen;
+	/**
+	 * The layer this list writes to, it follows the frozen appendixes.
+	 */
+	private Layer top = new Layer(Layer.INITIAL_CAPACITY);
+	/**
+	 * Presence bits of the types of all appendixes, see {@link AppendixTypeMask}.
+	 */
+	private long[] presentTypes = new long[1];
 
 	/**
 	 * Avoid instantiation from outside the package. This hinders that someone can
@@ -63,16 +115,32 @@ class AppendixList implements Serializable {
 	 *                                  one element of type T
 	 */
 	<T> Optional<T> getAppendixOfTypeT(final Class<T> appendixClass) throws TooManyElementsException {
-		final List<T> allAppendixesOfTypeT = this.getAllAppenixesOfTypeAsListT(appendixClass);
+		return Optional.ofNullable(this.getAppendixOfTypeTOrNull(appendixClass));
+	}
 
-		if (allAppendixesOfTypeT.isEmpty()) {
-			return Optional.empty();
+	/**
+	 * Retrieves exactly one appendix of given type like
+	 * {@link #getAppendixOfTypeT(Class)}, but without wrapping the result into an
+	 * {@link Optional}.
+	 *
+	 * @param <T>           the type of the requested appendix
+	 * @param appendixClass the class of the requested appendix
+	 * @return the requested appendix or null if there is none
+	 * @throws TooManyElementsException if the list of appendixes contains more than
+	 *                                  one element of type T
+	 */
+	<T> T getAppendixOfTypeTOrNull(final Class<T> appendixClass) throws TooManyElementsException {
+		final Layer merged = this.frozen == null ? null : this.frozen.merged();
+		final int frozenCount = merged == null ? 0 : merged.count(appendixClass);
+		final int topCount = this.top.count(appendixClass);
+		if (frozenCount + topCount == 0) {
+			return null;
 		}
-		if (allAppendixesOfTypeT.size() > 1) {
+		if (frozenCount + topCount > 1) {
 			throw new TooManyElementsException("more than one element");
 		}
 
-		return Optional.of(allAppendixesOfTypeT.get(0));
+		return appendixClass.cast(frozenCount == 1 ? merged.first(appendixClass) : this.top.first(appendixClass));
 	}
 
 	/**
@@ -83,11 +151,10 @@ class AppendixList implements Serializable {
 	 * @param appendixClass class of the appendix to retrieve
 	 * @return a list of appendixes of type T
 	 */
+	@SuppressWarnings("unchecked")
 	<T> List<T> getAllAppenixesOfTypeAsListT(final Class<T> appendixClass) {
-		final List<T> allAppendixesOfTypeT = this.getAllAppendixesOfClass(appendixClass)
-				.collect(Collectors.toList());
-
-		return allAppendixesOfTypeT;
+		// the contents are assignable to the type, they are indexed by it
+		return (List<T>) this.getAllAppendixesOfClass(appendixClass);
 	}
 
 	/**
@@ -98,23 +165,34 @@ class AppendixList implements Serializable {
 	 * @param appendixId
 	 * @return
 	 */
+	@SuppressWarnings("unchecked")
 	<T> Set<T> getAllAppenixesOfTypeAsSetT(final Class<T> appendixClass) {
-		final Set<T> allAppendixesOfTypeT = this.getAllAppendixesOfClass(appendixClass)
-				.collect(Collectors.toSet());
+		return new HashSet<>((List<T>) this.getAllAppendixesOfClass(appendixClass));
+	}
 
-		return allAppendixesOfTypeT;
+	/**
+	 * Checks if there is at least one appendix of each type of the mask. The check
+	 * does not look at the appendixes themselves.
+	 *
+	 * @param mask the required types
+	 * @return true if all types are present
+	 */
+	boolean containsAll(final AppendixTypeMask mask) {
+		return mask.isContainedIn(this.presentTypes);
 	}
 
 	/**
-	 * Add a new appendix. Creates the internal representation to be able to store
-	 * owner with the corresponding appendix.
+	 * Add a new appendix together with its owner.
 	 *
 	 * @param <T>                type of the appendix
 	 * @param owner              owner of the appendix
 	 * @param additionalAppendix appendix to be added
 	 */
 	<T> void addAppendix(final ApplicationOwner owner, final T additionalAppendix) {
-		this.appendixes.add(new ApplicationAppendix<>(owner, additionalAppendix));
+		this.top.add(owner, additionalAppendix);
+		for (final Class<?> type : ASSIGNABLE_TYPES.get(additionalAppendix.getClass())) {
+			this.presentTypes = AppendixTypeMask.set(this.presentTypes, AppendixTypeMask.idOf(type));
+		}
 	}
 
 	/**
@@ -125,8 +203,9 @@ class AppendixList implements Serializable {
 	 * @param additionalAppendixes the collection of the appendixes to be added
 	 */
 	void addAppendix(final ApplicationOwner owner, final Collection<?> additionalAppendixes) {
-		additionalAppendixes.stream()
-				.forEach(t -> this.addAppendix(owner, t));
+		for (final Object additionalAppendix : additionalAppendixes) {
+			this.addAppendix(owner, additionalAppendix);
+		}
 	}
 
 	/**
@@ -138,10 +217,20 @@ class AppendixList implements Serializable {
 	 * @param appendixType class of the appendix
 	 */
 	<T> void removeAll(final ApplicationOwner owner, final Class<T> appendixType) {
-		final List<ApplicationAppendix<?>> existingAppendixes = this.appendixes.stream()
-				.filter(a -> a.content.getClass() == appendixType && a.owner == owner)
-				.collect(Collectors.toList());
-		this.appendixes.removeAll(existingAppendixes);
+		if (!this.containsAny(owner, appendixType)) {
+			return;
+		}
+		if (this.frozen != null) {
+			// shared segments are never changed
+			this.top = this.flatten();
+			this.frozen = null;
+		}
+		this.top.removeAll(owner, appendixType);
+		for (final Map.Entry<Class<?>, Positions> entry : this.top.positionsByType.entrySet()) {
+			if (entry.getValue().size == 0) {
+				AppendixTypeMask.clear(this.presentTypes, AppendixTypeMask.idOf(entry.getKey()));
+			}
+		}
 	}
 
 	/**
@@ -155,9 +244,23 @@ class AppendixList implements Serializable {
 	 * @return a list of all appendixes of different types
 	 */
 	List<?> getAllAppenixesAsList() {
-		return this.appendixes.stream()
-				.map(a -> a.content)
-				.collect(Collectors.toList());
+		final List<Object> result = new ArrayList<>(this.size());
+		this.forEach(null, (owner, content) -> result.add(content));
+		return result;
+	}
+
+	/**
+	 * @return the number of appendixes
+	 */
+	int size() {
+		return (this.frozen == null ? 0 : this.frozen.size) + this.top.size;
+	}
+
+	/**
+	 * @return the number of frozen segments
+	 */
+	int numberOfSegments() {
+		return this.frozen == null ? 0 : this.frozen.segments.length;
 	}
 
 	/**
@@ -167,68 +270,362 @@ class AppendixList implements Serializable {
 	 * @param other the list which hands over their appendixes
 	 */
 	void transfer(final AppendixList other) {
-		this.appendixes.addAll(other.appendixes);
-		other.appendixes.clear();
+		this.addAll(other);
+		other.reset();
 	}
 
-	AppendixList duplicate() {
+	/**
+	 * Add all appendixes of the other list to the own list. In contrast to
+	 * {@link #transfer(AppendixList)} the other list remains unchanged.
+	 *
+	 * @param other the list which provides the appendixes
+	 */
+	void addAll(final AppendixList other) {
+		final Frozen segments = other.freeze();
+		if (segments == null) {
+			return;
+		}
+		this.frozen = Frozen.concat(this.freeze(), segments);
+		this.presentTypes = AppendixTypeMask.or(this.presentTypes, other.presentTypes);
+	}
+
+	/**
+	 * Add the appendixes of the other list, which are not contained in the
+	 * excluded list, to the own list. The appendixes are compared by identity. Both
+	 * lists remain unchanged.
+	 *
+	 * @param other    the list which provides the appendixes
+	 * @param excluded the list of the appendixes to leave out
+	 */
+	void addAllExcept(final AppendixList other, final AppendixList excluded) {
+		final Set<Object> excludedAppendixes = Collections.newSetFromMap(new IdentityHashMap<>());
+		excluded.forEach(null, (owner, content) -> excludedAppendixes.add(content));
+		other.forEach(null, (owner, content) -> {
+			if (!excludedAppendixes.contains(content)) {
+				this.addAppendix(owner, content);
+			}
+		});
+	}
+
+	/**
+	 * Creates an independent list containing the same appendixes. The appendixes
+	 * are shared until one of the lists is changed, so the copy costs O(1).
+	 *
+	 * @return the copy
+	 */
+	AppendixList copy() {
 		final AppendixList appendixList = new AppendixList();
-		appendixList.appendixes = this.appendixes;
+		appendixList.frozen = this.freeze();
+		appendixList.presentTypes = this.presentTypes.clone();
 
 		return appendixList;
 	}
 
+	/**
+	 * Removes all appendixes. The storage of the list is kept to be reused.
+	 */
+	void reset() {
+		this.frozen = null;
+		this.top.clear();
+		Arrays.fill(this.presentTypes, 0L);
+	}
+
 	@Override
 	public String toString() {
-		final StringBuilder sb = new StringBuilder();
-		sb.append(this.getClass().getName())
+		final StringBuilder appendixes = new StringBuilder();
+		this.forEach(null, (owner, content) -> appendixes
+				.append("\tappendix(owner = ").append(owner).append("): ")
+				.append(content).append('\n'));
+
+		return new StringBuilder()
+				.append(this.getClass().getName())
 				.append(": number of appendixes: ")
-				.append(this.appendixes.size())
-				.append('\n');
-		this.appendixes.stream()
-				.forEach(aa -> aa.toString(sb, 1));
+				.append(this.size())
+				.append('\n')
+				.append(appendixes)
+				.toString();
+	}
+
+	private List<Object> getAllAppendixesOfClass(final Class<?> appendixClass) {
+		final List<Object> result = new ArrayList<>();
+		this.forEach(appendixClass, (owner, content) -> result.add(content));
+		return result;
+	}
+
+	/**
+	 * Visits the appendixes of the given type, oldest first.
+	 *
+	 * @param type   the type or null for all appendixes
+	 * @param action called with owner and content of each appendix
+	 */
+	private void forEach(final Class<?> type, final BiConsumer<ApplicationOwner, Object> action) {
+		if (this.frozen != null) {
+			this.frozen.merged().forEach(type, action);
+		}
+		this.top.forEach(type, action);
+	}
 
-		return sb.toString();
+	/**
+	 * Checks if the list contains an appendix of the owner with exactly the given
+	 * type.
+	 */
+	private boolean containsAny(final ApplicationOwner owner, final Class<?> appendixType) {
+		final boolean[] found = new boolean[1];
+		this.forEach(appendixType, (o, content) -> found[0] |= o == owner && content.getClass() == appendixType);
+		return found[0];
 	}
 
-	private <T> Stream<T> getAllAppendixesOfClass(final Class<T> appendixClass) {
-		@SuppressWarnings("unchecked")
-		final Stream<T> stream = this.appendixes.stream()
-				.filter(a -> appendixClass.isAssignableFrom(a.content.getClass()))
-				.map(a -> (T) a.content);
-		return stream;
+	/**
+	 * Freezes the top layer, from now on it may be shared. Reading only, if the top
+	 * layer is empty, so frozen lists may be copied concurrently.
+	 *
+	 * @return the frozen appendixes or null if the list is empty
+	 */
+	private Frozen freeze() {
+		if (this.top.size > 0) {
+			this.frozen = Frozen.concat(this.frozen, new Frozen(new Layer[] { this.top }));
+			this.top = new Layer(Layer.INITIAL_CAPACITY);
+		}
+		return this.frozen;
+	}
+
+	/**
+	 * Creates a single layer holding all appendixes.
+	 */
+	private Layer flatten() {
+		final Layer flattened = new Layer(this.size());
+		this.forEach(null, flattened::add);
+		return flattened;
+	}
+
+	private static void collectAssignableTypes(final Class<?> type, final Set<Class<?>> types) {
+		if (type == null || !types.add(type)) {
+			return;
+		}
+		collectAssignableTypes(type.getSuperclass(), types);
+		for (final Class<?> anInterface : type.getInterfaces()) {
+			collectAssignableTypes(anInterface, types);
+		}
+	}
+
+	/**
+	 * Frozen appendixes, a sequence of segments. Neither the sequence nor the
+	 * segments are changed, so they can be shared by lists of different threads.
+	 */
+	private static final class Frozen implements Serializable {
+
+		private static final long serialVersionUID = 1838476503316578207L;
+
+		/** the segments, oldest first, each at least half as large as its predecessor */
+		final Layer[] segments;
+		/** number of appendixes of all segments */
+		final int size;
+		/** all segments merged into one, built by the first query */
+		private transient volatile Layer merged;
+
+		Frozen(final Layer[] segments) {
+			this.segments = segments;
+			int size = 0;
+			for (final Layer segment : segments) {
+				size += segment.size;
+			}
+			this.size = size;
+			if (segments.length == 1) {
+				this.merged = segments[0];
+			}
+		}
+
+		/**
+		 * Appends the segments of the second to the first. Adjacent segments are
+		 * merged, if the later one is larger than half of the earlier one.
+		 *
+		 * @param first  the earlier appendixes, may be null
+		 * @param second the later appendixes
+		 * @return the combined appendixes
+		 */
+		static Frozen concat(final Frozen first, final Frozen second) {
+			if (first == null) {
+				return second;
+			}
+			final Layer[] firstSegments = first.segmentsForConcat();
+			final Layer[] secondSegments = second.segmentsForConcat();
+			final Layer[] segments = Arrays.copyOf(firstSegments, firstSegments.length + secondSegments.length);
+			int count = firstSegments.length;
+			for (final Layer segment : secondSegments) {
+				segments[count++] = segment;
+				while (count > 1 && 2 * segments[count - 1].size > segments[count - 2].size) {
+					segments[count - 2] = Layer.merge(segments[count - 2], segments[count - 1]);
+					segments[--count] = null;
+				}
+			}
+
+			return new Frozen(Arrays.copyOf(segments, count));
+		}
+
+		/**
+		 * @return the single segment of all appendixes
+		 */
+		Layer merged() {
+			Layer result = this.merged;
+			if (result == null) {
+				// concurrent queries may merge twice, the results are equal
+				result = Layer.merge(this.segments);
+				this.merged = result;
+			}
+			return result;
+		}
+
+		private Layer[] segmentsForConcat() {
+			final Layer result = this.merged;
+			return result != null ? new Layer[] { result } : this.segments;
+		}
 	}
 
-	private class ApplicationAppendix<T> {
+	/**
+	 * Appendixes in the order they were added. The top layer of a list is changed,
+	 * a frozen layer is a segment and never changed.
+	 */
+	private static class Layer implements Serializable {
 
-		/** content of the appendix */
-		final T content;
-		/** owner id */
-		final ApplicationOwner owner;
+		private static final long serialVersionUID = -6009516417829306137L;
+		private static final int INITIAL_CAPACITY = 4;
 
-		ApplicationAppendix(final ApplicationOwner owner, final T content) {
-			this.content = content;
-			this.owner = owner;
+		/** contents of the appendixes in the order they were added */
+		Object[] contents;
+		/** owners of the appendixes at the same position as their contents */
+		ApplicationOwner[] owners;
+		/** number of appendixes */
+		int size;
+		/**
+		 * Positions of the appendixes by every type they are assignable to. Each
+		 * entry keeps the order the appendixes were added.
+		 */
+		final Map<Class<?>, Positions> positionsByType = new HashMap<>();
+
+		Layer(final int capacity) {
+			this.contents = new Object[capacity];
+			this.owners = new ApplicationOwner[capacity];
 		}
 
-		public String toString() {
-			final StringBuilder sb = new StringBuilder();
-			return this.toString(sb, 0).toString();
+		/**
+		 * Creates one layer of the appendixes of all layers, keeping their order.
+		 */
+		static Layer merge(final Layer... layers) {
+			int size = 0;
+			for (final Layer layer : layers) {
+				size += layer.size;
+			}
+			final Layer merged = new Layer(size);
+			for (final Layer layer : layers) {
+				layer.forEach(null, merged::add);
+			}
+			return merged;
 		}
 
-		public StringBuilder toString(final StringBuilder sb, final int indent) {
-			this.identation(sb, indent)
-					.append(this.getClass().getName())
-					.append("(owner = ").append(this.owner).append("): ");
-			sb.append(this.content.toString()).append('\n');
-			return sb;
+		void add(final ApplicationOwner owner, final Object content) {
+			if (this.size == this.contents.length) {
+				final int capacity = Math.max(INITIAL_CAPACITY, this.size * 2);
+				this.contents = Arrays.copyOf(this.contents, capacity);
+				this.owners = Arrays.copyOf(this.owners, capacity);
+			}
+			final int position = this.size++;
+			this.contents[position] = content;
+			this.owners[position] = owner;
+			this.index(content, position);
 		}
 
-		private StringBuilder identation(final StringBuilder sb, final int tabs) {
-			for (int i = 0; i < tabs; i++) {
-				sb.append('\t');
+		/**
+		 * @return the number of appendixes assignable to the type
+		 */
+		int count(final Class<?> type) {
+			final Positions positions = this.positionsByType.get(type);
+			return positions == null ? 0 : positions.size;
+		}
+
+		/**
+		 * @return the first appendix assignable to the type, it has to exist
+		 */
+		Object first(final Class<?> type) {
+			return this.contents[this.positionsByType.get(type).values[0]];
+		}
+
+		/**
+		 * Removes the appendixes of the owner with exactly the given type.
+		 */
+		void removeAll(final ApplicationOwner owner, final Class<?> appendixType) {
+			int kept = 0;
+			for (int i = 0; i < this.size; i++) {
+				if (this.contents[i].getClass() == appendixType && this.owners[i] == owner) {
+					continue;
+				}
+				this.contents[kept] = this.contents[i];
+				this.owners[kept] = this.owners[i];
+				kept++;
+			}
+			Arrays.fill(this.contents, kept, this.size, null);
+			Arrays.fill(this.owners, kept, this.size, null);
+			this.size = kept;
+
+			// the positions have changed
+			this.positionsByType.values().forEach(p -> p.size = 0);
+			for (int i = 0; i < this.size; i++) {
+				this.index(this.contents[i], i);
+			}
+		}
+
+		/**
+		 * Removes all appendixes, but keeps the arrays and the positions for reuse.
+		 */
+		void clear() {
+			Arrays.fill(this.contents, 0, this.size, null);
+			Arrays.fill(this.owners, 0, this.size, null);
+			this.size = 0;
+			this.positionsByType.values().forEach(p -> p.size = 0);
+		}
+
+		/**
+		 * Visits the appendixes of the given type in the order they were added.
+		 *
+		 * @param type   the type or null for all appendixes
+		 * @param action called with owner and content of each appendix
+		 */
+		void forEach(final Class<?> type, final BiConsumer<ApplicationOwner, Object> action) {
+			if (type == null) {
+				for (int i = 0; i < this.size; i++) {
+					action.accept(this.owners[i], this.contents[i]);
+				}
+				return;
+			}
+			final Positions positions = this.positionsByType.get(type);
+			for (int i = 0; positions != null && i < positions.size; i++) {
+				final int position = positions.values[i];
+				action.accept(this.owners[position], this.contents[position]);
+			}
+		}
+
+		private void index(final Object content, final int position) {
+			for (final Class<?> type : ASSIGNABLE_TYPES.get(content.getClass())) {
+				this.positionsByType.computeIfAbsent(type, t -> new Positions())
+						.add(position);
+			}
+		}
+	}
+
+	/**
+	 * Growing list of positions within a layer.
+	 */
+	private static class Positions implements Serializable {
+
+		private static final long serialVersionUID = 2617003582717536207L;
+
+		int[] values = new int[2];
+		int size;
+
+		void add(final int position) {
+			if (this.size == this.values.length) {
+				this.values = Arrays.copyOf(this.values, this.size * 2);
 			}
-			return sb;
+			this.values[this.size++] = position;
 		}
 	}
-}
\ No newline at end of file
+}
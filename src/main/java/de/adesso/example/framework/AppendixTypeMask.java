@@ -0,0 +1,140 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright © 2020 Matthias Brenner and Adesso SE
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the “Software”), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package de.adesso.example.framework;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Set of appendix types which have to be present in an
+ * {@link ApplicationProtocol}. Every appendix type gets a small integer id the
+ * first time it is used. The protocol keeps a bit per id for every type it
+ * contains an appendix of, so that checking a mask is a single bitwise test
+ * per 64 types.
+ * <p>
+ * The ids are only valid within the running JVM.
+ *
+ * @author Matthias
+ *
+ */
+public final class AppendixTypeMask {
+
+	/** mask without any type, contained in every protocol */
+	public static final AppendixTypeMask EMPTY = new AppendixTypeMask(new long[0]);
+
+	private static final AtomicInteger NEXT_ID = new AtomicInteger();
+	private static final ClassValue<Integer> TYPE_IDS = new ClassValue<>() {
+
+		@Override
+		protected Integer computeValue(final Class<?> type) {
+			return NEXT_ID.getAndIncrement();
+		}
+	};
+
+	private final long[] words;
+
+	private AppendixTypeMask(final long[] words) {
+		this.words = words;
+	}
+
+	/**
+	 * Creates the mask of the given appendix types.
+	 *
+	 * @param appendixTypes the types required to be present
+	 * @return the mask
+	 */
+	public static AppendixTypeMask of(final Collection<Class<?>> appendixTypes) {
+		if (appendixTypes.isEmpty()) {
+			return EMPTY;
+		}
+		long[] words = new long[0];
+		for (final Class<?> type : appendixTypes) {
+			words = set(words, idOf(type));
+		}
+		return new AppendixTypeMask(words);
+	}
+
+	public boolean isEmpty() {
+		return this.words.length == 0;
+	}
+
+	/**
+	 * Checks if all types of the mask are contained in the given presence bits.
+	 *
+	 * @param present the presence bits of a protocol
+	 * @return true if every type of the mask is present
+	 */
+	boolean isContainedIn(final long[] present) {
+		final long[] required = this.words;
+		for (int i = 0; i < required.length; i++) {
+			final long word = i < present.length ? present[i] : 0L;
+			if ((word & required[i]) != required[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	static int idOf(final Class<?> type) {
+		return TYPE_IDS.get(type);
+	}
+
+	/**
+	 * Sets the bit of the id, the array grows if necessary.
+	 *
+	 * @param words the bits
+	 * @param id    id of the type
+	 * @return the bits, a new array if it had to grow
+	 */
+	static long[] set(final long[] words, final int id) {
+		final int index = id >>> 6;
+		final long[] result = index < words.length ? words : Arrays.copyOf(words, index + 1);
+		result[index] |= 1L << id;
+		return result;
+	}
+
+	/**
+	 * Combines the bits of both arrays.
+	 *
+	 * @param words the bits to be extended
+	 * @param other the bits to add
+	 * @return the combined bits, a new array if it had to grow
+	 */
+	static long[] or(final long[] words, final long[] other) {
+		final long[] result = other.length <= words.length ? words : Arrays.copyOf(words, other.length);
+		for (int i = 0; i < other.length; i++) {
+			result[i] |= other[i];
+		}
+		return result;
+	}
+
+	static void clear(final long[] words, final int id) {
+		final int index = id >>> 6;
+		if (index < words.length) {
+			words[index] &= ~(1L << id);
+		}
+	}
+}
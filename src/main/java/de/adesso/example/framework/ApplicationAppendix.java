@@ -25,6 +25,7 @@
 package de.adesso.example.framework;
 
 import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
 import java.util.UUID;
 
 import de.adesso.example.framework.exception.BuilderException;
@@ -79,18 +80,33 @@ public abstract class ApplicationAppendix<T> {
 		return sb;
 	}
 
-	@SuppressWarnings("unchecked")
+	/**
+	 * Returns the type of the content of the appendix class. The type is resolved
+	 * once per appendix class.
+	 *
+	 * @param appendixClass the appendix class
+	 * @return the type of the content
+	 */
 	public static Class<Object> getParameterType(final Class<? extends ApplicationAppendix<?>> appendixClass) {
-		final ParameterizedType pt = (ParameterizedType) appendixClass.getGenericSuperclass();
-		Class<Object> parameterTypeClass = null;
-		final String typeName = pt.getActualTypeArguments()[0].getTypeName();
-		try {
-			parameterTypeClass = (Class<Object>) ApplicationAppendix.class.getClassLoader().loadClass(typeName);
-		} catch (final ClassNotFoundException e) {
-			// should never happen, because the type is part of the class variable we
-			// received as parameter.
-			throw BuilderException.cannotLoadAppendixClass(typeName, e);
-		}
-		return parameterTypeClass;
+		return PARAMETER_TYPES.get(appendixClass);
 	}
+
+	private static final ClassValue<Class<Object>> PARAMETER_TYPES = new ClassValue<>() {
+
+		@Override
+		@SuppressWarnings("unchecked")
+		protected Class<Object> computeValue(final Class<?> appendixClass) {
+			final ParameterizedType pt = (ParameterizedType) appendixClass.getGenericSuperclass();
+			final Type typeArgument = pt.getActualTypeArguments()[0];
+			if (typeArgument instanceof Class) {
+				return (Class<Object>) typeArgument;
+			}
+			final String typeName = typeArgument.getTypeName();
+			try {
+				return (Class<Object>) ApplicationAppendix.class.getClassLoader().loadClass(typeName);
+			} catch (final ClassNotFoundException e) {
+				throw BuilderException.cannotLoadAppendixClass(typeName, e);
+			}
+		}
+	};
 }
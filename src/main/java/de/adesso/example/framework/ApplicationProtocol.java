@@ -31,6 +31,7 @@ import java.util.Optional;
 import java.util.Set;
 
 import de.adesso.example.framework.exception.TooManyElementsException;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
@@ -40,8 +41,8 @@ import lombok.ToString;
  * allows to add own return values of processing.
  * <p>
  * The protocol is prepared for single threaded use. If multi-threaded use is
- * required,
- *
+ * required, each thread works on its own {@link #fork()}. The changes of the
+ * forks are applied by {@link #commit(ApplicationProtocol)}.
  *
  * @author Matthias
  *
@@ -52,7 +53,8 @@ public class ApplicationProtocol<RESULT_TYPE> implements Serializable {
 
 	private static final long serialVersionUID = 793704284936910537L;
 
-	private final AppendixList data = new AppendixList();
+	@Getter(value = AccessLevel.PACKAGE)
+	private final AppendixList data;
 
 	/**
 	 * The result value, which is provided by the stream.
@@ -61,6 +63,14 @@ public class ApplicationProtocol<RESULT_TYPE> implements Serializable {
 	@Setter
 	private RESULT_TYPE result;
 
+	public ApplicationProtocol() {
+		this(new AppendixList());
+	}
+
+	ApplicationProtocol(final AppendixList data) {
+		this.data = data;
+	}
+
 	/**
 	 * Retrieves exactly one appendix of given type. If the list contains more than
 	 * one appendix of this type, a {@link TooManyElementsException} is thrown. If
@@ -76,6 +86,21 @@ public class ApplicationProtocol<RESULT_TYPE> implements Serializable {
 		return this.data.getAppendixOfTypeT(appendixClass);
 	}
 
+	/**
+	 * Retrieves exactly one appendix of given type. In contrast to
+	 * {@link #getAppendixOfClassT(Class)} the result is not wrapped into an
+	 * {@link Optional}. The framework uses it to prepare the arguments of the bean
+	 * calls.
+	 *
+	 * @param appendixClass the class of the requested appendix
+	 * @return the requested appendix or null if there is none
+	 * @throws TooManyElementsException if the list of appendixes contains more than
+	 *                                  one element of type T
+	 */
+	public <T> T getAppendixOfClassTOrNull(final Class<T> appendixClass) throws TooManyElementsException {
+		return this.data.getAppendixOfTypeTOrNull(appendixClass);
+	}
+
 	/**
 	 * Retrieves all appendixes of given type. The list may be empty if there is no
 	 * such element in the list.
@@ -98,6 +123,24 @@ public class ApplicationProtocol<RESULT_TYPE> implements Serializable {
 		return this.data.getAllAppenixesOfTypeAsSetT(appendixClass);
 	}
 
+	/**
+	 * Checks if the protocol contains at least one appendix of every type of the
+	 * mask.
+	 *
+	 * @param mask the required appendix types
+	 * @return true if all types are present
+	 */
+	public boolean containsAppendixTypes(final AppendixTypeMask mask) {
+		return this.data.containsAll(mask);
+	}
+
+	/**
+	 * @return the number of appendixes of all types
+	 */
+	public int getNumberOfAppendixes() {
+		return this.data.size();
+	}
+
 	// modifier
 	// -----------------------------------------------------------------------//
 
@@ -153,4 +196,91 @@ public class ApplicationProtocol<RESULT_TYPE> implements Serializable {
 	public void transfertAppendixes(final ApplicationProtocol<?> otherProtocol) {
 		this.data.transfer(otherProtocol.data);
 	}
+
+	/**
+	 * Adds the appendixes of the other protocol to this protocol. In contrast to
+	 * {@link #transfertAppendixes(ApplicationProtocol)} the other protocol remains
+	 * unchanged. The owner information remains unchanged.
+	 *
+	 * @param otherProtocol the protocol providing the appendixes
+	 * @return the protocol itself to allow fluent handling
+	 */
+	public ApplicationProtocol<RESULT_TYPE> addAppendixesOf(final ApplicationProtocol<?> otherProtocol) {
+		this.data.addAll(otherProtocol.data);
+
+		return this;
+	}
+
+	/**
+	 * Adds the appendixes of the other protocol, which are not contained in the
+	 * excluded protocol, to this protocol. The appendixes are compared by
+	 * identity. Thus the appendixes added by a call can be taken from its
+	 * resulting protocol, if the excluded protocol is a {@link #copy()} taken
+	 * before the call. Both protocols remain unchanged. The owner information
+	 * remains unchanged.
+	 *
+	 * @param otherProtocol    the protocol providing the appendixes
+	 * @param excludedProtocol the protocol providing the appendixes to leave out
+	 * @return the protocol itself to allow fluent handling
+	 */
+	public ApplicationProtocol<RESULT_TYPE> addAppendixesOf(final ApplicationProtocol<?> otherProtocol,
+			final ApplicationProtocol<?> excludedProtocol) {
+		this.data.addAllExcept(otherProtocol.data, excludedProtocol.data);
+
+		return this;
+	}
+
+	/**
+	 * Removes the result and all appendixes. The storage of the protocol is kept,
+	 * so the protocol can be reused for another call without allocating it again,
+	 * see {@link ApplicationProtocolPool}.
+	 *
+	 * @return the protocol itself to allow fluent handling
+	 */
+	public ApplicationProtocol<RESULT_TYPE> reset() {
+		this.data.reset();
+		this.result = null;
+
+		return this;
+	}
+
+	/**
+	 * Creates an independent protocol with a copy of the appendixes and the result
+	 * of this protocol. The appendixes themselves are not copied. The list of
+	 * appendixes is shared until one of the protocols changes it, so copying is
+	 * cheap regardless of the number of appendixes.
+	 *
+	 * @return the copy
+	 */
+	public ApplicationProtocol<RESULT_TYPE> copy() {
+		return new ApplicationProtocol<RESULT_TYPE>(this.data.copy())
+				.setResult(this.result);
+	}
+
+	/**
+	 * Creates a fork of the protocol. The fork contains the same appendixes and
+	 * result as this protocol. Changes to the fork do not influence this protocol
+	 * until they are applied by {@link #commit(ApplicationProtocol)}. Forks allow
+	 * to process the same protocol in parallel.
+	 *
+	 * @return the fork
+	 */
+	public ApplicationProtocol<RESULT_TYPE> fork() {
+		return new ApplicationProtocolFork<>(this);
+	}
+
+	/**
+	 * Applies the changes of a fork to this protocol. The changes are applied in
+	 * the order they were made to the fork.
+	 *
+	 * @param fork the fork created by {@link #fork()}
+	 * @throws IllegalArgumentException if the given protocol is not a fork of this
+	 *                                  protocol
+	 */
+	public void commit(final ApplicationProtocol<?> fork) {
+		if (!(fork instanceof ApplicationProtocolFork) || ((ApplicationProtocolFork<?>) fork).getParent() != this) {
+			throw new IllegalArgumentException("the protocol is not a fork of this protocol");
+		}
+		((ApplicationProtocolFork<?>) fork).commit();
+	}
 }
@@ -0,0 +1,131 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright © 2020 Matthias Brenner and Adesso SE
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the “Software”), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package de.adesso.example.framework;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+
+/**
+ * Fork of an {@link ApplicationProtocol}. The fork starts with a copy of the
+ * appendixes and the result of its parent. Every modification is executed on
+ * the fork and recorded in a journal. The journal is replayed on the parent
+ * during commit.
+ *
+ * @author Matthias
+ *
+ * @param <RESULT_TYPE> type of the result
+ */
+class ApplicationProtocolFork<RESULT_TYPE> extends ApplicationProtocol<RESULT_TYPE> {
+
+	private static final long serialVersionUID = -2201794306227519432L;
+
+	@Getter(value = AccessLevel.PACKAGE)
+	private final transient ApplicationProtocol<RESULT_TYPE> parent;
+	private final transient List<Consumer<ApplicationProtocol<RESULT_TYPE>>> journal = new ArrayList<>();
+
+	ApplicationProtocolFork(final ApplicationProtocol<RESULT_TYPE> parent) {
+		super(parent.getData().copy());
+		this.parent = parent;
+		super.setResult(parent.getResult());
+	}
+
+	@Override
+	public ApplicationProtocol<RESULT_TYPE> setResult(final RESULT_TYPE result) {
+		this.journal.add(p -> p.setResult(result));
+		return super.setResult(result);
+	}
+
+	@Override
+	public <T> ApplicationProtocol<RESULT_TYPE> addAppendix(final ApplicationOwner owner, final T additionalAppendix) {
+		this.journal.add(p -> p.addAppendix(owner, additionalAppendix));
+		return super.addAppendix(owner, additionalAppendix);
+	}
+
+	@Override
+	public ApplicationProtocol<RESULT_TYPE> addAllAppendixes(final ApplicationOwner owner,
+			final Collection<?> additionalAppendixes) {
+		final List<?> appendixes = new ArrayList<>(additionalAppendixes);
+		this.journal.add(p -> p.addAllAppendixes(owner, appendixes));
+		return super.addAllAppendixes(owner, appendixes);
+	}
+
+	@Override
+	public <T> ApplicationProtocol<RESULT_TYPE> addAllAppendixesT(final ApplicationOwner owner,
+			final Collection<T> additionalAppendixes) {
+		return this.addAllAppendixes(owner, additionalAppendixes);
+	}
+
+	@Override
+	public <T> void removeAll(final ApplicationOwner owner, final Class<T> appendixType) {
+		this.journal.add(p -> p.removeAll(owner, appendixType));
+		super.removeAll(owner, appendixType);
+	}
+
+	@Override
+	public ApplicationProtocol<RESULT_TYPE> reset() {
+		this.journal.add(ApplicationProtocol::reset);
+		return super.reset();
+	}
+
+	@Override
+	public ApplicationProtocol<RESULT_TYPE> addAppendixesOf(final ApplicationProtocol<?> otherProtocol) {
+		final AppendixList added = otherProtocol.getData().copy();
+		this.journal.add(p -> p.getData().addAll(added));
+		this.getData().addAll(added);
+		return this;
+	}
+
+	@Override
+	public ApplicationProtocol<RESULT_TYPE> addAppendixesOf(final ApplicationProtocol<?> otherProtocol,
+			final ApplicationProtocol<?> excludedProtocol) {
+		final AppendixList added = new AppendixList();
+		added.addAllExcept(otherProtocol.getData(), excludedProtocol.getData());
+		this.journal.add(p -> p.getData().addAll(added));
+		this.getData().addAll(added);
+		return this;
+	}
+
+	@Override
+	public void transfertAppendixes(final ApplicationProtocol<?> otherProtocol) {
+		// keep the appendixes with their owners until the commit
+		final AppendixList transferred = new AppendixList();
+		transferred.transfer(otherProtocol.getData());
+		this.journal.add(p -> p.getData().addAll(transferred));
+		this.getData().addAll(transferred);
+	}
+
+	/**
+	 * Replays the journal on the parent.
+	 */
+	void commit() {
+		this.journal.forEach(c -> c.accept(this.parent));
+		this.journal.clear();
+	}
+}
@@ -0,0 +1,82 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright © 2020 Matthias Brenner and Adesso SE
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the “Software”), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package de.adesso.example.framework;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Pool of reusable protocols, one per thread. A protocol is taken by
+ * {@link #acquire()} and handed back by {@link #release(ApplicationProtocol)}
+ * as soon as neither the result nor the appendixes are used any more. The
+ * released protocol is reset and keeps its storage, so calls at a high rate,
+ * e.g. price checks, do not allocate a new protocol each time.
+ * <p>
+ * A protocol must not be used after it has been released.
+ *
+ * @author Matthias
+ *
+ */
+public final class ApplicationProtocolPool {
+
+	/** maximum number of protocols kept per thread */
+	private static final int MAX_POOLED = 8;
+
+	private static final ThreadLocal<Deque<ApplicationProtocol<?>>> POOL = ThreadLocal
+			.withInitial(ArrayDeque::new);
+
+	private ApplicationProtocolPool() {
+	}
+
+	/**
+	 * Takes an empty protocol of the current thread or creates a new one, if the
+	 * pool is empty.
+	 *
+	 * @param <T> type of the result
+	 * @return the empty protocol
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> ApplicationProtocol<T> acquire() {
+		final ApplicationProtocol<?> pooled = POOL.get().pollLast();
+		return pooled != null ? (ApplicationProtocol<T>) pooled : new ApplicationProtocol<>();
+	}
+
+	/**
+	 * Resets the protocol and keeps it for the next {@link #acquire()} of the
+	 * current thread.
+	 *
+	 * @param protocol the protocol no longer used
+	 */
+	public static void release(final ApplicationProtocol<?> protocol) {
+		if (protocol instanceof ApplicationProtocolFork) {
+			// a fork belongs to its parent
+			return;
+		}
+		final Deque<ApplicationProtocol<?>> pool = POOL.get();
+		if (pool.size() < MAX_POOLED && !pool.contains(protocol)) {
+			pool.addLast(protocol.reset());
+		}
+	}
+}
@@ -0,0 +1,48 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright © 2020 Matthias Brenner and Adesso SE
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the “Software”), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package de.adesso.example.framework;
+
+/**
+ * Identifies an object within the keys of cached and coalesced invocations,
+ * see {@link de.adesso.example.framework.annotation.CachedResult},
+ * {@link de.adesso.example.framework.annotation.SingleFlight} and
+ * {@link de.adesso.example.framework.annotation.Memoized}. Objects not
+ * implementing it are compared by equals and hashCode. Thus domain objects can
+ * keep their identity and still be part of a key.
+ * <p>
+ * Two objects are taken as equal within a key, if they have the same class and
+ * equal cache keys.
+ *
+ * @author Matthias
+ *
+ */
+public interface CacheKey {
+
+	/**
+	 * @return the value identifying the object, it has to implement equals and
+	 *         hashCode
+	 */
+	Object cacheKey();
+}
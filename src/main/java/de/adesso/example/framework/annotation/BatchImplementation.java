@@ -0,0 +1,81 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright © 2020 Matthias Brenner and Adesso SE
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the “Software”), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package de.adesso.example.framework.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Names the batch form of a bean method. It is used by emulated methods
+ * declared with {@link BatchOf}. The batch method of the bean takes a
+ * {@link java.util.List} for each parameter of the annotated method, one entry
+ * per item. It returns a {@link java.util.List} with the protocol of each item.
+ * <p>
+ * Beans without batch form are called item by item.
+ * <p>
+ * If {@link #collectWindowMicros()} is set, single calls of concurrent callers
+ * are collected as well. The first call of a batch waits while an earlier batch
+ * is executed, up to the window or until {@link #maxBatchSize()} calls are
+ * collected. Then the batch method is called once for all of them. An
+ * uncontended call is executed at once, unless the window is fixed. Each caller
+ * receives the protocol of its item. If the batch method fails for more than
+ * one call, each caller calls the single method for its own call, so only the
+ * callers of failing items fail. Thus the batch method has to fail without
+ * effects, like booking records added to the protocols of earlier items.
+ *
+ * @author Matthias
+ *
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+@Documented
+public @interface BatchImplementation {
+
+	/**
+	 * @return name of the batch method within the same bean
+	 */
+	String method();
+
+	/**
+	 * @return microseconds single calls are collected for a call of the batch
+	 *         method, 0 calls the bean directly
+	 */
+	long collectWindowMicros() default 0;
+
+	/**
+	 * @return maximum number of single calls collected for one call of the batch
+	 *         method
+	 */
+	int maxBatchSize() default 100;
+
+	/**
+	 * @return true if the first call of a batch always waits for the window,
+	 *         false if it waits only while an earlier batch is executed
+	 */
+	boolean fixedWindow() default false;
+}
@@ -0,0 +1,82 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright © 2020 Matthias Brenner and Adesso SE
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the “Software”), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package de.adesso.example.framework.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Caches the whole invocation of a method of an emulated interface. The key
+ * consists of the arguments apart from the protocol and of the appendixes of
+ * the given protocol of the types listed by {@link #appendixes()}. The cache
+ * keeps the effect of an execution: the result and the appendixes the chain
+ * added. If the key is cached, the chain is not executed. The cached result is
+ * set and the cached appendixes are added to the given protocol, which is
+ * returned like after an execution. The arguments and the appendixes have to
+ * implement equals and hashCode or {@link de.adesso.example.framework.CacheKey},
+ * otherwise only the same instances are found.
+ * <p>
+ * The types have to be declared explicitly, an empty list keys on the
+ * arguments only. The appendixes of other types must not influence the result,
+ * a hit adds the appendixes of the cached execution.
+ * <p>
+ * The cached invocations are removed by
+ * {@link de.adesso.example.framework.core.ResultCacheRegistry#invalidate(String)}
+ * for each of the tags given by {@link #invalidatedBy()}. Asynchronous methods
+ * cannot be cached.
+ *
+ * @author Matthias
+ *
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+@Documented
+public @interface CachedResult {
+
+	/**
+	 * @return types of the appendixes which are part of the key
+	 */
+	Class<?>[] appendixes();
+
+	/**
+	 * @return tags of the changes which invalidate the cached invocations
+	 */
+	String[] invalidatedBy() default {};
+
+	/**
+	 * @return maximum number of cached invocations, approximately the oldest are
+	 *         evicted first
+	 */
+	int maximumSize() default 10_000;
+
+	/**
+	 * @return seconds an invocation is cached, 0 caches it until it is evicted by
+	 *         size or invalidated
+	 */
+	long timeToLive() default 0;
+}
@@ -0,0 +1,65 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright © 2020 Matthias Brenner and Adesso SE
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the “Software”), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package de.adesso.example.framework.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares which parts of the protocol a bean method accesses. The information
+ * is used by {@link ExecutionStrategy#DATAFLOW} to decide which beans can be
+ * called in parallel. The appendixes provided as parameters are read by the
+ * bean anyway, they do not have to be declared.
+ * <p>
+ * Bean methods without this annotation are treated as if they access the whole
+ * protocol. They are never called in parallel to other beans.
+ *
+ * @author Matthias
+ *
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+@Documented
+public @interface Dataflow {
+
+	/**
+	 * @return appendix types the bean reads from the protocol in addition to its
+	 *         parameters
+	 */
+	Class<?>[] reads() default {};
+
+	/**
+	 * @return appendix types the bean adds, removes or modifies
+	 */
+	Class<?>[] writes() default {};
+
+	/**
+	 * @return how the bean accesses the result of the protocol
+	 */
+	ResultAccess result() default ResultAccess.WRITE;
+}
@@ -44,4 +44,10 @@ import de.adesso.example.framework.core.DaisyChainDispatcher;
 @Documented
 public @interface Emulated {
 
+	/**
+	 * How the implementation of the interface should be generated.
+	 *
+	 * @return the proxy strategy
+	 */
+	ProxyStrategy proxyStrategy() default ProxyStrategy.JDK_PROXY;
 }
@@ -43,4 +43,17 @@ import java.lang.annotation.Target;
 public @interface ImplementationDefinition {
 
 	Implementation[] value();
+
+	/**
+	 * @return how the beans are executed
+	 */
+	ExecutionStrategy execution() default ExecutionStrategy.SEQUENTIAL;
+
+	/**
+	 * @return name of the {@link java.util.concurrent.Executor} bean used by
+	 *         {@link ExecutionStrategy#DATAFLOW} and by methods returning a
+	 *         {@link java.util.concurrent.CompletionStage}. If omitted, the common
+	 *         fork join pool is used.
+	 */
+	String executor() default "";
 }
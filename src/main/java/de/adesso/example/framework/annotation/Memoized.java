@@ -0,0 +1,69 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright © 2020 Matthias Brenner and Adesso SE
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the “Software”), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package de.adesso.example.framework.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares a bean method as pure over its arguments: the same arguments always
+ * lead to the same result and the same appendixes added to the protocol, and
+ * nothing else of the protocol is read or changed. The framework then caches
+ * the effect of a call by the arguments apart from the protocol. A hit sets the
+ * result and adds the appendixes to the protocol without calling the bean. The
+ * arguments have to implement equals and hashCode or
+ * {@link de.adesso.example.framework.CacheKey}.
+ * <p>
+ * The batch form of a method, see {@link BatchImplementation}, is not cached.
+ *
+ * @author Matthias
+ *
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+@Documented
+public @interface Memoized {
+
+	/**
+	 * @return maximum number of cached calls, approximately the oldest calls are
+	 *         evicted first
+	 */
+	int maximumSize() default 10_000;
+
+	/**
+	 * @return seconds a call is cached, 0 caches it until it is evicted by size or
+	 *         invalidated
+	 */
+	long timeToLive() default 0;
+
+	/**
+	 * @return tags of the changes which invalidate the cached calls, see
+	 *         {@link de.adesso.example.framework.core.ResultCacheRegistry#invalidate(String)}
+	 */
+	String[] invalidatedBy() default {};
+}
@@ -0,0 +1,60 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright © 2020 Matthias Brenner and Adesso SE
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the “Software”), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package de.adesso.example.framework.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Coalesces concurrent identical invocations of a method of an emulated
+ * interface. Invocations are identical, if their arguments apart from the
+ * protocol and the appendixes of the types listed by {@link #appendixes()} are
+ * equal, or have equal keys if they implement
+ * {@link de.adesso.example.framework.CacheKey}. While the chain is executed for
+ * the first invocation, the identical invocations wait for it. Then its result is set and the appendixes added by
+ * the chain are added to their given protocols, which are returned. If the
+ * chain fails, all waiting invocations fail with the same exception.
+ * <p>
+ * If the method is annotated with {@link CachedResult} as well, both have to
+ * declare the same appendixes, otherwise the emulation is rejected.
+ * Asynchronous methods cannot be coalesced.
+ *
+ * @author Matthias
+ *
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+@Documented
+public @interface SingleFlight {
+
+	/**
+	 * @return types of the appendixes which identify an invocation, the arguments
+	 *         only if empty
+	 */
+	Class<?>[] appendixes();
+}
@@ -0,0 +1,72 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright © 2020 Matthias Brenner and Adesso SE
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the “Software”), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package de.adesso.example.framework.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import de.adesso.example.framework.core.ParallelJoin;
+import de.adesso.example.framework.core.ParallelSplit;
+
+/**
+ * The annotation defines a split and join for an emulated method. It is
+ * executed after the beans given by {@link ImplementationDefinition}. The
+ * splitter divides the work into branches, each branch is processed by the
+ * branch method on the executor, and the joiner combines the results of the
+ * branches in the order they were split.
+ *
+ * @author Matthias
+ *
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+@Documented
+public @interface SplitJoinDefinition {
+
+	/**
+	 * @return the bean dividing the work into branches
+	 */
+	Class<? extends ParallelSplit> split();
+
+	/**
+	 * @return the bean method processing a single branch, the method identifier is
+	 *         mandatory
+	 */
+	Implementation branch();
+
+	/**
+	 * @return the bean combining the results of the branches
+	 */
+	Class<? extends ParallelJoin> join();
+
+	/**
+	 * @return name of the {@link java.util.concurrent.Executor} bean to process
+	 *         the branches. If omitted, the common fork join pool is used.
+	 */
+	String executor() default "";
+}
@@ -24,15 +24,23 @@
  */
 package de.adesso.example.framework.core;
 
+import java.io.IOException;
 import java.security.SecureRandom;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Random;
 import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.beans.factory.config.ConfigurableBeanFactory;
 import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
 import org.springframework.beans.factory.config.ConstructorArgumentValues;
 import org.springframework.beans.factory.config.RuntimeBeanReference;
+import org.springframework.beans.factory.support.AbstractBeanDefinition;
 import org.springframework.beans.factory.support.BeanDefinitionRegistry;
 import org.springframework.beans.factory.support.BeanDefinitionRegistryPostProcessor;
 import org.springframework.beans.factory.support.RootBeanDefinition;
@@ -41,6 +49,7 @@ import org.springframework.context.ApplicationContextAware;
 import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.PriorityOrdered;
+import org.springframework.core.io.Resource;
 import org.springframework.core.type.filter.AnnotationTypeFilter;
 
 import de.adesso.example.framework.annotation.Emulated;
@@ -61,7 +70,10 @@ import lombok.extern.log4j.Log4j2;
  * classes are required to initialize the AppendixRegistry.
  * <p>
  * The next task is the lookup of interfaces which need to be emulated. For all
- * of these interfaces a factory and a bean is created.
+ * of these interfaces a factory and a bean is created. If the class path
+ * contains the index written by the annotation processor at compile time, the
+ * interfaces are taken from the index instead of scanning the class path. Only
+ * class path roots without index are still scanned.
  *
  * @author Matthias
  *
@@ -73,6 +85,7 @@ public class ApplicationBeanDefinitionRegistryPostProcessor
 
 	// TODO get the basePackage from Spring
 	private static final String BASE_PACKAGE = "de.adesso.example";
+	static final String PARALLEL_STARTUP_PROPERTY = "application.framework.startup.parallel";
 
 	private ApplicationContext applicationContext;
 
@@ -120,36 +133,57 @@ public class ApplicationBeanDefinitionRegistryPostProcessor
 	@SuppressWarnings("unchecked")
 	private void prepareEmulatedInterfaces(final BeanDefinitionRegistry registry) {
 
-		for (final BeanDefinition beanDefintion : this.findEmulationInterfaces(BASE_PACKAGE)) {
-			final StringBuilder beanNameBuilder = this.firstToLower(this.beanName(beanDefintion));
+		final Map<String, Class<Object>> emulatedInterfaces = new LinkedHashMap<>();
+		for (final String interfaceName : this.findEmulationInterfaceNames(BASE_PACKAGE)) {
+			final StringBuilder beanNameBuilder = this.firstToLower(interfaceName);
 			final String factoryBeanName = beanNameBuilder.append("Factory").toString();
-			Class<Object> emulatedInterface = null;
+			if (registry.containsBeanDefinition(factoryBeanName)) {
+				continue;
+			}
 			try {
-				emulatedInterface = (Class<Object>) this.getClassLoader()
-						.loadClass(this.beanName(beanDefintion));
+				emulatedInterfaces.put(factoryBeanName, (Class<Object>) this.getClassLoader()
+						.loadClass(interfaceName));
 			} catch (final ClassNotFoundException e) {
-				throw BuilderException.classNotLoaded(this.beanName(beanDefintion), e);
+				throw BuilderException.classNotLoaded(interfaceName, e);
 			}
+		}
 
+		final ParallelEmulationBuilder parallelBuilder = this.isParallelStartup()
+				? new ParallelEmulationBuilder(emulatedInterfaces.values(),
+						new EmulationDefinitionReader(new ArgumentFactory()), ForkJoinPool.commonPool())
+				: null;
+		emulatedInterfaces.forEach((factoryBeanName, emulatedInterface) -> {
 			// factory definition
 			final RootBeanDefinition factoryBeanDefintion = this.buildFactoryDefinition(
 					emulatedInterface,
-					factoryBeanName);
+					factoryBeanName,
+					parallelBuilder);
 
 			this.registerBeanIfNotAlreadyRegistered(registry, factoryBeanName, factoryBeanDefintion);
-		}
+		});
+	}
+
+	/**
+	 * The method implementations of the emulated interfaces are read in parallel
+	 * if the property {@value #PARALLEL_STARTUP_PROPERTY} is true. The beans are
+	 * still looked up on the thread refreshing the context.
+	 */
+	private boolean isParallelStartup() {
+		return this.applicationContext.getEnvironment()
+				.getProperty(PARALLEL_STARTUP_PROPERTY, Boolean.class, Boolean.FALSE);
 	}
 
 	private RootBeanDefinition buildFactoryDefinition(
 			final Class<Object> emulatedInterface,
-			final String factoryBeanName) {
+			final String factoryBeanName,
+			final ParallelEmulationBuilder parallelBuilder) {
 
 		final RootBeanDefinition factoryBeanDefintion = new RootBeanDefinition();
 
 		factoryBeanDefintion.setAutowireMode(RootBeanDefinition.AUTOWIRE_BY_NAME);
 		factoryBeanDefintion.setBeanClass(ApplicationProxyFactory.class);
 		factoryBeanDefintion.setConstructorArgumentValues(
-				this.buildFactoryConstructorArguments(emulatedInterface));
+				this.buildFactoryConstructorArguments(emulatedInterface, parallelBuilder));
 		factoryBeanDefintion.setDescription("factory for bean " + emulatedInterface.getName());
 		factoryBeanDefintion.setRole(BeanDefinition.ROLE_INFRASTRUCTURE);
 		factoryBeanDefintion.setScope(ConfigurableBeanFactory.SCOPE_SINGLETON);
@@ -158,10 +192,14 @@ public class ApplicationBeanDefinitionRegistryPostProcessor
 		return factoryBeanDefintion;
 	}
 
-	private ConstructorArgumentValues buildFactoryConstructorArguments(final Class<Object> emulatedInterface) {
+	private ConstructorArgumentValues buildFactoryConstructorArguments(final Class<Object> emulatedInterface,
+			final ParallelEmulationBuilder parallelBuilder) {
 		final ConstructorArgumentValues constructorArgumentValues = new ConstructorArgumentValues();
 		constructorArgumentValues.addIndexedArgumentValue(0, new RuntimeBeanReference(ArgumentFactory.class));
 		constructorArgumentValues.addIndexedArgumentValue(1, emulatedInterface, "Class");
+		if (parallelBuilder != null) {
+			constructorArgumentValues.addIndexedArgumentValue(2, parallelBuilder);
+		}
 
 		return constructorArgumentValues;
 	}
@@ -174,6 +212,39 @@ public class ApplicationBeanDefinitionRegistryPostProcessor
 		}
 	}
 
+	private Set<String> findEmulationInterfaceNames(final String scanPackage) {
+		final Optional<Set<String>> index = EmulatedInterfaceIndex.read(this.getClassLoader(), scanPackage);
+		if (index.isEmpty()) {
+			return this.findEmulationInterfaces(scanPackage).stream()
+					.map(this::beanName)
+					.collect(Collectors.toCollection(TreeSet::new));
+		}
+		final Set<String> emulationInterfaceNames = index.get();
+		final Set<String> unindexedRoots = EmulatedInterfaceIndex.unindexedRoots(this.getClassLoader(),
+				scanPackage);
+		if (!unindexedRoots.isEmpty()) {
+			log.atInfo().log("scanning class path roots without index of emulated interfaces: {}", unindexedRoots);
+			this.findEmulationInterfaces(scanPackage).stream()
+					.filter(candidate -> this.isWithinRoots(candidate, unindexedRoots))
+					.map(this::beanName)
+					.forEach(emulationInterfaceNames::add);
+		}
+
+		return emulationInterfaceNames;
+	}
+
+	private boolean isWithinRoots(final BeanDefinition candidate, final Set<String> roots) {
+		final Resource resource = ((AbstractBeanDefinition) candidate).getResource();
+		try {
+			final String location = resource.getURL().toString();
+			return roots.stream().anyMatch(location::startsWith);
+		} catch (final IOException e) {
+			// keep the candidate, it is better to emulate it twice than not at all
+			log.atDebug().log("location of {} unknown: {}", resource, e.getMessage());
+			return true;
+		}
+	}
+
 	private Set<BeanDefinition> findEmulationInterfaces(final String scanPackage) {
 		final ClassPathScanningCandidateComponentProvider provider = this.createEmulationInterfaceScanner();
 		final Set<BeanDefinition> annotatedInterfaces = provider.findCandidateComponents(scanPackage);
@@ -24,11 +24,7 @@
  */
 package de.adesso.example.framework.core;
 
-import java.lang.reflect.Method;
-import java.util.ArrayList;
-import java.util.Collection;
 import java.util.List;
-import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.FactoryBean;
 import org.springframework.beans.factory.InitializingBean;
@@ -37,10 +33,7 @@ import org.springframework.context.ApplicationContextAware;
 import org.springframework.util.Assert;
 
 import de.adesso.example.framework.annotation.Emulated;
-import de.adesso.example.framework.annotation.Implementation;
-import de.adesso.example.framework.core.BeanOperation.BeanOperationBuilder;
-import de.adesso.example.framework.core.MethodImplementation.MethodImplementationBuilder;
-import de.adesso.example.framework.exception.BuilderException;
+import de.adesso.example.framework.core.EmulationStartupReport.Phase;
 import de.adesso.example.framework.exception.MissingAnnotationException;
 import lombok.NonNull;
 import lombok.extern.log4j.Log4j2;
@@ -61,14 +54,31 @@ public class ApplicationProxyFactory implements FactoryBean<Object>, Application
 
 	private final Class<Object> emulatedInterface;
 	private Object generatedEmulation;
-	private final ArgumentFactory argumentFactory;
+	private final EmulationDefinitionReader reader;
+	private final ParallelEmulationBuilder parallelBuilder;
 	private ApplicationContext applicationContext;
+	private EmulationStartupReport report;
 
 	public ApplicationProxyFactory(final ArgumentFactory argumentFactory,
 			final Class<Object> emulatedInterface) {
+		this(argumentFactory, emulatedInterface, null);
+	}
+
+	/**
+	 * Creates the factory, which takes the method implementations from the
+	 * parallel builder if it prepared the interface.
+	 *
+	 * @param argumentFactory   the factory of the arguments
+	 * @param emulatedInterface the emulated interface
+	 * @param parallelBuilder   the builder reading the interfaces in parallel, may
+	 *                          be null
+	 */
+	ApplicationProxyFactory(final ArgumentFactory argumentFactory,
+			final Class<Object> emulatedInterface, final ParallelEmulationBuilder parallelBuilder) {
 		Assert.notNull(emulatedInterface, "the emulated interface may not be null");
-		this.argumentFactory = argumentFactory;
+		this.reader = new EmulationDefinitionReader(argumentFactory);
 		this.emulatedInterface = emulatedInterface;
+		this.parallelBuilder = parallelBuilder;
 	}
 
 	@Override
@@ -79,7 +89,9 @@ public class ApplicationProxyFactory implements FactoryBean<Object>, Application
 
 	public Object getObject() throws Exception {
 		if (this.generatedEmulation == null) {
+			this.report = this.applicationContext.getBeanProvider(EmulationStartupReport.class).getIfAvailable();
 			this.generatedEmulation = this.emulateInterface(this.emulatedInterface);
+			final long start = System.nanoTime();
 			if (this.generatedEmulation instanceof ApplicationContextAware) {
 				final ApplicationContextAware aca = (ApplicationContextAware) this.generatedEmulation;
 				aca.setApplicationContext(this.applicationContext);
@@ -88,6 +100,7 @@ public class ApplicationProxyFactory implements FactoryBean<Object>, Application
 				final InitializingBean ib = (InitializingBean) this.generatedEmulation;
 				ib.afterPropertiesSet();
 			}
+			this.record(Phase.INIT, start);
 		}
 		return this.generatedEmulation;
 	}
@@ -101,67 +114,35 @@ public class ApplicationProxyFactory implements FactoryBean<Object>, Application
 
 		// initialize the factory to build the proxy
 		final DaisyChainDispatcherFactory factory = new DaisyChainDispatcherFactory(this.applicationContext)
-				.emulationInterface(interfaceType);
+				.emulationInterface(interfaceType)
+				.proxyStrategy(interfaceType.getAnnotation(Emulated.class).proxyStrategy());
 
 		// add the methods of the interface to be emulated
-		this.processAllMethods(interfaceType).stream()
+		long start = System.nanoTime();
+		this.readMethodImplementations(interfaceType)
 				.forEach(m -> factory.implementation(m));
+		this.record(Phase.METHODS, start);
 
-		return factory.build();
+		start = System.nanoTime();
+		final Object emulation = factory.build();
+		this.record(Phase.PROXY, start);
+		return emulation;
 	}
 
-	private <T> Collection<MethodImplementation> processAllMethods(final Class<T> interfaceType) {
-		final List<MethodImplementation> implementations = new ArrayList<>();
-		for (final Method m : interfaceType.getMethods()) {
-			final MethodImplementation methodEmulation = this.buildMethodEmulation(m);
-			methodEmulation.method(m);
-			implementations.add(methodEmulation);
-		}
-		return implementations;
-	}
-
-	@SuppressWarnings("unchecked")
-	private MethodImplementation buildMethodEmulation(final Method interfaceMethod) {
-		Assert.notNull(interfaceMethod, "method is mandatory argument");
-
-		final String methodName = interfaceMethod.getName();
-		final MethodImplementationBuilder miBuilder = MethodImplementation.builder()
-				.methodIdentifier(methodName);
-
-		final Implementation[] implDef = interfaceMethod.getAnnotationsByType(Implementation.class);
-		for (final Implementation implClass : implDef) {
-			final BeanOperationBuilder operationBuilder = BeanOperation.builder();
-			if (implClass.bean().isInterface()) {
-				operationBuilder.anInterface(implClass.bean());
-			} else {
-				operationBuilder.beanType((Class<Object>) implClass.bean());
+	private List<MethodImplementation> readMethodImplementations(final Class<Object> interfaceType) {
+		if (this.parallelBuilder != null) {
+			final List<MethodImplementation> prepared = this.parallelBuilder.take(interfaceType);
+			if (prepared != null) {
+				return prepared;
 			}
-			final String implMethod = implClass.method().isEmpty() ? methodName : implClass.method();
-			operationBuilder.methodIdentifier(implMethod);
-			final Method beanMethod = this.extractCorrespondingBeanMethod(implMethod, implClass.bean());
-			operationBuilder.method(beanMethod);
-
-			// found appropriate method, now instrument it
-			final List<Argument> argumentList = ParameterPosition.buildParameterList(beanMethod).stream()
-					.map(pp -> this.argumentFactory.createArgument(interfaceMethod, beanMethod, pp))
-					.collect(Collectors.toList());
-			operationBuilder.arguments(argumentList);
-			miBuilder.beanOperation(operationBuilder.build());
 		}
-		return miBuilder.build();
+		return this.reader.readMethodImplementations(interfaceType);
 	}
 
-	private Method extractCorrespondingBeanMethod(@NonNull final String methodName, @NonNull final Class<?> implClass) {
-		Method beanMethod = null;
-		for (final Method implMethod : implClass.getMethods()) {
-			if (methodName.equals(implMethod.getName())) {
-				beanMethod = implMethod;
-				return beanMethod;
-			}
+	private void record(final Phase phase, final long start) {
+		if (this.report != null) {
+			this.report.record(this.emulatedInterface, phase, System.nanoTime() - start);
 		}
-		// nothing found, basic requirement: the implementation bean provides at least
-		// one method with the same identifier
-		throw BuilderException.methodNotFound(implClass, methodName);
 	}
 
 	/**
@@ -73,6 +73,26 @@ public abstract class Argument {
 
 	protected abstract Object prepareArgument(ApplicationProtocol<?> state, Object[] args);
 
+	/**
+	 * The type of the appendixes the argument is read from.
+	 *
+	 * @return the appendix type or null if the argument is not read from the
+	 *         appendixes
+	 */
+	Class<?> getAppendixType() {
+		return null;
+	}
+
+	/**
+	 * Checks if the argument cannot be provided without an appendix of
+	 * {@link #getAppendixType()}.
+	 *
+	 * @return true if the appendix type has to be present in the protocol
+	 */
+	boolean requiresAppendix() {
+		return this.required && this.getAppendixType() != null;
+	}
+
 	/**
 	 * evaluate the parameters of the method and read the declared annotations. The
 	 * annotations influence the behavior of execution. Every specific
@@ -26,6 +26,8 @@ package de.adesso.example.framework.core;
 
 import java.lang.reflect.Method;
 import java.lang.reflect.Parameter;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -101,22 +103,19 @@ public class ArgumentFactory {
 
 		if (List.class.isAssignableFrom(parameter.getType())) {
 			// parameter class is the list, need to extract the base type
-			final String baseTypeName = parameter.getParameterizedType().getTypeName();
-			final Class<?> parameterTypeClass = this.loadTypeClass(baseTypeName);
+			final Class<?> parameterTypeClass = this.resolveTypeArgument(parameter);
 
 			return new ArgumentListFromAppendix(parameterTypeClass);
 
 		} else if (Set.class.isAssignableFrom(parameter.getType())) {
 			// parameter class is the list, need to extract the base type
-			final String baseTypeName = parameter.getParameterizedType().getTypeName();
-			final Class<?> parameterTypeClass = this.loadTypeClass(baseTypeName);
+			final Class<?> parameterTypeClass = this.resolveTypeArgument(parameter);
 
 			return new ArgumentSetFromAppendix(parameterTypeClass);
 
 		} else if (Optional.class.isAssignableFrom(parameter.getType())) {
 			// parameter class is the list, need to extract the base type
-			final String baseTypeName = parameter.getParameterizedType().getTypeName();
-			final Class<?> parameterTypeClass = this.loadTypeClass(baseTypeName);
+			final Class<?> parameterTypeClass = this.resolveTypeArgument(parameter);
 
 			return new ArgumentOptionalFromAppendix(parameterTypeClass);
 		}
@@ -125,6 +124,25 @@ public class ArgumentFactory {
 		return new ArgumentFromAppendix(parameter.getType());
 	}
 
+	/**
+	 * Resolves the type argument of a parameterized parameter type like
+	 * {@code List<Voucher>} from the generic signature. Only if the argument is not
+	 * a class, e.g. a type variable, the class is loaded by its name.
+	 */
+	private Class<?> resolveTypeArgument(final Parameter parameter) {
+		final Type parameterizedType = parameter.getParameterizedType();
+		if (parameterizedType instanceof ParameterizedType) {
+			final Type typeArgument = ((ParameterizedType) parameterizedType).getActualTypeArguments()[0];
+			if (typeArgument instanceof Class) {
+				return (Class<?>) typeArgument;
+			}
+			if (typeArgument instanceof ParameterizedType) {
+				return (Class<?>) ((ParameterizedType) typeArgument).getRawType();
+			}
+		}
+		return this.loadTypeClass(parameterizedType.getTypeName());
+	}
+
 	private Class<?> loadTypeClass(final String className) {
 		final int begin = className.indexOf('<');
 		final int end = className.indexOf('>');
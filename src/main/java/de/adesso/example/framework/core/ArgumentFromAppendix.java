@@ -24,8 +24,6 @@
  */
 package de.adesso.example.framework.core;
 
-import java.util.Optional;
-
 import de.adesso.example.framework.ApplicationProtocol;
 import lombok.NonNull;
 import lombok.ToString;
@@ -39,10 +37,15 @@ public class ArgumentFromAppendix extends Argument {
 
 	@Override
 	protected Object prepareArgument(final ApplicationProtocol<?> state, final Object[] args) {
-		final Optional<?> optionalAppendix = state.getAppendixOfClassT(this.getType());
+		final Object appendix = state.getAppendixOfClassTOrNull(this.getType());
+
+		this.validateArgument(appendix);
 
-		this.validateArgument(optionalAppendix);
+		return appendix;
+	}
 
-		return optionalAppendix.isEmpty() ? null : optionalAppendix.get();
+	@Override
+	Class<?> getAppendixType() {
+		return this.getType();
 	}
 }
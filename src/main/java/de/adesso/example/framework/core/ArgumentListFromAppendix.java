@@ -43,4 +43,15 @@ public class ArgumentListFromAppendix extends Argument {
 
 		return result;
 	}
+
+	@Override
+	Class<?> getAppendixType() {
+		return this.getType();
+	}
+
+	@Override
+	boolean requiresAppendix() {
+		// an empty collection is a valid argument unless it is required not empty
+		return this.isRequiredNotEmpty();
+	}
 }
@@ -21,4 +21,9 @@ public class ArgumentOptionalFromAppendix extends Argument {
 
 		return optionalAppendix;
 	}
+
+	@Override
+	Class<?> getAppendixType() {
+		return this.getType();
+	}
 }
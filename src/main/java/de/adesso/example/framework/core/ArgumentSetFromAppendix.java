@@ -24,8 +24,6 @@
  */
 package de.adesso.example.framework.core;
 
-import java.util.Collection;
-import java.util.HashSet;
 import java.util.Set;
 
 import de.adesso.example.framework.ApplicationProtocol;
@@ -39,10 +37,22 @@ public class ArgumentSetFromAppendix extends Argument {
 
 	@Override
 	protected Set<?> prepareArgument(final ApplicationProtocol<?> state, final Object[] args) {
-		final Collection<?> result = state.getAllAppenixesOfTypeAsSetT(this.getType());
+		// the protocol already provides a new set
+		final Set<?> result = state.getAllAppenixesOfTypeAsSetT(this.getType());
 
 		this.validateArgumentCollection(result);
 
-		return new HashSet<>(result);
+		return result;
+	}
+
+	@Override
+	Class<?> getAppendixType() {
+		return this.getType();
+	}
+
+	@Override
+	boolean requiresAppendix() {
+		// an empty collection is a valid argument unless it is required not empty
+		return this.isRequiredNotEmpty();
 	}
 }
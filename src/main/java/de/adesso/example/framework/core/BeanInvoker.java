@@ -0,0 +1,49 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright © 2020 Matthias Brenner and Adesso SE
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the “Software”), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package de.adesso.example.framework.core;
+
+/**
+ * Compiled call of a bean method. An invoker is created once during the
+ * initialization of a {@link BeanOperation} and is used for every execution of
+ * the operation afterwards. Exceptions thrown by the bean are passed through
+ * unchanged, i.e. they are not wrapped into an
+ * {@link java.lang.reflect.InvocationTargetException}.
+ *
+ * @author Matthias
+ *
+ */
+@FunctionalInterface
+interface BeanInvoker {
+
+	/**
+	 * Calls the bean method.
+	 *
+	 * @param implementation the bean to call the method on
+	 * @param arguments      the arguments of the method
+	 * @return the result of the method
+	 * @throws Exception whatever the bean method throws, errors are passed through
+	 */
+	Object invoke(Object implementation, Object[] arguments) throws Exception;
+}
@@ -0,0 +1,320 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright © 2020 Matthias Brenner and Adesso SE
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the “Software”), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package de.adesso.example.framework.core;
+
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.UndeclaredThrowableException;
+
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * Factory to create the {@link BeanInvoker} of a bean method. For a public
+ * method of a public bean the {@link LambdaMetafactory} spins a class per
+ * method which calls the bean method directly, just like the code of a lambda
+ * expression. The JIT compiles this call like any other call of the bean.
+ * <p>
+ * The spun class is defined by the loader of this factory and refers to the
+ * bean class and the parameter types by name. It is spun only if the loader of
+ * the factory resolves all of them to the same classes, otherwise the first call
+ * would fail with a {@link NoClassDefFoundError}. Beans of a child class loader,
+ * like a plugin or a reloaded module, are called by a method handle, which is
+ * bound to the class itself.
+ * <p>
+ * A method handle which is not a constant is not inlined by the JIT, so the
+ * other methods are called by a {@link MethodHandle} with the shape
+ * <code>(Object, Object[])Object</code>. The access checks are still done once
+ * during initialization and not on every call as with
+ * {@link Method#invoke(Object, Object...)}. If the method cannot be accessed by
+ * a method handle, the factory falls back to reflection.
+ *
+ * @author Matthias
+ *
+ */
+@Log4j2
+final class BeanInvokerFactory {
+
+	private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+	private static final MethodType INVOKER_TYPE = MethodType.methodType(Object.class, Object.class,
+			Object[].class);
+	private static final Class<?>[] CALL_TYPES = { Call0.class, Call1.class, Call2.class, Call3.class,
+			Call4.class, Call5.class, Call6.class };
+
+	private BeanInvokerFactory() {
+		// only static methods
+	}
+
+	/**
+	 * Creates the fastest invoker available for the method.
+	 *
+	 * @param method the bean method to be called
+	 * @return the invoker
+	 */
+	static BeanInvoker compile(final Method method) {
+		final MethodHandle handle;
+		try {
+			handle = unreflect(method);
+		} catch (IllegalAccessException | RuntimeException e) {
+			log.atDebug().log("could not create method handle for {}::{}, falling back to reflection",
+					method.getDeclaringClass().getName(), method.getName(), e);
+			return reflective(method);
+		}
+		if (isLinkable(method)) {
+			try {
+				return spin(method, handle);
+			} catch (final Exception e) {
+				log.atDebug().log("could not spin invoker for {}::{}, falling back to method handle",
+						method.getDeclaringClass().getName(), method.getName(), e);
+			}
+		}
+
+		return methodHandle(method, handle);
+	}
+
+	/**
+	 * Creates an invoker based on a {@link MethodHandle}.
+	 *
+	 * @param method the bean method to be called
+	 * @return the invoker
+	 * @throws IllegalAccessException if the method cannot be accessed
+	 */
+	static BeanInvoker methodHandle(final Method method) throws IllegalAccessException {
+		return methodHandle(method, unreflect(method));
+	}
+
+	/**
+	 * Creates an invoker based on {@link Method#invoke(Object, Object...)}.
+	 *
+	 * @param method the bean method to be called
+	 * @return the invoker
+	 */
+	static BeanInvoker reflective(final Method method) {
+		return (implementation, arguments) -> {
+			try {
+				return method.invoke(implementation, arguments);
+			} catch (final InvocationTargetException e) {
+				throw rethrow(e.getTargetException());
+			}
+		};
+	}
+
+	private static BeanInvoker methodHandle(final Method method, final MethodHandle handle) {
+		final MethodHandle target = adapt(method, handle);
+		return (implementation, arguments) -> {
+			try {
+				return (Object) target.invokeExact(implementation, arguments);
+			} catch (final Throwable e) {
+				throw rethrow(e);
+			}
+		};
+	}
+
+	/**
+	 * Checks if a spun class is able to call the method. The class is defined in
+	 * this package by the loader of the factory, so the method and all types it
+	 * refers to have to be public and visible to this loader.
+	 */
+	static boolean isLinkable(final Method method) {
+		if (Modifier.isStatic(method.getModifiers()) || !Modifier.isPublic(method.getModifiers())
+				|| method.getReturnType() == void.class || method.getParameterCount() >= CALL_TYPES.length
+				|| !isPublic(method.getDeclaringClass()) || !isVisible(method.getDeclaringClass())
+				|| !isVisible(method.getReturnType())) {
+			return false;
+		}
+		for (final Class<?> parameterType : method.getParameterTypes()) {
+			if (!isPublic(parameterType) || !isVisible(parameterType)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean isPublic(final Class<?> type) {
+		if (type.isArray()) {
+			return isPublic(type.getComponentType());
+		}
+		for (Class<?> c = type; c != null; c = c.getEnclosingClass()) {
+			if (!c.isPrimitive() && !Modifier.isPublic(c.getModifiers())) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Checks if the loader of the factory resolves the name of the type to the
+	 * type itself.
+	 */
+	private static boolean isVisible(final Class<?> type) {
+		if (type.isArray()) {
+			return isVisible(type.getComponentType());
+		}
+		if (type.isPrimitive()) {
+			return true;
+		}
+		try {
+			return Class.forName(type.getName(), false, BeanInvokerFactory.class.getClassLoader()) == type;
+		} catch (final ClassNotFoundException | LinkageError e) {
+			return false;
+		}
+	}
+
+	/**
+	 * Spins a class implementing the call interface of the arity of the method and
+	 * wraps it into an invoker spreading the arguments.
+	 */
+	private static BeanInvoker spin(final Method method, final MethodHandle handle) throws Exception {
+		final int arity = method.getParameterCount();
+		final Class<?> callType = CALL_TYPES[arity];
+		final MethodType instantiatedType = handle.type()
+				.wrap()
+				.changeReturnType(Object.class);
+		final Object call;
+		try {
+			call = LambdaMetafactory.metafactory(LOOKUP, "call", MethodType.methodType(callType),
+					MethodType.genericMethodType(arity + 1), handle, instantiatedType)
+					.getTarget()
+					.invoke();
+		} catch (final Throwable e) {
+			throw rethrow(e);
+		}
+
+		switch (arity) {
+		case 0: {
+			final Call0 c = (Call0) call;
+			return (implementation, arguments) -> c.call(implementation);
+		}
+		case 1: {
+			final Call1 c = (Call1) call;
+			return (implementation, arguments) -> c.call(implementation, arguments[0]);
+		}
+		case 2: {
+			final Call2 c = (Call2) call;
+			return (implementation, arguments) -> c.call(implementation, arguments[0], arguments[1]);
+		}
+		case 3: {
+			final Call3 c = (Call3) call;
+			return (implementation, arguments) -> c.call(implementation, arguments[0], arguments[1],
+					arguments[2]);
+		}
+		case 4: {
+			final Call4 c = (Call4) call;
+			return (implementation, arguments) -> c.call(implementation, arguments[0], arguments[1],
+					arguments[2], arguments[3]);
+		}
+		case 5: {
+			final Call5 c = (Call5) call;
+			return (implementation, arguments) -> c.call(implementation, arguments[0], arguments[1],
+					arguments[2], arguments[3], arguments[4]);
+		}
+		default: {
+			final Call6 c = (Call6) call;
+			return (implementation, arguments) -> c.call(implementation, arguments[0], arguments[1],
+					arguments[2], arguments[3], arguments[4], arguments[5]);
+		}
+		}
+	}
+
+	private static MethodHandle unreflect(final Method method) throws IllegalAccessException {
+		try {
+			return LOOKUP.unreflect(method);
+		} catch (final IllegalAccessException e) {
+			// the bean may be declared in another package but not public
+			method.setAccessible(true);
+			return LOOKUP.unreflect(method);
+		}
+	}
+
+	private static MethodHandle adapt(final Method method, final MethodHandle handle) {
+		MethodHandle target = handle;
+		if (Modifier.isStatic(method.getModifiers())) {
+			// the implementation is not needed to call a static method
+			target = MethodHandles.dropArguments(target, 0, Object.class);
+		}
+
+		return target
+				.asSpreader(Object[].class, method.getParameterCount())
+				.asType(INVOKER_TYPE);
+	}
+
+	/**
+	 * Passes errors and exceptions through unchanged. Any other throwable cannot
+	 * be thrown by compiled Java code.
+	 */
+	private static Exception rethrow(final Throwable e) {
+		if (e instanceof Error) {
+			throw (Error) e;
+		}
+		if (e instanceof Exception) {
+			return (Exception) e;
+		}
+		return new UndeclaredThrowableException(e);
+	}
+
+	// the interfaces implemented by the spun classes, one per arity
+	// -----------------------------------------------------------------------//
+
+	@FunctionalInterface
+	interface Call0 {
+		Object call(Object implementation) throws Exception;
+	}
+
+	@FunctionalInterface
+	interface Call1 {
+		Object call(Object implementation, Object a0) throws Exception;
+	}
+
+	@FunctionalInterface
+	interface Call2 {
+		Object call(Object implementation, Object a0, Object a1) throws Exception;
+	}
+
+	@FunctionalInterface
+	interface Call3 {
+		Object call(Object implementation, Object a0, Object a1, Object a2) throws Exception;
+	}
+
+	@FunctionalInterface
+	interface Call4 {
+		Object call(Object implementation, Object a0, Object a1, Object a2, Object a3) throws Exception;
+	}
+
+	@FunctionalInterface
+	interface Call5 {
+		Object call(Object implementation, Object a0, Object a1, Object a2, Object a3, Object a4)
+				throws Exception;
+	}
+
+	@FunctionalInterface
+	interface Call6 {
+		Object call(Object implementation, Object a0, Object a1, Object a2, Object a3, Object a4, Object a5)
+				throws Exception;
+	}
+}
@@ -27,7 +27,13 @@ package de.adesso.example.framework.core;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -35,9 +41,13 @@ import org.springframework.beans.BeansException;
 import org.springframework.context.ApplicationContext;
 import org.springframework.util.Assert;
 
+import de.adesso.example.framework.AppendixTypeMask;
 import de.adesso.example.framework.ApplicationProtocol;
+import de.adesso.example.framework.annotation.BatchImplementation;
 import de.adesso.example.framework.annotation.CallStrategy;
 import de.adesso.example.framework.annotation.CallingStrategy;
+import de.adesso.example.framework.annotation.Dataflow;
+import de.adesso.example.framework.annotation.Memoized;
 import de.adesso.example.framework.exception.BeanCallException;
 import de.adesso.example.framework.exception.BuilderException;
 import de.adesso.example.framework.exception.CalculationNotApplicable;
@@ -52,7 +62,8 @@ import lombok.extern.log4j.Log4j2;
 /**
  * This class describes how a method of a class should be called within the
  * framework. The requirements of the framework are that the result type is
- * {@link ApplicationProtocol}. There may be some parameters which can be given
+ * {@link ApplicationProtocol} or a {@link CompletionStage} providing it. There
+ * may be some parameters which can be given
  * from the call by {@link ArgumentFromMethod} or from the list of appendixes by
  * the class {@link ArgumentFromAppendix}.
  * <p>
@@ -102,9 +113,63 @@ public class BeanOperation {
 	 */
 	private final List<Argument> arguments;
 
+	/**
+	 * The arguments as array. The argument array of a call is filled directly from
+	 * this plan, available after initialization.
+	 */
+	@ToString.Exclude
+	private Argument[] argumentPlan;
+
+	/** Compiled call of the method, available after initialization. */
+	@ToString.Exclude
+	private BeanInvoker invoker;
+
+	/**
+	 * Appendix types the arguments cannot do without, available after
+	 * initialization.
+	 */
+	@ToString.Exclude
+	private AppendixTypeMask requiredAppendixes;
+
+	/** Optional batch form of the method, see {@link BatchImplementation}. */
+	private Method batchMethod;
+
+	/** Compiled call of the batch method, available after initialization. */
+	@ToString.Exclude
+	private BeanInvoker batchInvoker;
+
+	/** Settings of the batch form, see {@link BatchImplementation}. */
+	@ToString.Exclude
+	private BatchImplementation batchAnnotation;
+
+	/** Collects single calls for the batch method, if configured. */
+	@ToString.Exclude
+	private StepBatchCollector batchCollector;
+
+	/** The method returns a {@link CompletionStage} of the protocol. */
+	private boolean asynchronous;
+
+	/** Appendixes and result accessed, used for dataflow execution. */
+	@ToString.Exclude
+	private DataflowAccess dataflowAccess;
+
 	private CallingStrategy callStrategy;
 	private MethodImplementation methodImplementation;
 
+	/** Cache of the effects of the calls, if the method is {@link Memoized}. */
+	@ToString.Exclude
+	private StepCache stepCache;
+
+	/** Position of the protocol within the arguments, -1 if there is none. */
+	private int protocolPosition = -1;
+
+	/** Position of the operation within the method, set by initialization. */
+	private int position;
+
+	/** Counters and latencies of the calls, null if they are not recorded. */
+	@ToString.Exclude
+	private StepMetrics metrics;
+
 	@Builder
 	private BeanOperation(final String methodIdentifier, final Class<?> anInterface, final Class<Object> beanType,
 			final Object implementation, @Singular final List<Argument> arguments, final Method method) {
@@ -123,6 +188,7 @@ public class BeanOperation {
 			this.setMethodByName(this.getDescribingClass());
 		}
 		this.evaluateMethodAnnotations();
+		this.asynchronous = CompletionStage.class.isAssignableFrom(this.method.getReturnType());
 	}
 
 	/**
@@ -148,6 +214,46 @@ public class BeanOperation {
 		// provide the target position to the arguments
 		IntStream.range(0, this.arguments.size())
 				.forEach(i -> this.arguments.get(i).init(this, this.method.getParameters()[i], i));
+
+		this.argumentPlan = this.arguments.toArray(new Argument[this.arguments.size()]);
+		this.requiredAppendixes = AppendixTypeMask.of(this.arguments.stream()
+				.filter(Argument::requiresAppendix)
+				.map(Argument::getAppendixType)
+				.collect(Collectors.toList()));
+		if (this.stepCache != null) {
+			this.initStepCache();
+		}
+		// reflection is only used once to compile the call
+		this.invoker = BeanInvokerFactory.compile(this.method);
+		if (this.batchMethod != null) {
+			this.batchInvoker = BeanInvokerFactory.compile(this.batchMethod);
+			if (this.batchAnnotation.collectWindowMicros() > 0) {
+				this.initBatchCollector();
+			}
+		}
+	}
+
+	private void initBatchCollector() {
+		if (this.asynchronous) {
+			throw BuilderException.invalidBatchMethod(this.method.getDeclaringClass(), this.batchMethod.getName(),
+					"calls of asynchronous methods cannot be collected");
+		}
+		this.batchCollector = new StepBatchCollector(this.implementation, this.invoker, this.batchMethod,
+				this.batchInvoker, this.argumentPlan.length, this.batchAnnotation.maxBatchSize(),
+				this.batchAnnotation.collectWindowMicros(), TimeUnit.MICROSECONDS,
+				this.batchAnnotation.fixedWindow());
+	}
+
+	private void initStepCache() {
+		if (this.asynchronous) {
+			throw BuilderException.invalidMemoizedMethod(this.method.getDeclaringClass(), this.method.getName(),
+					"asynchronous methods cannot be memoized");
+		}
+		for (int i = 0; i < this.argumentPlan.length; i++) {
+			if (this.argumentPlan[i] instanceof ArgumentApplicationProtocol) {
+				this.protocolPosition = i;
+			}
+		}
 	}
 
 	private Object defineImplementation(
@@ -210,52 +316,326 @@ public class BeanOperation {
 	}
 
 	/**
-	 * execute the described method.
+	 * execute the described method. If the bean method is asynchronous, the call
+	 * waits for its result.
 	 *
 	 * @param state application protocol instance
 	 * @param args  arguments
 	 * @return the updated application protocol instance
 	 */
 	public ApplicationProtocol<?> execute(final ApplicationProtocol<?> state, final Object[] args) {
+		final Object result = this.call(state, args);
+		if (result instanceof CompletionStage) {
+			try {
+				return (ApplicationProtocol<?>) ((CompletionStage<?>) result).toCompletableFuture().join();
+			} catch (final CompletionException e) {
+				throw this.callFailed(e);
+			}
+		}
 
-		final Object[] methodArguments;
+		return (ApplicationProtocol<?>) result;
+	}
+
+	/**
+	 * execute the described method without waiting for the result of an
+	 * asynchronous bean method.
+	 *
+	 * @param state application protocol instance
+	 * @param args  arguments
+	 * @return the stage providing the updated application protocol instance
+	 */
+	CompletionStage<ApplicationProtocol<?>> executeAsync(final ApplicationProtocol<?> state, final Object[] args) {
+		final Object result = this.call(state, args);
+		if (result instanceof CompletionStage) {
+			return ((CompletionStage<?>) result).handle((protocol, e) -> {
+				if (e != null) {
+					throw this.callFailed(e);
+				}
+				return (ApplicationProtocol<?>) protocol;
+			});
+		}
+
+		return CompletableFuture.completedFuture((ApplicationProtocol<?>) result);
+	}
+
+	/**
+	 * Calls the bean method.
+	 *
+	 * @param state application protocol instance
+	 * @param args  arguments
+	 * @return the result of the bean method or the unchanged state, if the bean
+	 *         is not called
+	 */
+	private Object call(final ApplicationProtocol<?> state, final Object[] args) {
+		final BeanOperationEvent event = new BeanOperationEvent();
+		event.begin();
+		final Object[] methodArguments = this.prepareCall(state, args);
+		if (methodArguments == null) {
+			this.recordSkip();
+			this.commit(event, state, true, false);
+			return state;
+		}
+
+		if (this.stepCache != null) {
+			return this.callMemoized(state, methodArguments, event);
+		}
+		final long start = System.nanoTime();
+		final Object result;
 		try {
-			methodArguments = this.prepareArguments(state, args);
+			result = this.invoke(methodArguments);
+		} catch (final Exception e) {
+			this.recordInvocation(start, false);
+			this.commit(event, state, false, true);
+			throw this.callFailed(e);
+		}
+		if (result instanceof CompletionStage && (this.metrics != null || event.isEnabled())) {
+			// the latency of an asynchronous bean lasts until its result is available
+			return ((CompletionStage<?>) result).whenComplete((r, e) -> {
+				this.recordInvocation(start, e == null);
+				this.commit(event, state, false, e != null);
+			});
+		}
+		this.recordInvocation(start, true);
+		this.commit(event, state, false, false);
+		return result;
+	}
+
+	/**
+	 * Calls a memoized bean method. The effect of the call is taken from the cache.
+	 * If it is not cached, the bean is called with an empty protocol and the
+	 * resulting protocol is cached. The effect is then applied to the given
+	 * protocol.
+	 *
+	 * @param state           application protocol instance
+	 * @param methodArguments the prepared arguments
+	 * @param event           the started flight recorder event
+	 * @return the given protocol
+	 */
+	private Object callMemoized(final ApplicationProtocol<?> state, final Object[] methodArguments,
+			final BeanOperationEvent event) {
+		final List<Object> key = this.cacheKey(methodArguments);
+		ApplicationProtocol<?> effect = this.stepCache.get(key);
+		event.cacheHit = effect != null;
+		if (effect == null) {
+			if (this.protocolPosition >= 0) {
+				methodArguments[this.protocolPosition] = new ApplicationProtocol<>();
+			}
+			final long start = System.nanoTime();
+			final Object result;
+			try {
+				result = this.invoke(methodArguments);
+			} catch (final Exception e) {
+				this.recordInvocation(start, false);
+				this.commit(event, state, false, true);
+				throw this.callFailed(e);
+			}
+			this.recordInvocation(start, true);
+			// the copy freezes the appendixes, thus the effect can be shared by all threads
+			effect = result != null ? ((ApplicationProtocol<?>) result).copy() : new ApplicationProtocol<>();
+			this.stepCache.put(key, effect);
+		}
+		this.replay(effect, state);
+		this.commit(event, state, false, false);
+		return state;
+	}
+
+	/**
+	 * Invokes the bean method, or collects the call for the batch method if
+	 * configured.
+	 */
+	private Object invoke(final Object[] methodArguments) throws Exception {
+		if (this.batchCollector != null) {
+			return this.batchCollector.invoke(methodArguments);
+		}
+		return this.invoker.invoke(this.implementation, methodArguments);
+	}
+
+	private List<Object> cacheKey(final Object[] methodArguments) {
+		final Object[] key = new Object[this.protocolPosition < 0 ? methodArguments.length
+				: methodArguments.length - 1];
+		int k = 0;
+		for (int i = 0; i < methodArguments.length; i++) {
+			if (i != this.protocolPosition) {
+				key[k++] = InvocationKey.keyOf(methodArguments[i]);
+			}
+		}
+		return Arrays.asList(key);
+	}
+
+	@SuppressWarnings("unchecked")
+	private void replay(final ApplicationProtocol<?> effect, final ApplicationProtocol<?> state) {
+		if (effect.getResult() != null) {
+			((ApplicationProtocol<Object>) state).setResult(effect.getResult());
+		}
+		state.addAppendixesOf(effect);
+	}
+
+	/**
+	 * Commits the flight recorder event. The fields are only filled, if the event
+	 * is recorded.
+	 */
+	private void commit(final BeanOperationEvent event, final ApplicationProtocol<?> state, final boolean skipped,
+			final boolean failed) {
+		if (!event.shouldCommit()) {
+			return;
+		}
+		if (this.methodImplementation != null) {
+			final Class<?> emulatedInterface = this.methodImplementation.getEmulatedInterface();
+			event.emulatedInterface = emulatedInterface != null ? emulatedInterface.getName() : null;
+			event.method = this.methodImplementation.getMethodIdentifier();
+		}
+		event.bean = this.beanType.getName();
+		event.beanMethod = this.method.getName();
+		event.step = this.position;
+		event.skipped = skipped;
+		event.failed = failed;
+		event.appendixes = state.getNumberOfAppendixes();
+		event.commit();
+	}
+
+	/**
+	 * Sets the position of the operation within the method.
+	 *
+	 * @param position the position starting with 0
+	 */
+	void position(final int position) {
+		this.position = position;
+	}
+
+	/**
+	 * Sets the metrics the calls are recorded to.
+	 *
+	 * @param metrics the metrics of this step
+	 */
+	void metrics(final StepMetrics metrics) {
+		this.metrics = metrics;
+	}
+
+	private void recordSkip() {
+		if (this.metrics != null) {
+			this.metrics.recordSkip();
+		}
+	}
+
+	private void recordInvocation(final long start, final boolean succeeded) {
+		if (this.metrics != null) {
+			this.metrics.recordInvocation(start, succeeded);
+		}
+	}
+
+	/**
+	 * Prepares the arguments of a call according to the calling strategy.
+	 *
+	 * @param state application protocol instance
+	 * @param args  arguments
+	 * @return the arguments of the bean method or null, if the bean is not called
+	 */
+	private Object[] prepareCall(final ApplicationProtocol<?> state, final Object[] args) {
+		if (this.callStrategy != CallingStrategy.EAGER && !state.containsAppendixTypes(this.requiredAppendixes)) {
+			// a required appendix is missing, skip the bean without raising an exception
+			return null;
+		}
+		try {
+			return this.prepareArguments(state, args);
 		} catch (final RequiredParameterException e) {
 			if (this.callStrategy == CallingStrategy.EAGER) {
 				throw BeanCallException.callFailedMissingParameter(this.implementation.getClass(), this.method,
 						e.getMethod());
 			}
-			return state;
+			return null;
 		} catch (final CalculationNotApplicable e) {
 			if (this.callStrategy == CallingStrategy.EAGER) {
 				throw BeanCallException.callFailedOnStrategy(this.implementation.getClass(), this.method);
 			}
-			return state; // bean has to be called, if required parameters are present
+			return null; // bean has to be called, if required parameters are present
 		}
+	}
 
-		ApplicationProtocol<?> result = null;
-		try {
-			result = (ApplicationProtocol<?>) this.method.invoke(this.implementation, methodArguments);
+	/**
+	 * Executes the described method for several items. If the bean provides a
+	 * batch method, it is called once with the items the bean is called for.
+	 * Otherwise the bean is called item by item.
+	 *
+	 * @param states the protocol of each item
+	 * @param args   the arguments of each item
+	 * @return the updated protocol of each item
+	 */
+	List<ApplicationProtocol<?>> executeBatch(final List<ApplicationProtocol<?>> states, final List<Object[]> args) {
+		final List<ApplicationProtocol<?>> results = new ArrayList<>(states);
+		if (this.batchInvoker == null) {
+			for (int i = 0; i < states.size(); i++) {
+				results.set(i, MethodImplementation.executeOperation(this, states.get(i), args.get(i)));
+			}
+			return results;
+		}
 
-		} catch (IllegalAccessException | IllegalArgumentException e) {
-			final String message = String.format("could not invoke configured target bean (%s::%s)",
-					this.implementation.getClass().getName(), this.method.getName());
-			log.atError().log(message, e);
-			throw new ClassCastException(message);
-		} catch (final InvocationTargetException e) {
-			final Throwable targetException = e.getTargetException();
-			throw BeanCallException.callFailedWithException(this.implementation.getClass(), this.method,
-					targetException);
+		// one list per parameter, items which are not called are left out
+		final List<List<Object>> batchArguments = new ArrayList<>(this.argumentPlan.length);
+		for (int p = 0; p < this.argumentPlan.length; p++) {
+			batchArguments.add(new ArrayList<>(states.size()));
+		}
+		final int[] calledItems = new int[states.size()];
+		int numberOfCalls = 0;
+		for (int i = 0; i < states.size(); i++) {
+			final Object[] methodArguments = this.prepareCall(states.get(i), args.get(i));
+			if (methodArguments != null) {
+				for (int p = 0; p < methodArguments.length; p++) {
+					batchArguments.get(p).add(methodArguments[p]);
+				}
+				calledItems[numberOfCalls++] = i;
+			} else {
+				this.recordSkip();
+			}
+		}
+		if (numberOfCalls == 0) {
+			return results;
 		}
 
-		return result;
+		// the batch call is recorded as one invocation
+		final long start = System.nanoTime();
+		final Object result;
+		try {
+			result = this.batchInvoker.invoke(this.implementation, batchArguments.toArray());
+			this.recordInvocation(start, true);
+		} catch (final Exception e) {
+			this.recordInvocation(start, false);
+			throw BeanCallException.callFailedWithException(this.implementation.getClass(), this.batchMethod, e);
+		}
+		final List<?> batchResults = (List<?>) result;
+		if (batchResults == null || batchResults.size() != numberOfCalls) {
+			throw BeanCallException.batchResultMismatch(this.implementation.getClass(), this.batchMethod,
+					numberOfCalls, batchResults == null ? 0 : batchResults.size());
+		}
+		for (int c = 0; c < numberOfCalls; c++) {
+			results.set(calledItems[c], (ApplicationProtocol<?>) batchResults.get(c));
+		}
+
+		return results;
 	}
 
-	private Object[] prepareArguments(final ApplicationProtocol<?> state, final Object[] args) {
-		final Object[] result = this.arguments.stream()
-				.map(a -> a.prepareArgument(state, args))
-				.collect(Collectors.toList()).toArray();
+	private BeanCallException callFailed(final Throwable e) {
+		final Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+		if (cause instanceof BeanCallException) {
+			return (BeanCallException) cause;
+		}
+		return BeanCallException.callFailedWithException(this.implementation.getClass(), this.method, cause);
+	}
+
+	/**
+	 * Fills the arguments of the bean call. Apart from the array itself and what
+	 * the arguments have to create (e.g. lists of appendixes), nothing is
+	 * allocated.
+	 *
+	 * @param state the application protocol
+	 * @param args  the arguments of the emulated method call
+	 * @return the arguments of the bean method
+	 */
+	Object[] prepareArguments(final ApplicationProtocol<?> state, final Object[] args) {
+		final Argument[] plan = this.argumentPlan;
+		final Object[] result = new Object[plan.length];
+		for (int i = 0; i < plan.length; i++) {
+			result[i] = plan[i].prepareArgument(state, args);
+		}
 
 		return result;
 	}
@@ -296,6 +676,30 @@ public class BeanOperation {
 		if (strategyAnnotation != null) {
 			this.callStrategy = strategyAnnotation.strategy();
 		}
+		this.dataflowAccess = DataflowAccess.of(this.method.getDeclaredAnnotation(Dataflow.class), this.arguments);
+		this.stepCache = StepCache.of(this.method.getDeclaredAnnotation(Memoized.class));
+		this.batchAnnotation = this.method.getDeclaredAnnotation(BatchImplementation.class);
+		if (this.batchAnnotation != null) {
+			this.batchMethod = this.lookupBatchMethod(this.batchAnnotation.method());
+		}
+	}
+
+	private Method lookupBatchMethod(final String batchMethodName) {
+		final Class<?> beanClass = this.method.getDeclaringClass();
+		// every parameter is a list
+		final Class<?>[] parameterTypes = new Class<?>[this.method.getParameterCount()];
+		Arrays.fill(parameterTypes, List.class);
+		final Method lookedUpMethod;
+		try {
+			lookedUpMethod = beanClass.getMethod(batchMethodName, parameterTypes);
+		} catch (final NoSuchMethodException e) {
+			throw BuilderException.methodNotFound(beanClass, batchMethodName, e);
+		}
+		if (!List.class.isAssignableFrom(lookedUpMethod.getReturnType())) {
+			throw BuilderException.invalidBatchMethod(beanClass, batchMethodName, "the result has to be a list");
+		}
+
+		return lookedUpMethod;
 	}
 
 	private Class<?>[] argumentTypes(final List<Argument> arguments) {
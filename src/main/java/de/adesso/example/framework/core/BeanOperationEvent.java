@@ -0,0 +1,79 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright © 2020 Matthias Brenner and Adesso SE
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the “Software”), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package de.adesso.example.framework.core;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event of a step of an emulated method, thus of the call of a
+ * bean by a {@link BeanOperation}. For asynchronous beans the event ends when
+ * the result of the bean is available.
+ *
+ * @author Matthias
+ *
+ */
+@Name("de.adesso.example.framework.BeanOperation")
+@Label("Bean Operation")
+@Description("Call of a bean implementing a step of an emulated method")
+@Category({ "Application Framework" })
+@StackTrace(false)
+class BeanOperationEvent extends Event {
+
+	@Label("Interface")
+	String emulatedInterface;
+
+	@Label("Method")
+	String method;
+
+	@Label("Bean")
+	String bean;
+
+	@Label("Bean Method")
+	String beanMethod;
+
+	@Label("Step")
+	@Description("Position of the bean operation within the method")
+	int step;
+
+	@Label("Skipped")
+	@Description("The bean was not called, because a required parameter is missing")
+	boolean skipped;
+
+	@Label("Failed")
+	boolean failed;
+
+	@Label("Cache Hit")
+	@Description("The effect of a memoized bean was taken from the cache")
+	boolean cacheHit;
+
+	@Label("Appendixes")
+	@Description("Number of appendixes of the protocol when the bean is called")
+	int appendixes;
+}
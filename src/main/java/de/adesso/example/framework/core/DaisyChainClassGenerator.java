@@ -0,0 +1,160 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright © 2020 Matthias Brenner and Adesso SE
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the “Software”), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package de.adesso.example.framework.core;
+
+import java.lang.reflect.Method;
+
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.cglib.proxy.Callback;
+import org.springframework.cglib.proxy.CallbackFilter;
+import org.springframework.cglib.proxy.Enhancer;
+import org.springframework.cglib.proxy.InvocationHandler;
+import org.springframework.cglib.proxy.NoOp;
+import org.springframework.context.ApplicationContextAware;
+
+import lombok.AllArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * Generates a class implementing the emulated interface. This is the
+ * alternative to the {@link java.lang.reflect.Proxy} created by
+ * {@link DaisyChainDispatcherFactory}. Each method of the generated class calls
+ * its own callback which holds the {@link MethodImplementation} of the method.
+ * So the emulated method is determined once during generation of the class and
+ * not on every call.
+ * <p>
+ * The state of the emulation is still kept by the {@link DaisyChainDispatcher}.
+ *
+ * @author Matthias
+ *
+ */
+@Log4j2
+final class DaisyChainClassGenerator {
+
+	private static final int OBJECT_METHOD = 0;
+	private static final int STANDARD_METHOD = 1;
+	private static final int UNKNOWN_METHOD = 2;
+	private static final int FIRST_EMULATED_METHOD = 3;
+
+	private DaisyChainClassGenerator() {
+		// only static methods
+	}
+
+	/**
+	 * Generates the class and creates an instance of it.
+	 *
+	 * @param classLoader the class loader to define the class in
+	 * @param dispatcher  the dispatcher holding the emulated methods
+	 * @return the instance implementing the emulated interface
+	 */
+	static Object generate(final ClassLoader classLoader, final DaisyChainDispatcher dispatcher) {
+		final Class<?> implementationInterface = dispatcher.getImplementationInterface();
+		final MethodImplementation[] emulateMethods = dispatcher.getEmulateMethods();
+
+		// one callback per method ordinal, methods without implementation are unknown
+		final Callback[] callbacks = new Callback[FIRST_EMULATED_METHOD + emulateMethods.length];
+		callbacks[OBJECT_METHOD] = NoOp.INSTANCE;
+		callbacks[STANDARD_METHOD] = new StandardMethod(dispatcher);
+		final UnknownMethod unknownMethod = new UnknownMethod(implementationInterface);
+		callbacks[UNKNOWN_METHOD] = unknownMethod;
+		for (int ordinal = 0; ordinal < emulateMethods.length; ordinal++) {
+			callbacks[FIRST_EMULATED_METHOD + ordinal] = emulateMethods[ordinal] != null
+					? new EmulatedMethod(dispatcher, emulateMethods[ordinal])
+					: unknownMethod;
+		}
+
+		final Enhancer enhancer = new Enhancer();
+		enhancer.setClassLoader(classLoader);
+		enhancer.setInterfaces(new Class[] {
+				implementationInterface, ApplicationContextAware.class, InitializingBean.class });
+		enhancer.setCallbackFilter(new EmulationCallbackFilter(dispatcher));
+		enhancer.setCallbacks(callbacks);
+		// the callback indexes are specific to the dispatcher, the class cannot be
+		// shared
+		enhancer.setUseCache(false);
+
+		final Object emulation = enhancer.create();
+		log.atDebug().log("generated class {} for interface {}", emulation.getClass().getName(),
+				implementationInterface.getName());
+
+		return emulation;
+	}
+
+	@AllArgsConstructor
+	private static class EmulationCallbackFilter implements CallbackFilter {
+
+		private final DaisyChainDispatcher dispatcher;
+
+		@Override
+		public int accept(final Method method) {
+			if (this.dispatcher.isStandardMethod(method)) {
+				return STANDARD_METHOD;
+			}
+			if (method.getDeclaringClass() == Object.class) {
+				return OBJECT_METHOD;
+			}
+			final int ordinal = this.dispatcher.ordinalOf(method);
+			return ordinal < 0 ? UNKNOWN_METHOD : FIRST_EMULATED_METHOD + ordinal;
+		}
+	}
+
+	@AllArgsConstructor
+	private static class EmulatedMethod implements InvocationHandler {
+
+		private final DaisyChainDispatcher dispatcher;
+		private final MethodImplementation implementation;
+
+		@Override
+		public Object invoke(final Object proxy, final Method method, final Object[] args) {
+			return this.dispatcher.emulate(this.implementation, args);
+		}
+	}
+
+	@AllArgsConstructor
+	private static class StandardMethod implements InvocationHandler {
+
+		private final DaisyChainDispatcher dispatcher;
+
+		@Override
+		public Object invoke(final Object proxy, final Method method, final Object[] args) throws Exception {
+			return this.dispatcher.handleStandardMethod(proxy, method, args);
+		}
+	}
+
+	@AllArgsConstructor
+	private static class UnknownMethod implements InvocationHandler {
+
+		private final Class<?> implementationInterface;
+
+		@Override
+		public Object invoke(final Object proxy, final Method method, final Object[] args) {
+			// there is no implementation, therefore this method is not provided.
+			log.atWarn().log("no implementation for interface {}::method {}",
+					this.implementationInterface.getName(),
+					method.getName());
+			return null;
+		}
+	}
+}
@@ -26,8 +26,12 @@ package de.adesso.example.framework.core;
 
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 
 import org.springframework.beans.BeansException;
@@ -52,6 +56,14 @@ import lombok.extern.log4j.Log4j2;
  * <p>
  * The class implements the InvocationHandler (from reflection) to be able to
  * implement an interface provided during initialization.
+ * <p>
+ * Each method of the interface has an ordinal. The implementations are kept in
+ * an array indexed by the ordinal. So overloaded methods have their own
+ * implementation and the dispatch of a call is resolved once per method. The
+ * proxy passes the same {@link Method} instance on every call of a method, so
+ * the ordinal is looked up by the identity of the instance. Neither
+ * {@link Method#equals(Object)} nor the check for standard methods by name is
+ * executed after the first call of a method.
  *
  * @author Matthias
  *
@@ -60,16 +72,38 @@ import lombok.extern.log4j.Log4j2;
 @Getter(value = AccessLevel.PACKAGE)
 public class DaisyChainDispatcher implements InvocationHandler {
 
+	private static final int UNKNOWN_METHOD = -1;
+	private static final int STANDARD_METHOD = -2;
+
 	private final Class<?> implementationInterface;
-	private final Map<String, MethodImplementation> emulateMethods;
+	/** methods of the interface, the position is the ordinal of the method */
+	private final Method[] interfaceMethods;
+	/** implementations indexed by the ordinal, null if not implemented */
+	private final MethodImplementation[] emulateMethods;
+	/** ordinals of the interface methods */
+	private final Map<Method, Integer> ordinals = new HashMap<>();
 	private final Set<String> standardMethods = new HashSet<>();
+	/**
+	 * ordinals or {@link #STANDARD_METHOD} by method instance, replaced when a new
+	 * instance is resolved
+	 */
+	private volatile Map<Method, Integer> dispatchOrdinals;
 	private ApplicationContext applicationContext;
 
-	DaisyChainDispatcher(final Class<?> implementationInterface,
-			final Map<String, MethodImplementation> emulateMethods) {
+	DaisyChainDispatcher(final Class<?> implementationInterface, final Method[] interfaceMethods,
+			final MethodImplementation[] emulateMethods) {
 		this.implementationInterface = implementationInterface;
+		this.interfaceMethods = interfaceMethods;
 		this.emulateMethods = emulateMethods;
+		for (int i = 0; i < interfaceMethods.length; i++) {
+			this.ordinals.put(interfaceMethods[i], i);
+		}
 		this.fillStandardMethods();
+		final Map<Method, Integer> dispatchOrdinals = new IdentityHashMap<>();
+		for (final Method method : interfaceMethods) {
+			dispatchOrdinals.put(method, this.resolve(method));
+		}
+		this.dispatchOrdinals = dispatchOrdinals;
 	}
 
 	/**
@@ -80,16 +114,19 @@ public class DaisyChainDispatcher implements InvocationHandler {
 	 * instance is used. Otherwise a new object is created. The
 	 * {@link ApplicationProtocol} is provided to the implementation beans as last
 	 * parameter. The bean provides the updated protocol as return value. The
-	 * protocol structure also contains the calculation result.
+	 * protocol structure also contains the calculation result. If the method
+	 * returns a {@link java.util.concurrent.CompletionStage}, the future of the
+	 * protocol is returned immediately.
 	 */
 	@Override
 	public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
 
-		if (this.isStandardMethod(method)) {
+		final int ordinal = this.dispatchOrdinal(method);
+		if (ordinal == STANDARD_METHOD) {
 			return this.handleStandardMethod(proxy, method, args);
 		}
 		// get the implementation
-		final MethodImplementation implementation = this.emulateMethods.get(method.getName());
+		final MethodImplementation implementation = ordinal < 0 ? null : this.emulateMethods[ordinal];
 		if (implementation == null) {
 			// there is no implementation, therefore this method is not provided.
 			log.atWarn().log("no implementation for interface {}::method {}",
@@ -98,13 +135,82 @@ public class DaisyChainDispatcher implements InvocationHandler {
 			return null;
 		}
 
+		return this.emulate(implementation, args);
+	}
+
+	/**
+	 * Executes the emulated method. This is the common part of the call for every
+	 * kind of generated implementation.
+	 *
+	 * @param implementation the description of the emulated method
+	 * @param args           the arguments of the call
+	 * @return the resulting protocol, for asynchronous methods the future
+	 *         providing it and for batch methods the list of protocols
+	 */
+	Object emulate(final MethodImplementation implementation, final Object[] args) {
+		final DispatchEvent event = new DispatchEvent();
+		event.begin();
 		// get the protocol
-		ApplicationProtocol<?> state = this.createOrExtractProtocolFrom(args);
+		final ApplicationProtocol<?> state = this.createOrExtractProtocolFrom(args);
+		if (event.isEnabled()) {
+			event.emulatedInterface = this.implementationInterface.getName();
+			event.method = implementation.getMethodIdentifier();
+			event.batch = implementation.isBatch();
+			event.asynchronous = implementation.isAsynchronous();
+			event.appendixes = state.getNumberOfAppendixes();
+		}
 
 		// execute the emulation
-		state = implementation.execute(state, args);
+		try {
+			if (implementation.isBatch()) {
+				return implementation.emulateBatch(state, args);
+			}
+			if (implementation.isAsynchronous()) {
+				return implementation.executeAsync(state, args);
+			}
+			return implementation.execute(state, args);
+		} finally {
+			event.commit();
+		}
+	}
 
-		return state;
+	/**
+	 * Determines the ordinal of a method of the emulated interface.
+	 *
+	 * @param method the method of the interface
+	 * @return the ordinal or -1 if the method is not part of the interface
+	 */
+	int ordinalOf(final Method method) {
+		final Integer ordinal = this.ordinals.get(method);
+		return ordinal != null ? ordinal : -1;
+	}
+
+	/**
+	 * Determines how a call of the method instance is dispatched. The instances
+	 * passed by the proxy are resolved on their first call.
+	 *
+	 * @param method the method called on the proxy
+	 * @return the ordinal, {@link #STANDARD_METHOD} or {@link #UNKNOWN_METHOD}
+	 */
+	int dispatchOrdinal(final Method method) {
+		final Integer ordinal = this.dispatchOrdinals.get(method);
+		if (ordinal != null) {
+			return ordinal;
+		}
+		final int resolved = this.resolve(method);
+		// copy on write, the map is read without lock
+		final Map<Method, Integer> dispatchOrdinals = new IdentityHashMap<>(this.dispatchOrdinals);
+		dispatchOrdinals.put(method, resolved);
+		this.dispatchOrdinals = dispatchOrdinals;
+		return resolved;
+	}
+
+	private int resolve(final Method method) {
+		if (this.isStandardMethod(method)) {
+			return STANDARD_METHOD;
+		}
+		final int ordinal = this.ordinalOf(method);
+		return ordinal < 0 ? UNKNOWN_METHOD : ordinal;
 	}
 
 	private void fillStandardMethods() {
@@ -114,11 +220,11 @@ public class DaisyChainDispatcher implements InvocationHandler {
 		this.standardMethods.add("hashCode");
 	}
 
-	private boolean isStandardMethod(final Method method) {
+	boolean isStandardMethod(final Method method) {
 		return this.standardMethods.contains(method.getName());
 	}
 
-	private Object handleStandardMethod(final Object proxy, final Method method, final Object[] args) throws Exception {
+	Object handleStandardMethod(final Object proxy, final Method method, final Object[] args) throws Exception {
 
 		if (method.getName().equals("toString")) {
 			return this.implementationInterface.getName() + " implemented by proxy";
@@ -154,7 +260,8 @@ public class DaisyChainDispatcher implements InvocationHandler {
 	}
 
 	private void afterPropertiesSet() throws Exception {
-		this.emulateMethods.values().stream()
+		Arrays.stream(this.emulateMethods)
+				.filter(Objects::nonNull)
 				.forEach(m -> m.init(this, this.applicationContext));
 	}
 
@@ -25,16 +25,22 @@
 package de.adesso.example.framework.core;
 
 import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Proxy;
+import java.lang.reflect.Type;
 import java.util.Arrays;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Comparator;
+import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
 
+import de.adesso.example.framework.annotation.BatchOf;
+import de.adesso.example.framework.annotation.ProxyStrategy;
+import de.adesso.example.framework.exception.BuilderException;
 import de.adesso.example.framework.exception.UnknownMethodException;
 import lombok.extern.log4j.Log4j2;
 
@@ -45,7 +51,8 @@ import lombok.extern.log4j.Log4j2;
  * probably different business domains. They are invoked if the required
  * parameters are available.
  * <p>
- * The emulation is achieved via an invocation handler and a proxy. The calls to
+ * The emulation is achieved via an invocation handler and a proxy or via a
+ * generated class, see {@link ProxyStrategy}. The calls to
  * the provided implementations are described by {@link MethodImplementation},
  * {@link BeanOperation} and {@link Argument}.
  * <p>
@@ -57,10 +64,13 @@ import lombok.extern.log4j.Log4j2;
 @Log4j2
 public class DaisyChainDispatcherFactory {
 
-	private final Map<String, MethodImplementation> emulateMethods = new HashMap<>();
+	/** implementations indexed by the ordinal of the interface method */
+	private MethodImplementation[] emulateMethods = new MethodImplementation[0];
 	private Class<?> implementationInterface;
-	private Map<String, Method> interfaceMethods = new HashMap<>();
+	/** methods of the interface, the position is the ordinal of the method */
+	private Method[] interfaceMethods = new Method[0];
 	private final ClassLoader classLoader;
+	private ProxyStrategy proxyStrategy = ProxyStrategy.JDK_PROXY;
 
 	public DaisyChainDispatcherFactory(final ApplicationContext applicationContext) {
 		this.classLoader = applicationContext.getClassLoader();
@@ -85,7 +95,7 @@ public class DaisyChainDispatcherFactory {
 					"Implementation is required to be an interface: " + anInterface.getClass().getName());
 		}
 		// validate the state
-		if (this.emulateMethods.size() != 0) {
+		if (Arrays.stream(this.emulateMethods).anyMatch(m -> m != null)) {
 			final String message = "wrong ordering of calls, implementation is not empty";
 			log.atError().log(message);
 			throw new IllegalStateException(message);
@@ -93,42 +103,152 @@ public class DaisyChainDispatcherFactory {
 
 		// set the interface
 		this.implementationInterface = anInterface;
-		// save the contained methods of the interface
-		this.interfaceMethods = Arrays.asList(anInterface.getDeclaredMethods())
-				.stream()
-				.collect(Collectors.toMap(Method::getName, m -> m));
+		// save the contained methods of the interface, the ordering is stable
+		// overloaded methods are distinguished by their parameter types
+		this.interfaceMethods = Arrays.stream(anInterface.getDeclaredMethods())
+				.sorted(Comparator.comparing(Method::getName)
+						.thenComparing(m -> Arrays.toString(m.getParameterTypes())))
+				.toArray(Method[]::new);
+		this.emulateMethods = new MethodImplementation[this.interfaceMethods.length];
 		return this;
 	}
 
 	/**
 	 * With help of this method, the emulation of the interface method is generated.
 	 * The information will be used by the dispatcher to emulate the functionality
+	 * <p>
+	 * If the method of the implementation is already set, it defines the emulated
+	 * method. This is required for overloaded methods. Otherwise the method is
+	 * looked up by the method identifier.
 	 *
 	 * @param implementation implementation description of a method
 	 * @return the factory itself for chained construction
 	 * @throws UnknownMethodException if the implementation describes a method which
-	 *                                is not part of the implementation interface
+	 *                                is not part of the implementation interface or
+	 *                                the method identifier is ambiguous
 	 */
 	public DaisyChainDispatcherFactory implementation(final MethodImplementation implementation) {
-		// validate the operation
-		if (!this.interfaceMethods.containsKey(implementation.getMethodIdentifier())) {
+		final int ordinal = this.ordinalOf(implementation.getMethod(), implementation.getMethodIdentifier());
+		// provide the reflective method to the implementation
+		implementation.method(this.interfaceMethods[ordinal]);
+
+		// keep the implementation
+		this.emulateMethods[ordinal] = implementation;
+		return this;
+	}
+
+	private int ordinalOf(final Method method, final String methodIdentifier) {
+		final List<Integer> candidates = IntStream.range(0, this.interfaceMethods.length)
+				.filter(i -> method != null
+						? this.interfaceMethods[i].equals(method)
+						: this.interfaceMethods[i].getName().equals(methodIdentifier))
+				.boxed()
+				.collect(Collectors.toList());
+		if (candidates.isEmpty()) {
 			final String message = "cannot emulate methods not provided by the interface to be implemented";
 			log.atError().log(message);
 			throw new UnknownMethodException(message);
 		}
-		// provide the reflective method to the implementation
-		implementation.method(this.interfaceMethods.get(implementation.getMethodIdentifier()));
+		if (candidates.size() > 1) {
+			final String message = String.format(
+					"method %s is overloaded, the method of the implementation has to be provided",
+					methodIdentifier);
+			log.atError().log(message);
+			throw new UnknownMethodException(message);
+		}
 
-		// keep the implementation
-		this.emulateMethods.put(implementation.getMethodIdentifier(), implementation);
+		return candidates.get(0);
+	}
+
+	/**
+	 * Binds the methods annotated by {@link BatchOf} to the implementation of the
+	 * method they are the batch form of.
+	 */
+	private void bindBatchMethods() {
+		for (int ordinal = 0; ordinal < this.interfaceMethods.length; ordinal++) {
+			final Method batchMethod = this.interfaceMethods[ordinal];
+			final BatchOf batchOf = batchMethod.getAnnotation(BatchOf.class);
+			if (batchOf == null || this.emulateMethods[ordinal] != null) {
+				continue;
+			}
+			final int batchParameter = this.batchParameterOf(batchMethod);
+			if (!List.class.isAssignableFrom(batchMethod.getReturnType())) {
+				throw BuilderException.invalidBatchMethod(this.implementationInterface, batchMethod.getName(),
+						"the result has to be a list");
+			}
+
+			// the single method has the item type instead of the list
+			final Class<?>[] parameterTypes = batchMethod.getParameterTypes();
+			parameterTypes[batchParameter] = this.itemTypeOf(batchMethod, batchParameter);
+			final MethodImplementation single;
+			try {
+				final Method singleMethod = this.implementationInterface.getMethod(batchOf.value(), parameterTypes);
+				single = this.emulateMethods[this.ordinalOf(singleMethod, singleMethod.getName())];
+			} catch (final NoSuchMethodException e) {
+				throw BuilderException.methodNotFound(this.implementationInterface, batchOf.value(), e);
+			}
+			if (single == null) {
+				throw BuilderException.invalidBatchMethod(this.implementationInterface, batchMethod.getName(),
+						"the method " + batchOf.value() + " is not implemented");
+			}
+
+			this.emulateMethods[ordinal] = MethodImplementation.builder()
+					.methodIdentifier(batchMethod.getName())
+					.method(batchMethod)
+					.build()
+					.batchOf(single, batchParameter);
+		}
+	}
+
+	private int batchParameterOf(final Method batchMethod) {
+		final Class<?>[] parameterTypes = batchMethod.getParameterTypes();
+		for (int i = 0; i < parameterTypes.length; i++) {
+			if (parameterTypes[i] == List.class) {
+				return i;
+			}
+		}
+		throw BuilderException.invalidBatchMethod(this.implementationInterface, batchMethod.getName(),
+				"there is no list of items");
+	}
+
+	private Class<?> itemTypeOf(final Method batchMethod, final int batchParameter) {
+		final Type listType = batchMethod.getGenericParameterTypes()[batchParameter];
+		if (listType instanceof ParameterizedType) {
+			Type itemType = ((ParameterizedType) listType).getActualTypeArguments()[0];
+			if (itemType instanceof ParameterizedType) {
+				itemType = ((ParameterizedType) itemType).getRawType();
+			}
+			if (itemType instanceof Class) {
+				return (Class<?>) itemType;
+			}
+		}
+		throw BuilderException.invalidBatchMethod(this.implementationInterface, batchMethod.getName(),
+				"the type of the items is unknown");
+	}
+
+	/**
+	 * Defines how the implementation of the interface is generated. The default is
+	 * {@link ProxyStrategy#JDK_PROXY}.
+	 *
+	 * @param proxyStrategy the strategy to generate the implementation
+	 * @return the factory itself for chained construction
+	 */
+	public DaisyChainDispatcherFactory proxyStrategy(final ProxyStrategy proxyStrategy) {
+		this.proxyStrategy = proxyStrategy;
 		return this;
 	}
 
 	@SuppressWarnings("unchecked")
 	public <T> T build() {
+		this.bindBatchMethods();
+
 		// create the dispatcher and feed collected information
 		final DaisyChainDispatcher dispatcher = new DaisyChainDispatcher(
-				this.implementationInterface, this.emulateMethods);
+				this.implementationInterface, this.interfaceMethods, this.emulateMethods);
+
+		if (this.proxyStrategy == ProxyStrategy.GENERATED_CLASS) {
+			return (T) DaisyChainClassGenerator.generate(this.classLoader, dispatcher);
+		}
 
 		// create the proxy, ApplicationContextAware is required, because beans might
 		// have to be loaded, InitializingBean because the initialization needs to be
@@ -0,0 +1,122 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright © 2020 Matthias Brenner and Adesso SE
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the “Software”), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package de.adesso.example.framework.core;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+import de.adesso.example.framework.annotation.Dataflow;
+import de.adesso.example.framework.annotation.ResultAccess;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Describes which parts of the protocol a {@link BeanOperation} accesses. Two
+ * operations conflict if one of them writes something the other one reads or
+ * writes. Operations which do not conflict can be executed in parallel.
+ *
+ * @author Matthias
+ *
+ */
+@Getter(value = AccessLevel.PACKAGE)
+@ToString
+final class DataflowAccess {
+
+	/** access of operations without declaration, conflicts with everything */
+	private static final DataflowAccess BARRIER = new DataflowAccess(true, Collections.emptySet(),
+			Collections.emptySet(), ResultAccess.WRITE);
+
+	private final boolean barrier;
+	private final Set<Class<?>> reads;
+	private final Set<Class<?>> writes;
+	private final ResultAccess result;
+
+	private DataflowAccess(final boolean barrier, final Set<Class<?>> reads, final Set<Class<?>> writes,
+			final ResultAccess result) {
+		this.barrier = barrier;
+		this.reads = reads;
+		this.writes = writes;
+		this.result = result;
+	}
+
+	/**
+	 * Derives the access of an operation. The appendixes read by the arguments are
+	 * added to the declared reads.
+	 *
+	 * @param declaration the declaration of the bean method, may be null
+	 * @param arguments   the arguments of the operation
+	 * @return the access of the operation
+	 */
+	static DataflowAccess of(final Dataflow declaration, final List<Argument> arguments) {
+		if (declaration == null) {
+			return BARRIER;
+		}
+		final Set<Class<?>> reads = new HashSet<>(Arrays.asList(declaration.reads()));
+		arguments.stream()
+				.map(Argument::getAppendixType)
+				.filter(Objects::nonNull)
+				.forEach(reads::add);
+		final Set<Class<?>> writes = new HashSet<>(Arrays.asList(declaration.writes()));
+
+		return new DataflowAccess(false, reads, writes, declaration.result());
+	}
+
+	/**
+	 * Checks if the operations have to be executed in the order of their
+	 * declaration.
+	 *
+	 * @param other the access of the other operation
+	 * @return true if the operations may not be executed in parallel
+	 */
+	boolean conflictsWith(final DataflowAccess other) {
+		if (this.barrier || other.barrier) {
+			return true;
+		}
+		if (this.result == ResultAccess.WRITE && other.result != ResultAccess.NONE
+				|| other.result == ResultAccess.WRITE && this.result != ResultAccess.NONE) {
+			return true;
+		}
+		return overlaps(this.writes, other.writes)
+				|| overlaps(this.writes, other.reads)
+				|| overlaps(other.writes, this.reads);
+	}
+
+	private static boolean overlaps(final Set<Class<?>> types, final Set<Class<?>> otherTypes) {
+		for (final Class<?> type : types) {
+			for (final Class<?> otherType : otherTypes) {
+				// an appendix of a sub type is visible as the super type as well
+				if (type.isAssignableFrom(otherType) || otherType.isAssignableFrom(type)) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+}
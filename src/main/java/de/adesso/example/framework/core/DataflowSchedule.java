@@ -0,0 +1,170 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright © 2020 Matthias Brenner and Adesso SE
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the “Software”), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package de.adesso.example.framework.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+import de.adesso.example.framework.ApplicationProtocol;
+import de.adesso.example.framework.annotation.ExecutionStrategy;
+import de.adesso.example.framework.exception.BeanCallException;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * Execution plan of {@link ExecutionStrategy#DATAFLOW}. The operations are
+ * grouped into levels. An operation is placed into the level after the last
+ * earlier operation it conflicts with (see {@link DataflowAccess}). So the
+ * operations of one level are independent of each other and can be executed in
+ * parallel.
+ * <p>
+ * Each parallel operation works on its own fork of the protocol. After the
+ * level is finished, the changes of the forks are committed in the order of
+ * the declaration. Therefore the resulting protocol is the same as after
+ * sequential execution.
+ *
+ * @author Matthias
+ *
+ */
+@Log4j2
+final class DataflowSchedule {
+
+	private final BeanOperation[] operations;
+	/** indexes of the operations per level */
+	@Getter(value = AccessLevel.PACKAGE)
+	private final int[][] levels;
+	private final Executor executor;
+
+	DataflowSchedule(final List<BeanOperation> operations, final Executor executor) {
+		this.operations = operations.toArray(new BeanOperation[operations.size()]);
+		this.levels = buildLevels(this.operations);
+		this.executor = executor;
+	}
+
+	/**
+	 * Executes the operations level by level.
+	 *
+	 * @param state the protocol
+	 * @param args  the arguments of the emulated method
+	 * @return the resulting protocol
+	 */
+	<T> ApplicationProtocol<T> execute(final ApplicationProtocol<T> state, final Object[] args) {
+		ApplicationProtocol<T> intermediateState = state;
+		for (final int[] level : this.levels) {
+			if (level.length == 1) {
+				intermediateState = MethodImplementation.executeOperation(this.operations[level[0]],
+						intermediateState, args);
+			} else {
+				this.executeInParallel(level, intermediateState, args);
+			}
+		}
+
+		return intermediateState;
+	}
+
+	private <T> void executeInParallel(final int[] level, final ApplicationProtocol<T> state,
+			final Object[] args) {
+		final List<ApplicationProtocol<T>> forks = new ArrayList<>(level.length);
+		final List<CompletableFuture<ApplicationProtocol<T>>> futures = new ArrayList<>(level.length);
+		for (int i = 0; i < level.length; i++) {
+			forks.add(state.fork());
+		}
+		// the first operation is executed by the calling thread
+		for (int i = 1; i < level.length; i++) {
+			final BeanOperation operation = this.operations[level[i]];
+			final ApplicationProtocol<T> fork = forks.get(i);
+			futures.add(CompletableFuture.supplyAsync(
+					() -> MethodImplementation.executeOperation(operation, fork, args), this.executor));
+		}
+		RuntimeException failure = null;
+		ApplicationProtocol<T> firstResult = null;
+		try {
+			firstResult = MethodImplementation.executeOperation(this.operations[level[0]], forks.get(0), args);
+		} catch (final RuntimeException e) {
+			failure = e;
+		}
+
+		// commit in the order of declaration, stop at the first failure
+		for (int i = 0; i < level.length && failure == null; i++) {
+			final BeanOperation operation = this.operations[level[i]];
+			try {
+				final ApplicationProtocol<T> result = i == 0 ? firstResult : futures.get(i - 1).join();
+				if (result != forks.get(i)) {
+					throw BeanCallException.protocolReplaced(operation.getImplementation().getClass(),
+							operation.getMethod());
+				}
+				state.commit(result);
+			} catch (final CompletionException e) {
+				failure = unwrap(operation, e);
+			} catch (final RuntimeException e) {
+				failure = e;
+			}
+		}
+		if (failure != null) {
+			throw failure;
+		}
+	}
+
+	private static RuntimeException unwrap(final BeanOperation operation, final CompletionException e) {
+		final Throwable cause = e.getCause();
+		if (cause instanceof RuntimeException) {
+			return (RuntimeException) cause;
+		}
+		return BeanCallException.callFailedWithException(operation.getImplementation().getClass(),
+				operation.getMethod(), cause);
+	}
+
+	private static int[][] buildLevels(final BeanOperation[] operations) {
+		final int[] levelOfOperation = new int[operations.length];
+		int numberOfLevels = 0;
+		for (int i = 0; i < operations.length; i++) {
+			int level = 0;
+			for (int j = 0; j < i; j++) {
+				if (operations[j].getDataflowAccess().conflictsWith(operations[i].getDataflowAccess())) {
+					level = Math.max(level, levelOfOperation[j] + 1);
+				}
+			}
+			levelOfOperation[i] = level;
+			numberOfLevels = Math.max(numberOfLevels, level + 1);
+		}
+
+		final List<List<Integer>> levelList = new ArrayList<>();
+		for (int l = 0; l < numberOfLevels; l++) {
+			levelList.add(new ArrayList<>());
+		}
+		for (int i = 0; i < operations.length; i++) {
+			levelList.get(levelOfOperation[i]).add(i);
+		}
+		log.atDebug().log("dataflow levels: {}", levelList);
+
+		return levelList.stream()
+				.map(l -> l.stream().mapToInt(Integer::intValue).toArray())
+				.toArray(int[][]::new);
+	}
+}
@@ -0,0 +1,147 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright © 2020 Matthias Brenner and Adesso SE
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the “Software”), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package de.adesso.example.framework.core;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Enumeration;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+
+import de.adesso.example.framework.annotation.Emulated;
+import de.adesso.example.framework.exception.BuilderException;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * Reads the index of the interfaces annotated as {@link Emulated}, which is
+ * written by the annotation processor
+ * {@code de.adesso.example.framework.processor.EmulatedIndexProcessor} during
+ * compilation. The class path may contain several indexes, e.g. of the main and
+ * the test classes. They are merged.
+ * <p>
+ * An index only covers the classes compiled together with it. A class path root
+ * compiled without the processor, e.g. by an IDE or a module not configuring
+ * it, has no index. Its interfaces have to be found by scanning, see
+ * {@link #unindexedRoots(ClassLoader, String)}.
+ *
+ * @author Matthias
+ *
+ */
+@Log4j2
+final class EmulatedInterfaceIndex {
+
+	/** has to match the location the annotation processor writes to */
+	static final String INDEX_LOCATION = "META-INF/de.adesso.example.framework.emulated";
+
+	private EmulatedInterfaceIndex() {
+	}
+
+	/**
+	 * Reads the names of the emulated interfaces within the given package.
+	 *
+	 * @param classLoader the class loader providing the indexes
+	 * @param basePackage the package the interfaces have to belong to
+	 * @return the names of the interfaces or an empty optional, if there is no
+	 *         index and the class path has to be scanned
+	 */
+	static Optional<Set<String>> read(final ClassLoader classLoader, final String basePackage) {
+		final Set<String> emulatedInterfaces = new TreeSet<>();
+		boolean indexFound = false;
+		try {
+			final Enumeration<URL> indexes = classLoader.getResources(INDEX_LOCATION);
+			while (indexes.hasMoreElements()) {
+				indexFound = true;
+				readIndex(indexes.nextElement(), basePackage, emulatedInterfaces);
+			}
+		} catch (final IOException e) {
+			throw BuilderException.indexNotReadable(INDEX_LOCATION, e);
+		}
+		if (!indexFound) {
+			log.atDebug().log("no index of emulated interfaces found, the class path is scanned");
+			return Optional.empty();
+		}
+		log.atDebug().log("index of emulated interfaces: {}", emulatedInterfaces);
+
+		return Optional.of(emulatedInterfaces);
+	}
+
+	/**
+	 * Determines the class path roots containing the given package but no index.
+	 * The roots are given as the URL of the root with a trailing slash, e.g.
+	 * {@code file:/project/build/classes/java/main/} or
+	 * {@code jar:file:/lib/app.jar!/}.
+	 *
+	 * @param classLoader the class loader providing the class path
+	 * @param basePackage the package to look for
+	 * @return the roots, which have to be scanned for emulated interfaces
+	 */
+	static Set<String> unindexedRoots(final ClassLoader classLoader, final String basePackage) {
+		try {
+			final Set<String> roots = roots(classLoader, basePackage.replace('.', '/'));
+			roots.removeAll(roots(classLoader, INDEX_LOCATION));
+			if (!roots.isEmpty()) {
+				log.atDebug().log("class path roots without index of emulated interfaces: {}", roots);
+			}
+
+			return roots;
+		} catch (final IOException e) {
+			throw BuilderException.indexNotReadable(INDEX_LOCATION, e);
+		}
+	}
+
+	private static Set<String> roots(final ClassLoader classLoader, final String path) throws IOException {
+		final Set<String> roots = new TreeSet<>();
+		final Enumeration<URL> resources = classLoader.getResources(path);
+		while (resources.hasMoreElements()) {
+			String resource = resources.nextElement().toString();
+			if (resource.endsWith("/")) {
+				resource = resource.substring(0, resource.length() - 1);
+			}
+			if (resource.endsWith(path)) {
+				roots.add(resource.substring(0, resource.length() - path.length()));
+			}
+		}
+
+		return roots;
+	}
+
+	private static void readIndex(final URL index, final String basePackage, final Set<String> emulatedInterfaces)
+			throws IOException {
+		try (BufferedReader reader = new BufferedReader(
+				new InputStreamReader(index.openStream(), StandardCharsets.UTF_8))) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				final String emulatedInterface = line.trim();
+				if (!emulatedInterface.isEmpty() && emulatedInterface.startsWith(basePackage + ".")) {
+					emulatedInterfaces.add(emulatedInterface);
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,177 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright © 2020 Matthias Brenner and Adesso SE
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the “Software”), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package de.adesso.example.framework.core;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.springframework.util.Assert;
+
+import de.adesso.example.framework.annotation.BatchOf;
+import de.adesso.example.framework.annotation.Implementation;
+import de.adesso.example.framework.annotation.ImplementationDefinition;
+import de.adesso.example.framework.annotation.SplitJoinDefinition;
+import de.adesso.example.framework.core.BeanOperation.BeanOperationBuilder;
+import de.adesso.example.framework.core.MethodImplementation.MethodImplementationBuilder;
+import de.adesso.example.framework.exception.BuilderException;
+import lombok.NonNull;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * Reads the annotations of an emulated interface and builds the
+ * {@link MethodImplementation}s of its methods. Only reflection is used, the
+ * application context is not accessed. Therefore the implementations of
+ * several interfaces may be read in parallel, see
+ * {@link ParallelEmulationBuilder}.
+ * <p>
+ * If the annotation processor generated a {@link GeneratedEmulation} for the
+ * interface, its implementations are taken instead of reading the annotations.
+ * The interface is read only, if it was compiled without the processor or the
+ * processor could not resolve it.
+ *
+ * @author Matthias
+ *
+ */
+@Log4j2
+class EmulationDefinitionReader {
+
+	private final ArgumentFactory argumentFactory;
+
+	EmulationDefinitionReader(final ArgumentFactory argumentFactory) {
+		this.argumentFactory = argumentFactory;
+	}
+
+	/**
+	 * Builds the implementations of all methods of the interface. Batch methods
+	 * are left out, they are bound by the dispatcher factory.
+	 *
+	 * @param interfaceType the emulated interface
+	 * @return the implementations of the methods
+	 */
+	List<MethodImplementation> readMethodImplementations(final Class<?> interfaceType) {
+		final List<MethodImplementation> generated = this.generatedMethodImplementations(interfaceType);
+		if (generated != null) {
+			return generated;
+		}
+		return this.readAnnotations(interfaceType);
+	}
+
+	/**
+	 * Builds the implementations of all methods of the interface from its
+	 * annotations, even if there is a generated emulation.
+	 *
+	 * @param interfaceType the emulated interface
+	 * @return the implementations of the methods
+	 */
+	List<MethodImplementation> readAnnotations(final Class<?> interfaceType) {
+		final List<MethodImplementation> implementations = new ArrayList<>();
+		for (final Method m : interfaceType.getMethods()) {
+			if (m.isAnnotationPresent(BatchOf.class)) {
+				// bound by the dispatcher factory to the method executed per item
+				continue;
+			}
+			final MethodImplementation methodEmulation = this.buildMethodEmulation(m);
+			methodEmulation.method(m);
+			implementations.add(methodEmulation);
+		}
+		return implementations;
+	}
+
+	private List<MethodImplementation> generatedMethodImplementations(final Class<?> interfaceType) {
+		final String generatedName = GeneratedEmulation.nameOf(interfaceType);
+		final Class<?> generatedClass;
+		try {
+			generatedClass = Class.forName(generatedName, true, interfaceType.getClassLoader());
+		} catch (final ClassNotFoundException e) {
+			log.atDebug().log("no generated emulation of {}, the annotations are read", interfaceType.getName());
+			return null;
+		}
+		try {
+			return ((GeneratedEmulation) generatedClass.getDeclaredConstructor().newInstance())
+					.methodImplementations();
+		} catch (final ReflectiveOperationException | ClassCastException e) {
+			log.atWarn().log("generated emulation {} is outdated, the annotations are read: {}", generatedName,
+					e.toString());
+			return null;
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private MethodImplementation buildMethodEmulation(final Method interfaceMethod) {
+		Assert.notNull(interfaceMethod, "method is mandatory argument");
+
+		final String methodName = interfaceMethod.getName();
+		final MethodImplementationBuilder miBuilder = MethodImplementation.builder()
+				.methodIdentifier(methodName);
+		final ImplementationDefinition definition = interfaceMethod.getAnnotation(ImplementationDefinition.class);
+		if (definition != null) {
+			miBuilder.executionStrategy(definition.execution())
+					.executorName(definition.executor());
+		}
+
+		final Implementation[] implDef = interfaceMethod.getAnnotationsByType(Implementation.class);
+		for (final Implementation implClass : implDef) {
+			final BeanOperationBuilder operationBuilder = BeanOperation.builder();
+			if (implClass.bean().isInterface()) {
+				operationBuilder.anInterface(implClass.bean());
+			} else {
+				operationBuilder.beanType((Class<Object>) implClass.bean());
+			}
+			final String implMethod = implClass.method().isEmpty() ? methodName : implClass.method();
+			operationBuilder.methodIdentifier(implMethod);
+			final Method beanMethod = this.extractCorrespondingBeanMethod(implMethod, implClass.bean());
+			operationBuilder.method(beanMethod);
+
+			// found appropriate method, now instrument it
+			final List<Argument> argumentList = ParameterPosition.buildParameterList(beanMethod).stream()
+					.map(pp -> this.argumentFactory.createArgument(interfaceMethod, beanMethod, pp))
+					.collect(Collectors.toList());
+			operationBuilder.arguments(argumentList);
+			miBuilder.beanOperation(operationBuilder.build());
+		}
+
+		// the split and join follows the bean operations
+		final SplitJoinDefinition splitJoin = interfaceMethod.getAnnotation(SplitJoinDefinition.class);
+		if (splitJoin != null) {
+			miBuilder.parallelOperation(ParallelOperation.from(splitJoin));
+		}
+		return miBuilder.build();
+	}
+
+	private Method extractCorrespondingBeanMethod(@NonNull final String methodName, @NonNull final Class<?> implClass) {
+		Method beanMethod = null;
+		for (final Method implMethod : implClass.getMethods()) {
+			if (methodName.equals(implMethod.getName())) {
+				beanMethod = implMethod;
+				return beanMethod;
+			}
+		}
+		// nothing found, basic requirement: the implementation bean provides at least
+		// one method with the same identifier
+		throw BuilderException.methodNotFound(implClass, methodName);
+	}
+}
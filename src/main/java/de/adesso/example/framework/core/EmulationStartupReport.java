@@ -0,0 +1,122 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright © 2020 Matthias Brenner and Adesso SE
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the “Software”), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package de.adesso.example.framework.core;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * Collects the time spent to build each emulated interface by phase. The report
+ * is logged when the context is refreshed: the total of each phase and the
+ * slowest interfaces.
+ *
+ * @author Matthias
+ *
+ */
+@Component
+@Log4j2
+public class EmulationStartupReport implements ApplicationListener<ContextRefreshedEvent> {
+
+	/** number of interfaces listed in the log */
+	private static final int SLOWEST_INTERFACES = 10;
+
+	/**
+	 * The phases of building an emulated interface.
+	 */
+	public enum Phase {
+		/** reading the annotations into method implementations */
+		METHODS,
+		/** creating the proxy or generating the class */
+		PROXY,
+		/** looking up the beans and compiling the calls */
+		INIT
+	}
+
+	private final Map<Class<?>, Map<Phase, Duration>> durations = new ConcurrentHashMap<>();
+
+	void record(final Class<?> emulatedInterface, final Phase phase, final long nanos) {
+		this.durations.computeIfAbsent(emulatedInterface, i -> new EnumMap<>(Phase.class))
+				.merge(phase, Duration.ofNanos(nanos), Duration::plus);
+	}
+
+	public Set<Class<?>> getEmulatedInterfaces() {
+		return this.durations.keySet();
+	}
+
+	/**
+	 * Time spent in the phase for the interface.
+	 *
+	 * @param emulatedInterface the emulated interface
+	 * @param phase             the phase
+	 * @return the duration, zero if nothing was recorded
+	 */
+	public Duration getDuration(final Class<?> emulatedInterface, final Phase phase) {
+		return this.durations.getOrDefault(emulatedInterface, Map.of())
+				.getOrDefault(phase, Duration.ZERO);
+	}
+
+	/**
+	 * Time spent in all phases for the interface.
+	 *
+	 * @param emulatedInterface the emulated interface
+	 * @return the duration, zero if nothing was recorded
+	 */
+	public Duration getTotal(final Class<?> emulatedInterface) {
+		return this.durations.getOrDefault(emulatedInterface, Map.of()).values().stream()
+				.reduce(Duration.ZERO, Duration::plus);
+	}
+
+	@Override
+	public void onApplicationEvent(final ContextRefreshedEvent event) {
+		if (this.durations.isEmpty()) {
+			return;
+		}
+		final String phases = Arrays.stream(Phase.values())
+				.map(p -> String.format("%s %d ms", p, this.getEmulatedInterfaces().stream()
+						.map(i -> this.getDuration(i, p))
+						.reduce(Duration.ZERO, Duration::plus)
+						.toMillis()))
+				.collect(Collectors.joining(", "));
+		log.atInfo().log("built {} emulated interfaces: {}", this.durations.size(), phases);
+
+		this.getEmulatedInterfaces().stream()
+				.sorted(Comparator.comparing(this::getTotal).reversed())
+				.limit(SLOWEST_INTERFACES)
+				.forEach(i -> log.atInfo().log("{}: {} ms {}", i.getName(), this.getTotal(i).toMillis(),
+						this.durations.get(i)));
+	}
+}
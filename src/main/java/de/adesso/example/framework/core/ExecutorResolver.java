@@ -0,0 +1,58 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright © 2020 Matthias Brenner and Adesso SE
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the “Software”), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package de.adesso.example.framework.core;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+import org.springframework.context.ApplicationContext;
+
+/**
+ * Resolves the executor configured by its bean name. If no name is given, the
+ * common fork join pool is used.
+ *
+ * @author Matthias
+ *
+ */
+final class ExecutorResolver {
+
+	private ExecutorResolver() {
+		// only static methods
+	}
+
+	/**
+	 * Resolves the executor.
+	 *
+	 * @param context      the application context to load the bean from
+	 * @param executorName the bean name of the executor, may be empty
+	 * @return the executor
+	 */
+	static Executor resolve(final ApplicationContext context, final String executorName) {
+		if (executorName == null || executorName.isEmpty()) {
+			return ForkJoinPool.commonPool();
+		}
+		return context.getBean(executorName, Executor.class);
+	}
+}
@@ -0,0 +1,74 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright © 2020 Matthias Brenner and Adesso SE
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the “Software”), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package de.adesso.example.framework.core;
+
+import java.util.List;
+
+import de.adesso.example.framework.annotation.Emulated;
+
+/**
+ * The method implementations of an emulated interface resolved at compile time.
+ * The annotation processor
+ * {@code de.adesso.example.framework.processor.EmulatedIndexProcessor} generates
+ * an implementation for each interface annotated as {@link Emulated}. It builds
+ * the {@link MethodImplementation}s with the bean methods and the arguments
+ * already resolved, so the annotations don't have to be read at start up.
+ * <p>
+ * The generated class belongs to the package of the interface. Its name is the
+ * binary name of the interface within the package, the '$' replaced by '_',
+ * followed by {@value #SUFFIX}, see {@link #nameOf(Class)}.
+ *
+ * @author Matthias
+ *
+ */
+public interface GeneratedEmulation {
+
+	/** has to match the suffix the annotation processor appends */
+	String SUFFIX = "_Emulation";
+
+	/**
+	 * Builds the implementations of all methods of the interface. Batch methods
+	 * are left out, they are bound by the dispatcher factory.
+	 *
+	 * @return the implementations of the methods
+	 * @throws NoSuchMethodException if a method doesn't exist anymore, thus the
+	 *                               generated class is outdated
+	 */
+	List<MethodImplementation> methodImplementations() throws NoSuchMethodException;
+
+	/**
+	 * Determines the name of the class generated for the interface.
+	 *
+	 * @param emulatedInterface the emulated interface
+	 * @return the binary name of the generated class
+	 */
+	static String nameOf(final Class<?> emulatedInterface) {
+		final String packageName = emulatedInterface.getPackageName();
+		final String name = emulatedInterface.getName();
+		final String simpleBinaryName = packageName.isEmpty() ? name : name.substring(packageName.length() + 1);
+
+		return (packageName.isEmpty() ? "" : packageName + ".") + simpleBinaryName.replace('$', '_') + SUFFIX;
+	}
+}
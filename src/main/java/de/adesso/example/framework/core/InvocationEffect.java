@@ -0,0 +1,76 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright © 2020 Matthias Brenner and Adesso SE
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the “Software”), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package de.adesso.example.framework.core;
+
+import de.adesso.example.framework.ApplicationProtocol;
+import de.adesso.example.framework.annotation.CachedResult;
+import de.adesso.example.framework.annotation.SingleFlight;
+
+/**
+ * The effect of an execution of an emulated method: its result and the
+ * appendixes added by the chain. The appendixes the protocol held before are
+ * not part of the effect. The effect is kept by the cache of a
+ * {@link CachedResult} method and handed to the identical invocations waiting
+ * for a {@link SingleFlight} execution. It is applied to the protocol of such an
+ * invocation like the effect of a memoized bean method, so every invocation
+ * continues with its own protocol.
+ *
+ * @author Matthias
+ *
+ */
+final class InvocationEffect {
+
+	private InvocationEffect() {
+	}
+
+	/**
+	 * Takes the effect of an execution.
+	 *
+	 * @param result the resulting protocol of the execution
+	 * @param input  a copy of the protocol taken before the execution
+	 * @return the effect, it may be shared by all threads
+	 */
+	static <T> ApplicationProtocol<T> of(final ApplicationProtocol<T> result, final ApplicationProtocol<?> input) {
+		final ApplicationProtocol<T> effect = new ApplicationProtocol<T>()
+				.setResult(result.getResult())
+				.addAppendixesOf(result, input);
+		// the copy freezes the appendixes, thus the effect can be shared by all threads
+		return effect.copy();
+	}
+
+	/**
+	 * Applies the effect to the protocol of an invocation: sets the result and
+	 * adds the appendixes.
+	 *
+	 * @param effect the effect of an identical execution
+	 * @param state  the protocol of the invocation
+	 * @return the given protocol
+	 */
+	@SuppressWarnings("unchecked")
+	static <T> ApplicationProtocol<T> replay(final ApplicationProtocol<?> effect, final ApplicationProtocol<T> state) {
+		((ApplicationProtocol<Object>) state).setResult(effect.getResult());
+		return state.addAppendixesOf(effect);
+	}
+}
@@ -0,0 +1,105 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright © 2020 Matthias Brenner and Adesso SE
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the “Software”), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package de.adesso.example.framework.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import de.adesso.example.framework.ApplicationProtocol;
+import de.adesso.example.framework.CacheKey;
+
+/**
+ * Builds the key identifying an invocation of an emulated method. The key is a
+ * list of the arguments, where the protocol is replaced by the list of its
+ * appendixes of the declared types. Two invocations have equal keys, if their
+ * arguments and these appendixes are equal. Arguments and appendixes
+ * implementing {@link CacheKey} are replaced by their cache keys.
+ *
+ * @author Matthias
+ *
+ */
+final class InvocationKey {
+
+	private InvocationKey() {
+	}
+
+	/**
+	 * Creates the key of an invocation.
+	 *
+	 * @param args          the arguments of the call
+	 * @param state         the protocol of the call
+	 * @param appendixTypes the types of the appendixes being part of the key
+	 * @return the key
+	 */
+	static List<Object> of(final Object[] args, final ApplicationProtocol<?> state,
+			final Class<?>[] appendixTypes) {
+		final Object[] key = new Object[args.length];
+		final List<Object> appendixes = fingerprint(state, appendixTypes);
+		boolean replaced = false;
+		for (int i = 0; i < key.length; i++) {
+			if (args[i] == state) {
+				key[i] = appendixes;
+				replaced = true;
+			} else {
+				key[i] = keyOf(args[i]);
+			}
+		}
+		if (!replaced) {
+			// the protocol was created by the dispatcher
+			final Object[] extended = Arrays.copyOf(key, key.length + 1);
+			extended[key.length] = appendixes;
+			return Arrays.asList(extended);
+		}
+		return Arrays.asList(key);
+	}
+
+	/**
+	 * Maps a value to its part of a key.
+	 *
+	 * @param value an argument or an appendix
+	 * @return the class and the cache key of a {@link CacheKey}, otherwise the
+	 *         value itself
+	 */
+	static Object keyOf(final Object value) {
+		if (value instanceof CacheKey) {
+			return Arrays.asList(value.getClass(), ((CacheKey) value).cacheKey());
+		}
+		return value;
+	}
+
+	private static List<Object> fingerprint(final ApplicationProtocol<?> state, final Class<?>[] appendixTypes) {
+		if (appendixTypes.length == 0) {
+			return List.of();
+		}
+		final List<Object> appendixes = new ArrayList<>();
+		for (final Class<?> type : appendixTypes) {
+			for (final Object appendix : state.getAllAppenixesOfTypeAsListT(type)) {
+				appendixes.add(keyOf(appendix));
+			}
+		}
+		return appendixes;
+	}
+}
@@ -0,0 +1,122 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright © 2020 Matthias Brenner and Adesso SE
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the “Software”), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package de.adesso.example.framework.core;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free histogram of latencies in nanoseconds. The values are counted in
+ * buckets growing exponentially; each power of two is divided into four
+ * buckets. So a percentile is exact within 25 percent. Recording a value does
+ * not allocate and does not lock.
+ *
+ * @author Matthias
+ *
+ */
+public class LatencyHistogram {
+
+	private static final int SUB_BUCKET_BITS = 2;
+	private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+	private static final int BUCKETS = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+	private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+	private final LongAdder count = new LongAdder();
+	private final LongAdder sum = new LongAdder();
+	private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+	/**
+	 * Records a latency.
+	 *
+	 * @param nanos the latency in nanoseconds, negative values are counted as 0
+	 */
+	public void record(final long nanos) {
+		final long value = Math.max(nanos, 0);
+		this.buckets.incrementAndGet(indexOf(value));
+		this.count.increment();
+		this.sum.add(value);
+		this.max.accumulate(value);
+	}
+
+	public long getCount() {
+		return this.count.sum();
+	}
+
+	public long getMax() {
+		return this.max.get();
+	}
+
+	public double getMean() {
+		final long n = this.count.sum();
+		return n == 0 ? 0 : (double) this.sum.sum() / n;
+	}
+
+	/**
+	 * Returns the upper bound of the bucket containing the percentile.
+	 *
+	 * @param percentile the percentile between 0 and 100
+	 * @return the latency in nanoseconds, 0 if nothing was recorded
+	 */
+	public long getPercentile(final double percentile) {
+		long total = 0;
+		final long[] counts = new long[BUCKETS];
+		for (int i = 0; i < BUCKETS; i++) {
+			counts[i] = this.buckets.get(i);
+			total += counts[i];
+		}
+		if (total == 0) {
+			return 0;
+		}
+		final long rank = Math.max(1, (long) Math.ceil(total * Math.min(percentile, 100) / 100));
+		long seen = 0;
+		for (int i = 0; i < BUCKETS; i++) {
+			seen += counts[i];
+			if (seen >= rank) {
+				return Math.min(upperBoundOf(i), this.getMax());
+			}
+		}
+		return this.getMax();
+	}
+
+	static int indexOf(final long value) {
+		if (value < SUB_BUCKETS) {
+			return (int) value;
+		}
+		final int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+		final int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+		return ((exponent - SUB_BUCKET_BITS + 1) << SUB_BUCKET_BITS) + subBucket;
+	}
+
+	static long upperBoundOf(final int index) {
+		if (index < SUB_BUCKETS) {
+			return index;
+		}
+		final int exponent = (index >> SUB_BUCKET_BITS) + SUB_BUCKET_BITS - 1;
+		final long width = 1L << (exponent - SUB_BUCKET_BITS);
+		final long lowerBound = (1L << exponent) + (index & (SUB_BUCKETS - 1)) * width;
+		return lowerBound + width - 1;
+	}
+}
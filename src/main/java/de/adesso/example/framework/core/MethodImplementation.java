@@ -25,8 +25,13 @@
 package de.adesso.example.framework.core;
 
 import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
 
 import javax.validation.constraints.NotNull;
@@ -35,7 +40,13 @@ import org.springframework.context.ApplicationContext;
 import org.springframework.util.Assert;
 
 import de.adesso.example.framework.ApplicationProtocol;
+import de.adesso.example.framework.annotation.BatchOf;
+import de.adesso.example.framework.annotation.CachedResult;
+import de.adesso.example.framework.annotation.ExecutionStrategy;
+import de.adesso.example.framework.annotation.Memoized;
 import de.adesso.example.framework.annotation.RequiredParameter;
+import de.adesso.example.framework.annotation.SingleFlight;
+import de.adesso.example.framework.exception.BuilderException;
 import de.adesso.example.framework.exception.RequiredParameterException;
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
@@ -46,10 +57,16 @@ import lombok.ToString;
 
 /**
  * This class describes an implementation for a method of a given interface. The
- * implementation may be a list of beans to be invoked. Overloading of methods
- * is not supported, because the implementation uses the method identifier to
- * distinguish between methods. The method identifier is not sufficient if
- * overloading is used.
+ * implementation may be a list of beans to be invoked. The method identifier
+ * names the method. If the method is overloaded, the implemented method has to
+ * be provided to the builder, otherwise it cannot be distinguished.
+ * <p>
+ * If the method returns a {@link CompletionStage}, the beans are executed
+ * asynchronously on the configured executor, see
+ * {@link #executeAsync(ApplicationProtocol, Object[])}.
+ * <p>
+ * A batch method (see {@link BatchOf}) has no beans of its own. It executes the
+ * chain of the method it is the batch of for all items.
  *
  * @author Matthias
  *
@@ -69,6 +86,19 @@ public class MethodImplementation {
 	 */
 	@NotNull
 	private final List<BeanOperation> beanOperations;
+	/**
+	 * Optional split and join executed after the bean operations
+	 */
+	private final ParallelOperation parallelOperation;
+	/**
+	 * How the bean operations are executed
+	 */
+	private final ExecutionStrategy executionStrategy;
+	/**
+	 * Name of the executor bean used for {@link ExecutionStrategy#DATAFLOW} and
+	 * asynchronous methods
+	 */
+	private final String executorName;
 	/**
 	 * Method of the interface which is implemented by this description
 	 */
@@ -79,33 +109,284 @@ public class MethodImplementation {
 
 	private transient DaisyChainDispatcher dispatcher;
 
+	/** the interface the method belongs to, available after initialization */
+	private transient Class<?> emulatedInterface;
+
+	@ToString.Exclude
+	private transient DataflowSchedule dataflowSchedule;
+
+	/** the method returns a {@link CompletionStage} */
+	private transient boolean asynchronous;
+
+	@ToString.Exclude
+	private transient Executor executor;
+
+	/** the method executed per item, if this is a batch method */
+	@ToString.Exclude
+	private transient MethodImplementation batchOf;
+
+	/** position of the list of items within the arguments of a batch method */
+	private transient int batchParameter;
+
+	/** cache of the invocations, if the method is annotated as {@link CachedResult} */
+	@ToString.Exclude
+	private transient StepCache resultCache;
+
+	/** executions in flight, if the method is annotated as {@link SingleFlight} */
+	@ToString.Exclude
+	private transient SingleFlightGroup singleFlight;
+
+	/** types of the appendixes being part of the key of an invocation */
+	@ToString.Exclude
+	private transient Class<?>[] keyAppendixes;
+
 	@Builder
 	private MethodImplementation(
 			final String methodIdentifier,
-			@Singular final List<BeanOperation> beanOperations) {
+			@Singular final List<BeanOperation> beanOperations,
+			final ParallelOperation parallelOperation,
+			final ExecutionStrategy executionStrategy,
+			final String executorName,
+			final Method method) {
 		this.methodIdentifier = methodIdentifier;
+		this.method = method;
 		this.beanOperations = beanOperations;
+		this.parallelOperation = parallelOperation;
+		this.executionStrategy = executionStrategy != null ? executionStrategy : ExecutionStrategy.SEQUENTIAL;
+		this.executorName = executorName != null ? executorName : "";
 	}
 
-	@SuppressWarnings("unchecked")
+	/**
+	 * Executes the bean operations. If the method is annotated as
+	 * {@link CachedResult} and the effect of an execution with the same arguments
+	 * and appendixes is cached, the effect is applied to the given protocol
+	 * instead. If the method is annotated as {@link SingleFlight}, an identical
+	 * execution in flight is awaited and its effect is applied to the given
+	 * protocol, see {@link InvocationEffect}.
+	 *
+	 * @param state the protocol
+	 * @param args  the arguments of the emulated method
+	 * @return the resulting protocol
+	 */
 	public <T> ApplicationProtocol<T> execute(final ApplicationProtocol<T> state, final Object[] args) {
+		this.validateArgs(args);
+		if (this.resultCache == null && this.singleFlight == null) {
+			return this.executeObserved(state, args);
+		}
+		final List<Object> key = InvocationKey.of(args, state, this.keyAppendixes);
+		if (this.resultCache != null) {
+			final ApplicationProtocol<?> cached = this.resultCache.get(key);
+			if (cached != null) {
+				return InvocationEffect.replay(cached, state);
+			}
+		}
+		final ApplicationProtocol<T> input = state.copy();
+		final ApplicationProtocol<T> result = this.singleFlight != null
+				? this.singleFlight.execute(key, state, () -> this.executeObserved(state, args))
+				: this.executeObserved(state, args);
+		if (this.resultCache != null) {
+			this.resultCache.put(key, InvocationEffect.of(result, input));
+		}
+		return result;
+	}
+
+	private <T> ApplicationProtocol<T> executeObserved(final ApplicationProtocol<T> state, final Object[] args) {
+		final MethodExecutionEvent event = new MethodExecutionEvent();
+		event.begin();
+		ApplicationProtocol<T> result = state;
+		boolean failed = true;
+		try {
+			result = this.executeOperations(state, args);
+			failed = false;
+			return result;
+		} finally {
+			if (event.shouldCommit()) {
+				event.emulatedInterface = this.emulatedInterface != null ? this.emulatedInterface.getName() : null;
+				event.method = this.methodIdentifier;
+				event.steps = this.beanOperations.size();
+				event.failed = failed;
+				event.appendixes = result != null ? result.getNumberOfAppendixes() : 0;
+				event.commit();
+			}
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private <T> ApplicationProtocol<T> executeOperations(final ApplicationProtocol<T> state, final Object[] args) {
 
 		ApplicationProtocol<T> intermediateState = state;
-		this.validateArgs(args);
 
 		// call all bean methods defined
-		for (final BeanOperation o : this.beanOperations) {
-			try {
-				intermediateState = (ApplicationProtocol<T>) o.execute(intermediateState, args);
-			} catch (final RequiredParameterException e) {
-				// bean method misses parameter annotated as required
-				continue;
+		if (this.dataflowSchedule != null) {
+			intermediateState = this.dataflowSchedule.execute(intermediateState, args);
+		} else {
+			for (final BeanOperation o : this.beanOperations) {
+				intermediateState = executeOperation(o, intermediateState, args);
 			}
 		}
+		if (this.parallelOperation != null) {
+			intermediateState = (ApplicationProtocol<T>) this.parallelOperation.execute(intermediateState, args);
+		}
 
 		return intermediateState;
 	}
 
+	/**
+	 * Executes the bean operations asynchronously. The first bean is called by the
+	 * executor. The following beans are called by the thread which finished the
+	 * previous one. After a bean returning a {@link CompletionStage}, the chain
+	 * continues on the executor again.
+	 *
+	 * @param state the protocol
+	 * @param args  the arguments of the emulated method
+	 * @return the future providing the resulting protocol
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> CompletableFuture<ApplicationProtocol<T>> executeAsync(final ApplicationProtocol<T> state,
+			final Object[] args) {
+		this.validateArgs(args);
+
+		// build the whole chain before it is started, otherwise parts of it could be
+		// executed by the calling thread
+		final CompletableFuture<ApplicationProtocol<T>> start = new CompletableFuture<>();
+		CompletableFuture<ApplicationProtocol<T>> chain = start;
+		boolean continueOnExecutor = true;
+		if (this.dataflowSchedule != null) {
+			chain = chain.thenApplyAsync(s -> this.dataflowSchedule.execute(s, args), this.executor);
+			continueOnExecutor = false;
+		} else {
+			for (final BeanOperation o : this.beanOperations) {
+				chain = continueOnExecutor
+						? chain.thenComposeAsync(s -> executeOperationAsync(o, s, args), this.executor)
+						: chain.thenCompose(s -> executeOperationAsync(o, s, args));
+				continueOnExecutor = o.isAsynchronous();
+			}
+		}
+		if (this.parallelOperation != null) {
+			chain = continueOnExecutor
+					? chain.thenApplyAsync(s -> (ApplicationProtocol<T>) this.parallelOperation.execute(s, args),
+							this.executor)
+					: chain.thenApply(s -> (ApplicationProtocol<T>) this.parallelOperation.execute(s, args));
+		}
+		start.complete(state);
+
+		return chain;
+	}
+
+	/**
+	 * Executes the bean operations for several items. The operations are executed
+	 * one after the other, each for all items. The split and join as well as
+	 * {@link ExecutionStrategy#DATAFLOW} are executed item by item.
+	 *
+	 * @param states the protocol of each item
+	 * @param args   the arguments of each item
+	 * @return the resulting protocol of each item
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> List<ApplicationProtocol<T>> executeBatch(final List<ApplicationProtocol<T>> states,
+			final List<Object[]> args) {
+		args.forEach(this::validateArgs);
+
+		List<ApplicationProtocol<?>> intermediateStates = new ArrayList<>(states);
+		if (this.dataflowSchedule != null) {
+			for (int i = 0; i < states.size(); i++) {
+				intermediateStates.set(i, this.dataflowSchedule.execute(states.get(i), args.get(i)));
+			}
+		} else {
+			for (final BeanOperation o : this.beanOperations) {
+				intermediateStates = o.executeBatch(intermediateStates, args);
+			}
+		}
+		if (this.parallelOperation != null) {
+			for (int i = 0; i < states.size(); i++) {
+				intermediateStates.set(i, this.parallelOperation.execute(intermediateStates.get(i), args.get(i)));
+			}
+		}
+
+		final List<ApplicationProtocol<T>> results = new ArrayList<>(intermediateStates.size());
+		intermediateStates.forEach(s -> results.add((ApplicationProtocol<T>) s));
+		return results;
+	}
+
+	/**
+	 * Executes a batch method. Each item gets its own copy of the given protocol.
+	 *
+	 * @param state the protocol provided to the batch method
+	 * @param args  the arguments of the batch method
+	 * @return the resulting protocol of each item
+	 */
+	<T> List<ApplicationProtocol<T>> emulateBatch(final ApplicationProtocol<T> state, final Object[] args) {
+		final List<?> items = (List<?>) args[this.batchParameter];
+		final List<ApplicationProtocol<T>> states = new ArrayList<>(items.size());
+		final List<Object[]> itemArgs = new ArrayList<>(items.size());
+		final int last = args.length - 1;
+		for (final Object item : items) {
+			final ApplicationProtocol<T> itemState = state.copy();
+			final Object[] a = args.clone();
+			a[this.batchParameter] = item;
+			if (a[last] == state) {
+				a[last] = itemState;
+			}
+			states.add(itemState);
+			itemArgs.add(a);
+		}
+
+		return this.batchOf.executeBatch(states, itemArgs);
+	}
+
+	/**
+	 * Turns this description into the batch form of another method.
+	 *
+	 * @param single         the method executed per item
+	 * @param batchParameter the position of the list of items
+	 * @return itself for chained execution
+	 */
+	MethodImplementation batchOf(final MethodImplementation single, final int batchParameter) {
+		this.batchOf = single;
+		this.batchParameter = batchParameter;
+
+		return this;
+	}
+
+	/**
+	 * @return true, if this is the batch form of another method
+	 */
+	boolean isBatch() {
+		return this.batchOf != null;
+	}
+
+	/**
+	 * Executes a single bean operation. If the bean method misses a parameter
+	 * annotated as required, the state is returned unchanged.
+	 *
+	 * @param operation the operation to execute
+	 * @param state     the protocol
+	 * @param args      the arguments of the emulated method
+	 * @return the resulting protocol
+	 */
+	@SuppressWarnings("unchecked")
+	static <T> ApplicationProtocol<T> executeOperation(final BeanOperation operation,
+			final ApplicationProtocol<T> state, final Object[] args) {
+		try {
+			return (ApplicationProtocol<T>) operation.execute(state, args);
+		} catch (final RequiredParameterException e) {
+			// bean method misses parameter annotated as required
+			return state;
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> CompletionStage<ApplicationProtocol<T>> executeOperationAsync(final BeanOperation operation,
+			final ApplicationProtocol<T> state, final Object[] args) {
+		try {
+			return operation.executeAsync(state, args)
+					.thenApply(s -> (ApplicationProtocol<T>) s);
+		} catch (final RequiredParameterException e) {
+			// bean method misses parameter annotated as required
+			return CompletableFuture.completedFuture(state);
+		}
+	}
+
 	/**
 	 * The method is derived from the interface. Within the interface the method is
 	 * selected by the configured method identifier. Therefore this information is
@@ -122,11 +403,83 @@ public class MethodImplementation {
 	}
 
 	public void init(final DaisyChainDispatcher dispatcher, final ApplicationContext context) {
-		this.beanOperations.stream().forEach(o -> o.init(this, context));
+		for (int i = 0; i < this.beanOperations.size(); i++) {
+			this.beanOperations.get(i).position(i);
+			this.beanOperations.get(i).init(this, context);
+		}
+		if (this.parallelOperation != null) {
+			this.parallelOperation.init(context);
+		}
 		this.dispatcher = dispatcher;
 
 		Assert.notNull(this.method, "the method is required to initialize the handling");
+		this.emulatedInterface = dispatcher != null ? dispatcher.getImplementationInterface()
+				: this.method.getDeclaringClass();
+		this.asynchronous = CompletionStage.class.isAssignableFrom(this.method.getReturnType());
+		if (this.asynchronous || this.executionStrategy == ExecutionStrategy.DATAFLOW) {
+			this.executor = ExecutorResolver.resolve(context, this.executorName);
+		}
+		if (this.executionStrategy == ExecutionStrategy.DATAFLOW) {
+			this.dataflowSchedule = new DataflowSchedule(this.beanOperations, this.executor);
+		}
 		this.evaluateMethodAnnotations();
+		this.initResultCache();
+		this.registerMetrics(context);
+		this.registerCaches(context);
+	}
+
+	private void initResultCache() {
+		final SingleFlight singleFlightAnnotation = this.method.getAnnotation(SingleFlight.class);
+		if (singleFlightAnnotation != null) {
+			if (this.asynchronous) {
+				throw BuilderException.invalidCachedMethod(this.emulatedInterface, this.methodIdentifier,
+						"asynchronous methods cannot be coalesced");
+			}
+			this.singleFlight = new SingleFlightGroup();
+			this.keyAppendixes = singleFlightAnnotation.appendixes();
+		}
+		final CachedResult cachedResult = this.method.getAnnotation(CachedResult.class);
+		if (cachedResult == null) {
+			return;
+		}
+		if (this.asynchronous) {
+			throw BuilderException.invalidCachedMethod(this.emulatedInterface, this.methodIdentifier,
+					"asynchronous methods cannot be cached");
+		}
+		if (singleFlightAnnotation != null && !new HashSet<>(Arrays.asList(singleFlightAnnotation.appendixes()))
+				.equals(new HashSet<>(Arrays.asList(cachedResult.appendixes())))) {
+			throw BuilderException.invalidCachedMethod(this.emulatedInterface, this.methodIdentifier,
+					"@SingleFlight and @CachedResult declare different appendixes");
+		}
+		this.resultCache = StepCache.of(cachedResult);
+		this.keyAppendixes = cachedResult.appendixes();
+	}
+
+	private void registerCaches(final ApplicationContext context) {
+		final ResultCacheRegistry registry = ResultCacheRegistry.lookup(context);
+		if (registry == null) {
+			return;
+		}
+		if (this.resultCache != null) {
+			registry.register(this.emulatedInterface, this.methodIdentifier, this.resultCache,
+					this.method.getAnnotation(CachedResult.class).invalidatedBy());
+		}
+		if (this.singleFlight != null) {
+			registry.register(this.emulatedInterface, this.methodIdentifier, this.singleFlight);
+		}
+		this.beanOperations.stream()
+				.filter(o -> o.getStepCache() != null)
+				.forEach(o -> registry.register(o.getStepCache(),
+						o.getMethod().getAnnotation(Memoized.class).invalidatedBy()));
+	}
+
+	private void registerMetrics(final ApplicationContext context) {
+		final StepMetricsRegistry registry = StepMetricsRegistry.lookup(context);
+		if (registry == null) {
+			return;
+		}
+		this.beanOperations.forEach(o -> o.metrics(
+				registry.register(this.emulatedInterface, this.methodIdentifier, o)));
 	}
 
 	private void validateArgs(final Object[] args) {
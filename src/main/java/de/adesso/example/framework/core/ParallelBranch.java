@@ -0,0 +1,56 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright © 2020 Matthias Brenner and Adesso SE
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the “Software”), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package de.adesso.example.framework.core;
+
+import de.adesso.example.framework.ApplicationProtocol;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * A part of the work created by a {@link ParallelSplit}. It keeps the arguments
+ * of the branch method and after execution its result.
+ *
+ * @author Matthias
+ *
+ */
+@Getter
+@ToString
+public class ParallelBranch {
+
+	/** the part of the work processed by the branch, e.g. an element of a list */
+	private final Object subject;
+	/** the arguments of the branch method */
+	private final Object[] arguments;
+	/** the protocol returned by the branch method, set after execution */
+	@Setter(value = AccessLevel.PACKAGE)
+	private ApplicationProtocol<?> result;
+
+	public ParallelBranch(final Object subject, final Object... arguments) {
+		this.subject = subject;
+		this.arguments = arguments;
+	}
+}
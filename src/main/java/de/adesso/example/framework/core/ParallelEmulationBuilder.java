@@ -0,0 +1,83 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright © 2020 Matthias Brenner and Adesso SE
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the “Software”), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package de.adesso.example.framework.core;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * Reads the method implementations of all emulated interfaces in parallel as
+ * soon as the interfaces are known. The {@link ApplicationProxyFactory} of each
+ * interface takes the prepared implementations instead of reading them on the
+ * thread refreshing the context. Initializing the implementations still
+ * happens in the factory, because it needs the application context.
+ *
+ * @author Matthias
+ *
+ */
+@Log4j2
+class ParallelEmulationBuilder {
+
+	private final Map<Class<?>, CompletableFuture<List<MethodImplementation>>> builds = new ConcurrentHashMap<>();
+
+	ParallelEmulationBuilder(final Collection<Class<Object>> emulatedInterfaces,
+			final EmulationDefinitionReader reader, final Executor executor) {
+		for (final Class<Object> emulatedInterface : emulatedInterfaces) {
+			this.builds.put(emulatedInterface, CompletableFuture.supplyAsync(
+					() -> reader.readMethodImplementations(emulatedInterface), executor));
+		}
+		log.atDebug().log("reading {} emulated interfaces in parallel", emulatedInterfaces.size());
+	}
+
+	/**
+	 * Takes the implementations of the interface. Waits for them, if they are not
+	 * yet read.
+	 *
+	 * @param emulatedInterface the emulated interface
+	 * @return the implementations of its methods or null, if the interface was not
+	 *         prepared
+	 */
+	List<MethodImplementation> take(final Class<?> emulatedInterface) {
+		final CompletableFuture<List<MethodImplementation>> build = this.builds.remove(emulatedInterface);
+		if (build == null) {
+			return null;
+		}
+		try {
+			return build.join();
+		} catch (final CompletionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw e;
+		}
+	}
+}
@@ -24,6 +24,30 @@
  */
 package de.adesso.example.framework.core;
 
-public class ParallelJoin {
+import java.util.List;
 
+import de.adesso.example.framework.ApplicationProtocol;
+import de.adesso.example.framework.annotation.SplitJoinDefinition;
+
+/**
+ * The join combines the results of the branches created by a
+ * {@link ParallelSplit}, see {@link SplitJoinDefinition}.
+ *
+ * @author Matthias
+ *
+ */
+public abstract class ParallelJoin {
+
+	/**
+	 * Combines the results of the branches. The join is called after all branches
+	 * have finished. The branches are provided in the order of the split, so the
+	 * result does not depend on the order the branches finished.
+	 *
+	 * @param args     the arguments of the emulated method
+	 * @param state    the protocol of the emulated method
+	 * @param branches the branches containing their results
+	 * @return the protocol of the emulated method
+	 */
+	public abstract ApplicationProtocol<?> join(Object[] args, ApplicationProtocol<?> state,
+			List<ParallelBranch> branches);
 }
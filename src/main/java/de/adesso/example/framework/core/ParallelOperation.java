@@ -0,0 +1,264 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright © 2020 Matthias Brenner and Adesso SE
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the “Software”), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package de.adesso.example.framework.core;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.beans.BeansException;
+import org.springframework.context.ApplicationContext;
+import org.springframework.util.Assert;
+
+import de.adesso.example.framework.ApplicationProtocol;
+import de.adesso.example.framework.annotation.SplitJoinDefinition;
+import de.adesso.example.framework.exception.BeanCallException;
+import de.adesso.example.framework.exception.BuilderException;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * This class describes a split and join as part of an emulated method, see
+ * {@link SplitJoinDefinition}. The {@link ParallelSplit} divides the work into
+ * branches, each branch is processed by the branch method on the configured
+ * executor and the {@link ParallelJoin} combines the results.
+ * <p>
+ * The results are provided to the join in the order of the split. Therefore the
+ * result of the operation does not depend on the scheduling of the branches.
+ * <p>
+ * The calling thread does not only wait for the branches. It executes the
+ * branches which are not yet started by the executor itself. So a split within
+ * a branch does not block a thread of a bounded executor waiting for branches
+ * queued behind it.
+ *
+ * @author Matthias
+ *
+ */
+@Getter(value = AccessLevel.PACKAGE)
+@Log4j2
+@ToString
+public class ParallelOperation {
+
+	/** type of the bean dividing the work */
+	private final Class<? extends ParallelSplit> splitType;
+	/** type of the bean processing a single branch */
+	private final Class<?> branchType;
+	/** identifier of the method processing a single branch */
+	private final String branchMethodIdentifier;
+	/** type of the bean combining the results */
+	private final Class<? extends ParallelJoin> joinType;
+	/** bean name of the executor, empty for the common pool */
+	private final String executorName;
+
+	@ToString.Exclude
+	private ParallelSplit splitter;
+	@ToString.Exclude
+	private Object branchImplementation;
+	@ToString.Exclude
+	private Method branchMethod;
+	@ToString.Exclude
+	private BeanInvoker branchInvoker;
+	@ToString.Exclude
+	private ParallelJoin joiner;
+	@ToString.Exclude
+	private Executor executor;
+
+	@Builder
+	private ParallelOperation(final Class<? extends ParallelSplit> splitType, final Class<?> branchType,
+			final String branchMethodIdentifier, final Class<? extends ParallelJoin> joinType,
+			final String executorName) {
+		Assert.notNull(splitType, "the split is required");
+		Assert.notNull(branchType, "the branch bean is required");
+		Assert.hasText(branchMethodIdentifier, "the branch method is required");
+		Assert.notNull(joinType, "the join is required");
+
+		this.splitType = splitType;
+		this.branchType = branchType;
+		this.branchMethodIdentifier = branchMethodIdentifier;
+		this.joinType = joinType;
+		this.executorName = executorName == null ? "" : executorName;
+	}
+
+	/**
+	 * Builds the operation from its annotation.
+	 *
+	 * @param definition the annotation of the emulated method
+	 * @return the operation
+	 */
+	static ParallelOperation from(final SplitJoinDefinition definition) {
+		return ParallelOperation.builder()
+				.splitType(definition.split())
+				.branchType(definition.branch().bean())
+				.branchMethodIdentifier(definition.branch().method())
+				.joinType(definition.join())
+				.executorName(definition.executor())
+				.build();
+	}
+
+	/**
+	 * Loads the beans and the executor.
+	 *
+	 * @param context application context to load beans
+	 */
+	public void init(final ApplicationContext context) {
+		this.splitter = this.loadBean(context, this.splitType);
+		this.joiner = this.loadBean(context, this.joinType);
+		this.branchImplementation = this.loadBean(context, this.branchType);
+		this.branchMethod = this.findBranchMethod();
+		this.branchInvoker = BeanInvokerFactory.compile(this.branchMethod);
+		this.executor = ExecutorResolver.resolve(context, this.executorName);
+	}
+
+	/**
+	 * Splits the work, executes the branches in parallel and joins the results.
+	 *
+	 * @param state application protocol instance
+	 * @param args  arguments of the emulated method
+	 * @return the protocol provided by the join
+	 */
+	public ApplicationProtocol<?> execute(final ApplicationProtocol<?> state, final Object[] args) {
+		final List<ParallelBranch> branches = this.splitter.split(args, state);
+
+		// start all branches before waiting for the first one
+		final List<BranchTask> tasks = new ArrayList<>(branches.size());
+		for (final ParallelBranch branch : branches) {
+			final BranchTask task = new BranchTask(branch);
+			tasks.add(task);
+			try {
+				this.executor.execute(task);
+			} catch (final RejectedExecutionException e) {
+				// the task is executed by the calling thread below
+				log.atDebug().log("branch rejected by the executor, executing it in the calling thread");
+			}
+		}
+		// help with the branches the executor did not start yet
+		tasks.forEach(BranchTask::run);
+		// keep the order of the split
+		for (int i = 0; i < branches.size(); i++) {
+			branches.get(i).setResult(this.await(tasks.get(i).result));
+		}
+
+		return this.joiner.join(args, state, branches);
+	}
+
+	private ApplicationProtocol<?> executeBranch(final ParallelBranch branch) {
+		try {
+			return (ApplicationProtocol<?>) this.branchInvoker.invoke(this.branchImplementation,
+					branch.getArguments());
+		} catch (final Exception e) {
+			throw BeanCallException.callFailedWithException(this.branchImplementation.getClass(),
+					this.branchMethod, e);
+		}
+	}
+
+	private ApplicationProtocol<?> await(final CompletableFuture<ApplicationProtocol<?>> future) {
+		try {
+			return future.join();
+		} catch (final CompletionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			if (e.getCause() instanceof Error) {
+				throw (Error) e.getCause();
+			}
+			throw BeanCallException.callFailedWithException(this.branchImplementation.getClass(),
+					this.branchMethod, e.getCause());
+		}
+	}
+
+	/**
+	 * A branch executed by the executor or the calling thread, whoever starts it
+	 * first.
+	 */
+	private final class BranchTask implements Runnable {
+
+		private final ParallelBranch branch;
+		private final AtomicBoolean started = new AtomicBoolean();
+		private final CompletableFuture<ApplicationProtocol<?>> result = new CompletableFuture<>();
+
+		private BranchTask(final ParallelBranch branch) {
+			this.branch = branch;
+		}
+
+		@Override
+		public void run() {
+			if (!this.started.compareAndSet(false, true)) {
+				return;
+			}
+			try {
+				this.result.complete(ParallelOperation.this.executeBranch(this.branch));
+			} catch (final RuntimeException e) {
+				this.result.completeExceptionally(e);
+			} catch (final Error e) {
+				this.result.completeExceptionally(e);
+				throw e;
+			}
+		}
+	}
+
+	/**
+	 * Looks up the branch method by its name. The arguments are provided by the
+	 * split at runtime, so an overloaded name cannot be resolved.
+	 */
+	private Method findBranchMethod() {
+		Method found = null;
+		for (final Method method : this.branchType.getMethods()) {
+			if (method.isBridge() || !this.branchMethodIdentifier.equals(method.getName())) {
+				continue;
+			}
+			if (found != null) {
+				throw BuilderException.ambiguousMethod(this.branchType, this.branchMethodIdentifier);
+			}
+			found = method;
+		}
+		if (found == null) {
+			throw BuilderException.methodNotFound(this.branchType, this.branchMethodIdentifier);
+		}
+		return found;
+	}
+
+	private <T> T loadBean(final ApplicationContext context, final Class<T> type) {
+		try {
+			return context.getBean(type);
+		} catch (final BeansException e) {
+			// ignore that exception. It might be a POJO.
+			log.atDebug().log("given type is not a valid bean: {}, try classloader", type.getName());
+		}
+
+		try {
+			return type.getDeclaredConstructor().newInstance();
+		} catch (final ReflectiveOperationException | SecurityException e) {
+			throw BuilderException.classNotLoaded(type.getName(), e);
+		}
+	}
+}
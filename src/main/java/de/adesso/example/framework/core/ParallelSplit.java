@@ -24,6 +24,29 @@
  */
 package de.adesso.example.framework.core;
 
-public class ParallelSplit {
+import java.util.List;
 
+import de.adesso.example.framework.ApplicationProtocol;
+import de.adesso.example.framework.annotation.SplitJoinDefinition;
+
+/**
+ * The split divides the work of an emulated method into branches which are
+ * processed in parallel, see {@link SplitJoinDefinition}.
+ *
+ * @author Matthias
+ *
+ */
+public abstract class ParallelSplit {
+
+	/**
+	 * Divides the work into branches. Each branch provides the arguments for the
+	 * call of the branch method. The branches run on different threads, so each
+	 * branch requires its own {@link ApplicationProtocol}. The protocol of the
+	 * emulated method may not be handed over to a branch.
+	 *
+	 * @param args  the arguments of the emulated method
+	 * @param state the protocol of the emulated method
+	 * @return the branches in the order their results should be joined
+	 */
+	public abstract List<ParallelBranch> split(Object[] args, ApplicationProtocol<?> state);
 }
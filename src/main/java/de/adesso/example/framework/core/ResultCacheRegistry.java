@@ -0,0 +1,162 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright © 2020 Matthias Brenner and Adesso SE
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the “Software”), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package de.adesso.example.framework.core;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationContext;
+import org.springframework.stereotype.Component;
+
+import de.adesso.example.framework.annotation.CachedResult;
+import de.adesso.example.framework.annotation.Memoized;
+import de.adesso.example.framework.annotation.SingleFlight;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * Registry of the caches of the emulated methods annotated with
+ * {@link CachedResult} and of the bean methods annotated with {@link Memoized}.
+ * It also provides the executions in flight of the emulated methods annotated
+ * with {@link SingleFlight}.
+ * The caches are registered during initialization with the tags they are
+ * invalidated by. The application calls {@link #invalidate(String)} when data
+ * the cached results depend on has changed, e.g. the prices of the catalog.
+ *
+ * @author Matthias
+ *
+ */
+@Component
+@Log4j2
+public class ResultCacheRegistry {
+
+	private final List<StepCache> caches = new CopyOnWriteArrayList<>();
+	private final Map<String, List<StepCache>> cachesByTag = new ConcurrentHashMap<>();
+	private final Map<String, StepCache> cachesByMethod = new ConcurrentHashMap<>();
+	private final Map<String, SingleFlightGroup> singleFlights = new ConcurrentHashMap<>();
+
+	/**
+	 * Looks up the registry in the context.
+	 *
+	 * @param context the application context, may be null
+	 * @return the registry or null, if the context does not provide one
+	 */
+	static ResultCacheRegistry lookup(final ApplicationContext context) {
+		if (context == null) {
+			return null;
+		}
+		final ObjectProvider<ResultCacheRegistry> provider = context.getBeanProvider(ResultCacheRegistry.class);
+		return provider != null ? provider.getIfAvailable() : null;
+	}
+
+	/**
+	 * Registers the cache of an emulated method.
+	 *
+	 * @param emulatedInterface the interface of the method
+	 * @param methodIdentifier  the emulated method
+	 * @param cache             the cache of the invocations
+	 * @param tags              the tags the cache is invalidated by
+	 */
+	void register(final Class<?> emulatedInterface, final String methodIdentifier, final StepCache cache,
+			final String[] tags) {
+		this.cachesByMethod.put(key(emulatedInterface, methodIdentifier), cache);
+		this.register(cache, tags);
+	}
+
+	/**
+	 * Registers the executions in flight of an emulated method.
+	 *
+	 * @param emulatedInterface the interface of the method
+	 * @param methodIdentifier  the emulated method
+	 * @param singleFlight      the executions in flight
+	 */
+	void register(final Class<?> emulatedInterface, final String methodIdentifier,
+			final SingleFlightGroup singleFlight) {
+		this.singleFlights.put(key(emulatedInterface, methodIdentifier), singleFlight);
+	}
+
+	/**
+	 * Registers a cache to be invalidated by the given tags.
+	 *
+	 * @param cache the cache
+	 * @param tags  the tags the cache is invalidated by
+	 */
+	void register(final StepCache cache, final String[] tags) {
+		this.caches.add(cache);
+		for (final String tag : tags) {
+			this.cachesByTag.computeIfAbsent(tag, t -> new CopyOnWriteArrayList<>()).add(cache);
+		}
+	}
+
+	/**
+	 * Removes all cached results depending on the changed data.
+	 *
+	 * @param tag the tag of the changed data
+	 */
+	public void invalidate(final String tag) {
+		final List<StepCache> caches = this.cachesByTag.get(tag);
+		if (caches == null) {
+			return;
+		}
+		log.atDebug().log("invalidate {} caches of {}", caches.size(), tag);
+		caches.forEach(StepCache::clear);
+	}
+
+	/**
+	 * Removes all cached results of all registered caches.
+	 */
+	public void invalidateAll() {
+		this.caches.forEach(StepCache::clear);
+	}
+
+	/**
+	 * Returns the cache of an emulated method.
+	 *
+	 * @param emulatedInterface the interface of the method
+	 * @param methodIdentifier  the emulated method
+	 * @return the cache or null, if the method is not cached
+	 */
+	public StepCache getResultCache(final Class<?> emulatedInterface, final String methodIdentifier) {
+		return this.cachesByMethod.get(key(emulatedInterface, methodIdentifier));
+	}
+
+	/**
+	 * Returns the executions in flight of an emulated method, which provide the
+	 * number of coalesced invocations.
+	 *
+	 * @param emulatedInterface the interface of the method
+	 * @param methodIdentifier  the emulated method
+	 * @return the executions in flight or null, if the method is not coalesced
+	 */
+	public SingleFlightGroup getSingleFlight(final Class<?> emulatedInterface, final String methodIdentifier) {
+		return this.singleFlights.get(key(emulatedInterface, methodIdentifier));
+	}
+
+	private static String key(final Class<?> emulatedInterface, final String methodIdentifier) {
+		return emulatedInterface.getName() + "::" + methodIdentifier;
+	}
+}
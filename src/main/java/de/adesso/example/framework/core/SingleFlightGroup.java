@@ -0,0 +1,128 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright © 2020 Matthias Brenner and Adesso SE
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the “Software”), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package de.adesso.example.framework.core;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import de.adesso.example.framework.ApplicationProtocol;
+import de.adesso.example.framework.annotation.SingleFlight;
+
+/**
+ * Executions of an emulated method declared as {@link SingleFlight}, which are
+ * in flight. The first invocation of a key executes the chain, identical
+ * invocations arriving meanwhile wait for it and take its effect. Once the execution is finished,
+ * the key is removed, so a later invocation executes the chain again.
+ *
+ * @author Matthias
+ *
+ */
+public class SingleFlightGroup {
+
+	private final Map<List<Object>, CompletableFuture<ApplicationProtocol<?>>> inFlight = new ConcurrentHashMap<>();
+
+	private final LongAdder executions = new LongAdder();
+	private final LongAdder coalesced = new LongAdder();
+
+	/**
+	 * Executes the chain or waits for the identical execution in flight.
+	 *
+	 * @param key       the key of the invocation, see {@link InvocationKey}
+	 * @param state     the protocol of the invocation
+	 * @param execution executes the chain on the protocol
+	 * @return the result of the own execution or the given protocol with the
+	 *         effect of the execution in flight applied, see
+	 *         {@link InvocationEffect}
+	 */
+	<T> ApplicationProtocol<T> execute(final List<Object> key, final ApplicationProtocol<T> state,
+			final Supplier<ApplicationProtocol<T>> execution) {
+		final CompletableFuture<ApplicationProtocol<?>> flight = new CompletableFuture<>();
+		final CompletableFuture<ApplicationProtocol<?>> running = this.inFlight.putIfAbsent(key, flight);
+		if (running != null) {
+			this.coalesced.increment();
+			return InvocationEffect.replay(await(running), state);
+		}
+
+		this.executions.increment();
+		final ApplicationProtocol<T> input = state.copy();
+		try {
+			final ApplicationProtocol<T> result = execution.get();
+			final ApplicationProtocol<T> effect = InvocationEffect.of(result, input);
+			this.inFlight.remove(key, flight);
+			flight.complete(effect);
+			return result;
+		} catch (final RuntimeException | Error e) {
+			this.inFlight.remove(key, flight);
+			flight.completeExceptionally(e);
+			throw e;
+		}
+	}
+
+	private static ApplicationProtocol<?> await(final CompletableFuture<ApplicationProtocol<?>> running) {
+		try {
+			return running.join();
+		} catch (final CompletionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			if (e.getCause() instanceof Error) {
+				throw (Error) e.getCause();
+			}
+			throw e;
+		}
+	}
+
+	/**
+	 * @return number of executions of the chain
+	 */
+	public long getExecutions() {
+		return this.executions.sum();
+	}
+
+	/**
+	 * @return number of invocations, which waited for an execution in flight
+	 */
+	public long getCoalesced() {
+		return this.coalesced.sum();
+	}
+
+	/**
+	 * @return number of executions in flight
+	 */
+	public int getInFlight() {
+		return this.inFlight.size();
+	}
+
+	@Override
+	public String toString() {
+		return String.format("executions %d, coalesced %d, in flight %d", this.getExecutions(), this.getCoalesced(),
+				this.getInFlight());
+	}
+}
@@ -0,0 +1,255 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright © 2020 Matthias Brenner and Adesso SE
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the “Software”), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package de.adesso.example.framework.core;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import de.adesso.example.framework.annotation.BatchImplementation;
+import de.adesso.example.framework.exception.BeanCallException;
+
+/**
+ * Collects single calls of a bean method of concurrent callers and calls the
+ * batch form of the method once for them, see
+ * {@link BatchImplementation#collectWindowMicros()}. The first call of a batch
+ * waits for further calls and executes the batch method. The other callers
+ * wait for its result. The arguments are prepared by each caller, so a caller
+ * skipping the bean does not join the batch.
+ * <p>
+ * Unless the window is fixed, the first call waits only while an earlier batch
+ * is executed, at most for the window. An uncontended call is executed at once,
+ * the calls arriving during the execution of a batch form the next one. The
+ * callers wait on a {@link ReentrantLock}, which does not pin virtual threads.
+ * <p>
+ * If the batch method fails for more than one call, each caller calls the
+ * single method for its own call. So an item failing the batch fails only its
+ * caller, and the others receive their results. A batch method has to fail
+ * without effects, since its calls are repeated.
+ *
+ * @author Matthias
+ *
+ */
+public class StepBatchCollector {
+
+	private final Object implementation;
+	private final BeanInvoker invoker;
+	private final Method batchMethod;
+	private final BeanInvoker batchInvoker;
+	private final int numberOfParameters;
+	private final int maxBatchSize;
+	private final long windowNanos;
+	private final boolean fixedWindow;
+
+	private final Lock lock = new ReentrantLock();
+	/** signalled when a batch is full or executed */
+	private final Condition changed = this.lock.newCondition();
+	/** the batch collecting calls, null if there is none */
+	private Batch collecting;
+	/** number of batches being executed */
+	private int executing;
+
+	private final LongAdder batches = new LongAdder();
+	private final LongAdder calls = new LongAdder();
+	private final LongAdder isolatedCalls = new LongAdder();
+
+	StepBatchCollector(final Object implementation, final BeanInvoker invoker, final Method batchMethod,
+			final BeanInvoker batchInvoker, final int numberOfParameters, final int maxBatchSize, final long window,
+			final TimeUnit unit, final boolean fixedWindow) {
+		this.implementation = implementation;
+		this.invoker = invoker;
+		this.batchMethod = batchMethod;
+		this.batchInvoker = batchInvoker;
+		this.numberOfParameters = numberOfParameters;
+		this.maxBatchSize = Math.max(1, maxBatchSize);
+		this.windowNanos = unit.toNanos(window);
+		this.fixedWindow = fixedWindow;
+	}
+
+	/**
+	 * Adds the call to the batch and waits for the result of the batch method.
+	 *
+	 * @param methodArguments the prepared arguments of the single call
+	 * @return the result of the batch method for this call, or of the single
+	 *         method if the batch failed
+	 * @throws Exception the failure of the batch method, or of the single method
+	 *                   if the batch failed
+	 */
+	Object invoke(final Object[] methodArguments) throws Exception {
+		final Batch batch;
+		final int index;
+		final boolean first;
+		this.lock.lock();
+		try {
+			first = this.collecting == null;
+			if (first) {
+				this.collecting = new Batch(System.nanoTime() + this.windowNanos);
+			}
+			batch = this.collecting;
+			index = batch.arguments.size();
+			batch.arguments.add(methodArguments);
+			if (batch.arguments.size() >= this.maxBatchSize) {
+				// full, the first caller stops waiting
+				this.collecting = null;
+				this.changed.signalAll();
+			}
+		} finally {
+			this.lock.unlock();
+		}
+		this.calls.increment();
+		if (first) {
+			this.awaitWindow(batch);
+			try {
+				this.execute(batch);
+			} finally {
+				this.executed();
+			}
+		}
+
+		try {
+			return batch.results.join().get(index);
+		} catch (final CompletionException e) {
+			if (e.getCause() instanceof Error) {
+				throw (Error) e.getCause();
+			}
+			if (batch.arguments.size() == 1) {
+				throw (Exception) e.getCause();
+			}
+		}
+		// isolate the failing items
+		this.isolatedCalls.increment();
+		return this.invoker.invoke(this.implementation, methodArguments);
+	}
+
+	/**
+	 * Waits until the batch is full or the window is over. Unless the window is
+	 * fixed, it waits only while an earlier batch is executed.
+	 */
+	private void awaitWindow(final Batch batch) {
+		this.lock.lock();
+		try {
+			long remaining = batch.deadline - System.nanoTime();
+			while (this.collecting == batch && remaining > 0 && (this.fixedWindow || this.executing > 0)) {
+				try {
+					remaining = this.changed.awaitNanos(remaining);
+				} catch (final InterruptedException e) {
+					// execute the calls collected so far
+					Thread.currentThread().interrupt();
+					break;
+				}
+			}
+			if (this.collecting == batch) {
+				this.collecting = null;
+			}
+			this.executing++;
+		} finally {
+			this.lock.unlock();
+		}
+	}
+
+	private void executed() {
+		this.lock.lock();
+		try {
+			this.executing--;
+			this.changed.signalAll();
+		} finally {
+			this.lock.unlock();
+		}
+	}
+
+	private void execute(final Batch batch) {
+		this.batches.increment();
+		final int numberOfCalls = batch.arguments.size();
+		// one list per parameter
+		final Object[] batchArguments = new Object[this.numberOfParameters];
+		for (int p = 0; p < this.numberOfParameters; p++) {
+			final List<Object> parameter = new ArrayList<>(numberOfCalls);
+			for (final Object[] arguments : batch.arguments) {
+				parameter.add(arguments[p]);
+			}
+			batchArguments[p] = parameter;
+		}
+		try {
+			final List<?> results = (List<?>) this.batchInvoker.invoke(this.implementation, batchArguments);
+			if (results == null || results.size() != numberOfCalls) {
+				throw BeanCallException.batchResultMismatch(this.implementation.getClass(), this.batchMethod,
+						numberOfCalls, results == null ? 0 : results.size());
+			}
+			batch.results.complete(results);
+		} catch (final Exception e) {
+			batch.results.completeExceptionally(e);
+		} catch (final Error e) {
+			// the waiting callers fail as well
+			batch.results.completeExceptionally(e);
+			throw e;
+		}
+	}
+
+	/**
+	 * @return number of calls of the batch method
+	 */
+	public long getBatches() {
+		return this.batches.sum();
+	}
+
+	/**
+	 * @return number of single calls collected
+	 */
+	public long getCalls() {
+		return this.calls.sum();
+	}
+
+	/**
+	 * @return number of collected calls repeated as single call after their batch
+	 *         failed
+	 */
+	public long getIsolatedCalls() {
+		return this.isolatedCalls.sum();
+	}
+
+	@Override
+	public String toString() {
+		return String.format("batches %d, collected calls %d, isolated calls %d", this.getBatches(),
+				this.getCalls(), this.getIsolatedCalls());
+	}
+
+	private static class Batch {
+
+		private final long deadline;
+		private final List<Object[]> arguments = new ArrayList<>();
+		private final CompletableFuture<List<?>> results = new CompletableFuture<>();
+
+		Batch(final long deadline) {
+			this.deadline = deadline;
+		}
+	}
+}
@@ -0,0 +1,219 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright © 2020 Matthias Brenner and Adesso SE
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the “Software”), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package de.adesso.example.framework.core;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import de.adesso.example.framework.ApplicationProtocol;
+import de.adesso.example.framework.annotation.CachedResult;
+import de.adesso.example.framework.annotation.Memoized;
+
+/**
+ * Bounded cache of the effects of a bean method declared as {@link Memoized}.
+ * The key is the list of the arguments apart from the protocol, the value is a
+ * protocol holding the result and the appendixes added by the call. The cache
+ * also keeps the result protocols of an emulated method declared as
+ * {@link CachedResult}, keyed by the {@link InvocationKey}.
+ * <p>
+ * Reading takes no lock. An entry older than the time to live is removed when
+ * it is read. When the cache is full, a put evicts approximately the oldest
+ * entry: a hand sweeps over the entries like a clock and the oldest of the next
+ * {@value #SAMPLES} entries is evicted, an expired one at once. Only one thread
+ * sweeps at a time, thus a put waits for the lock of the hand only if the cache
+ * is full.
+ *
+ * @author Matthias
+ *
+ */
+public class StepCache {
+
+	/** number of entries the hand looks at to evict one of them */
+	static final int SAMPLES = 8;
+
+	private final int maximumSize;
+	private final long timeToLiveNanos;
+	private final Map<List<Object>, Entry> entries = new ConcurrentHashMap<>();
+
+	/** guards the hand, only one thread evicts at a time */
+	private final Lock evictionLock = new ReentrantLock();
+	private Iterator<Map.Entry<List<Object>, Entry>> hand = Collections.emptyIterator();
+
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder evictions = new LongAdder();
+
+	StepCache(final int maximumSize, final long timeToLive, final TimeUnit unit) {
+		this.maximumSize = Math.max(1, maximumSize);
+		this.timeToLiveNanos = unit.toNanos(timeToLive);
+	}
+
+	/**
+	 * Creates the cache for the annotated method.
+	 *
+	 * @param memoized the annotation of the method, may be null
+	 * @return the cache or null if the method is not memoized
+	 */
+	static StepCache of(final Memoized memoized) {
+		if (memoized == null) {
+			return null;
+		}
+		return new StepCache(memoized.maximumSize(), memoized.timeToLive(), TimeUnit.SECONDS);
+	}
+
+	/**
+	 * Creates the cache for the annotated emulated method.
+	 *
+	 * @param cachedResult the annotation of the method, may be null
+	 * @return the cache or null if the method is not cached
+	 */
+	static StepCache of(final CachedResult cachedResult) {
+		if (cachedResult == null) {
+			return null;
+		}
+		return new StepCache(cachedResult.maximumSize(), cachedResult.timeToLive(), TimeUnit.SECONDS);
+	}
+
+	/**
+	 * Looks up the effect of a call.
+	 *
+	 * @param key the arguments of the call apart from the protocol
+	 * @return the protocol holding the effect or null if the call is not cached
+	 */
+	ApplicationProtocol<?> get(final List<Object> key) {
+		final Entry entry = this.entries.get(key);
+		if (entry != null) {
+			if (!entry.isExpired(this.timeToLiveNanos)) {
+				this.hits.increment();
+				return entry.effect;
+			}
+			this.evict(key, entry);
+		}
+		this.misses.increment();
+		return null;
+	}
+
+	/**
+	 * Caches the effect of a call. The protocol must not be changed afterwards.
+	 *
+	 * @param key    the arguments of the call apart from the protocol
+	 * @param effect the protocol holding the result and the added appendixes
+	 */
+	void put(final List<Object> key, final ApplicationProtocol<?> effect) {
+		this.entries.put(key, new Entry(effect));
+		if (this.entries.size() > this.maximumSize) {
+			// waiting bounds the cache, even if the sweeping thread is descheduled
+			this.evictionLock.lock();
+			try {
+				while (this.entries.size() > this.maximumSize) {
+					this.evictOne();
+				}
+			} finally {
+				this.evictionLock.unlock();
+			}
+		}
+	}
+
+	/**
+	 * Moves the hand over the next entries and evicts the oldest of them. The
+	 * entries already passed in this round are not looked at again.
+	 */
+	private void evictOne() {
+		Map.Entry<List<Object>, Entry> oldest = null;
+		for (int i = 0; i < SAMPLES; i++) {
+			if (!this.hand.hasNext()) {
+				if (oldest != null) {
+					break;
+				}
+				this.hand = this.entries.entrySet().iterator();
+				if (!this.hand.hasNext()) {
+					return;
+				}
+			}
+			final Map.Entry<List<Object>, Entry> candidate = this.hand.next();
+			if (candidate.getValue().isExpired(this.timeToLiveNanos)) {
+				this.evict(candidate.getKey(), candidate.getValue());
+				return;
+			}
+			if (oldest == null || candidate.getValue().created - oldest.getValue().created < 0) {
+				oldest = candidate;
+			}
+		}
+		if (oldest != null) {
+			this.evict(oldest.getKey(), oldest.getValue());
+		}
+	}
+
+	/** removes the entry, unless it was replaced in the meantime */
+	private void evict(final List<Object> key, final Entry entry) {
+		if (this.entries.remove(key, entry)) {
+			this.evictions.increment();
+		}
+	}
+
+	/**
+	 * Removes all cached calls.
+	 */
+	public void clear() {
+		this.entries.clear();
+	}
+
+	public long getHits() {
+		return this.hits.sum();
+	}
+
+	public long getMisses() {
+		return this.misses.sum();
+	}
+
+	public long getEvictions() {
+		return this.evictions.sum();
+	}
+
+	public int getSize() {
+		return this.entries.size();
+	}
+
+	private static class Entry {
+
+		private final ApplicationProtocol<?> effect;
+		private final long created = System.nanoTime();
+
+		Entry(final ApplicationProtocol<?> effect) {
+			this.effect = effect;
+		}
+
+		boolean isExpired(final long timeToLiveNanos) {
+			return timeToLiveNanos > 0 && System.nanoTime() - this.created > timeToLiveNanos;
+		}
+	}
+}
@@ -0,0 +1,128 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright © 2020 Matthias Brenner and Adesso SE
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the “Software”), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package de.adesso.example.framework.core;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+
+/**
+ * Counters and latencies of one step of an emulated method, thus of one
+ * {@link BeanOperation}. The counters are updated by the operation without
+ * locking.
+ *
+ * @author Matthias
+ *
+ */
+@Getter
+public class StepMetrics {
+
+	/** the interface the method belongs to */
+	private final Class<?> emulatedInterface;
+	/** the emulated method */
+	private final String methodIdentifier;
+	/** position of the step within the method */
+	private final int position;
+	/** bean and method called by the step */
+	private final String step;
+
+	@Getter(AccessLevel.NONE)
+	private final LongAdder invocations = new LongAdder();
+	@Getter(AccessLevel.NONE)
+	private final LongAdder skips = new LongAdder();
+	@Getter(AccessLevel.NONE)
+	private final LongAdder failures = new LongAdder();
+	/** latencies of the invocations including failed ones */
+	private final LatencyHistogram latencies = new LatencyHistogram();
+	/** cache of a memoized step, null for other steps */
+	private final StepCache cache;
+	/** collector of the calls of a step with batch form, null for other steps */
+	private final StepBatchCollector batchCollector;
+
+	StepMetrics(final Class<?> emulatedInterface, final String methodIdentifier, final int position,
+			final String step, final StepCache cache, final StepBatchCollector batchCollector) {
+		this.emulatedInterface = emulatedInterface;
+		this.methodIdentifier = methodIdentifier;
+		this.position = position;
+		this.step = step;
+		this.cache = cache;
+		this.batchCollector = batchCollector;
+	}
+
+	/**
+	 * The bean was not called, because a required parameter is missing.
+	 */
+	void recordSkip() {
+		this.skips.increment();
+	}
+
+	/**
+	 * The bean was called.
+	 *
+	 * @param start     the start of the call in nanoseconds, see
+	 *                  {@link System#nanoTime()}
+	 * @param succeeded false, if the bean threw an exception
+	 */
+	void recordInvocation(final long start, final boolean succeeded) {
+		this.latencies.record(System.nanoTime() - start);
+		this.invocations.increment();
+		if (!succeeded) {
+			this.failures.increment();
+		}
+	}
+
+	public long getInvocations() {
+		return this.invocations.sum();
+	}
+
+	public long getSkips() {
+		return this.skips.sum();
+	}
+
+	public long getFailures() {
+		return this.failures.sum();
+	}
+
+	@Override
+	public String toString() {
+		final String metrics = String.format("%s.%s #%d %s: calls %d, skips %d, failures %d, mean %.1f µs, p50 %.1f µs, "
+				+ "p99 %.1f µs, max %.1f µs",
+				this.emulatedInterface != null ? this.emulatedInterface.getSimpleName() : "?",
+				this.methodIdentifier, this.position, this.step,
+				this.getInvocations(), this.getSkips(), this.getFailures(),
+				this.latencies.getMean() / 1000, this.latencies.getPercentile(50) / 1000.0,
+				this.latencies.getPercentile(99) / 1000.0, this.latencies.getMax() / 1000.0);
+		final StringBuilder sb = new StringBuilder(metrics);
+		if (this.cache != null) {
+			sb.append(String.format(", cache hits %d, misses %d, evictions %d, size %d", this.cache.getHits(),
+					this.cache.getMisses(), this.cache.getEvictions(), this.cache.getSize()));
+		}
+		if (this.batchCollector != null) {
+			sb.append(", ").append(this.batchCollector);
+		}
+		return sb.toString();
+	}
+}
@@ -0,0 +1,151 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright © 2020 Matthias Brenner and Adesso SE
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the “Software”), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package de.adesso.example.framework.core;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * Registry of the {@link StepMetrics} of all bean operations. Every
+ * {@link MethodImplementation} registers its operations during initialization.
+ * The metrics can be queried by interface and method. If the property
+ * {@value #LOG_INTERVAL_PROPERTY} is set, e.g. to {@code 60s}, the metrics are
+ * written to the log periodically.
+ *
+ * @author Matthias
+ *
+ */
+@Component
+@Log4j2
+public class StepMetricsRegistry implements InitializingBean, DisposableBean {
+
+	static final String LOG_INTERVAL_PROPERTY = "application.framework.metrics.log-interval";
+
+	private final List<StepMetrics> metrics = new CopyOnWriteArrayList<>();
+	private final Environment environment;
+	private ScheduledExecutorService logger;
+
+	public StepMetricsRegistry(final Environment environment) {
+		this.environment = environment;
+	}
+
+	/**
+	 * Looks up the registry in the context.
+	 *
+	 * @param context the application context, may be null
+	 * @return the registry or null, if the context does not provide one
+	 */
+	static StepMetricsRegistry lookup(final ApplicationContext context) {
+		if (context == null) {
+			return null;
+		}
+		final ObjectProvider<StepMetricsRegistry> provider = context.getBeanProvider(StepMetricsRegistry.class);
+		return provider != null ? provider.getIfAvailable() : null;
+	}
+
+	/**
+	 * Creates the metrics of a step.
+	 *
+	 * @param emulatedInterface the interface of the method
+	 * @param methodIdentifier  the emulated method
+	 * @param operation         the operation executing the step
+	 * @return the registered metrics
+	 */
+	StepMetrics register(final Class<?> emulatedInterface, final String methodIdentifier,
+			final BeanOperation operation) {
+		final StepMetrics stepMetrics = new StepMetrics(emulatedInterface, methodIdentifier, operation.getPosition(),
+				operation.getBeanType().getSimpleName() + "." + operation.getMethod().getName(),
+				operation.getStepCache(), operation.getBatchCollector());
+		this.metrics.add(stepMetrics);
+		return stepMetrics;
+	}
+
+	/**
+	 * @return the metrics of all steps
+	 */
+	public List<StepMetrics> getStepMetrics() {
+		return Collections.unmodifiableList(this.metrics);
+	}
+
+	/**
+	 * Returns the metrics of the steps of a method in the order of the steps.
+	 *
+	 * @param emulatedInterface the interface of the method
+	 * @param methodIdentifier  the emulated method
+	 * @return the metrics of the steps, empty if the method is not known
+	 */
+	public List<StepMetrics> getStepMetrics(final Class<?> emulatedInterface, final String methodIdentifier) {
+		return this.metrics.stream()
+				.filter(m -> m.getEmulatedInterface() == emulatedInterface
+						&& m.getMethodIdentifier().equals(methodIdentifier))
+				.collect(Collectors.toList());
+	}
+
+	/**
+	 * Writes the metrics of all steps, which were called or skipped, to the log.
+	 */
+	public void logStepMetrics() {
+		this.metrics.stream()
+				.filter(m -> m.getInvocations() > 0 || m.getSkips() > 0)
+				.forEach(m -> log.atInfo().log("{}", m));
+	}
+
+	@Override
+	public void afterPropertiesSet() {
+		final Duration interval = this.environment.getProperty(LOG_INTERVAL_PROPERTY, Duration.class);
+		if (interval == null || interval.isZero() || interval.isNegative()) {
+			return;
+		}
+		this.logger = Executors.newSingleThreadScheduledExecutor(r -> {
+			final Thread thread = new Thread(r, "step-metrics");
+			thread.setDaemon(true);
+			return thread;
+		});
+		this.logger.scheduleAtFixedRate(this::logStepMetrics, interval.toMillis(), interval.toMillis(),
+				TimeUnit.MILLISECONDS);
+	}
+
+	@Override
+	public void destroy() {
+		if (this.logger != null) {
+			this.logger.shutdownNow();
+		}
+	}
+}
@@ -0,0 +1,69 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright © 2020 Matthias Brenner and Adesso SE
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the “Software”), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package de.adesso.example.framework.core;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * Access to virtual threads. They are available from Java 21 on, while the
+ * framework is compiled for Java 11. Therefore the executor is created by
+ * reflection.
+ *
+ * @author Matthias
+ *
+ */
+@Log4j2
+public final class VirtualThreads {
+
+	private static final String FACTORY_METHOD = "newVirtualThreadPerTaskExecutor";
+
+	private VirtualThreads() {
+		// only static methods
+	}
+
+	/**
+	 * Creates an executor which starts a new virtual thread for each task.
+	 *
+	 * @return the executor or empty, if the runtime does not provide virtual
+	 *         threads
+	 */
+	public static Optional<ExecutorService> newPerTaskExecutor() {
+		try {
+			final Method factory = Executors.class.getMethod(FACTORY_METHOD);
+			return Optional.of((ExecutorService) factory.invoke(null));
+		} catch (final NoSuchMethodException e) {
+			log.atInfo().log("virtual threads are not supported by Java {}", System.getProperty("java.version"));
+		} catch (IllegalAccessException | InvocationTargetException e) {
+			log.atWarn().withThrowable(e).log("could not create executor for virtual threads");
+		}
+		return Optional.empty();
+	}
+}
@@ -64,6 +64,18 @@ public class BeanCallException extends RuntimeException {
 		return new BeanCallException(message);
 	}
 
+	public static BeanCallException batchResultMismatch(final Class<?> beanClass, final Method method,
+			final int expected, final int actual) {
+		final String message = String.format("batch method returned %d results for %d items: %s::%s",
+				actual,
+				expected,
+				beanClass.getName(),
+				method.getName());
+		log.atError().log(message);
+
+		return new BeanCallException(message);
+	}
+
 	public static BeanCallException callFailedOnStrategy(final Class<?> beanClass, final Method method) {
 		final String message = String.format("bean invocation failed due to strategy: %s::%s",
 				beanClass.getClass().getName(),
@@ -72,4 +84,14 @@ public class BeanCallException extends RuntimeException {
 
 		return new BeanCallException(message);
 	}
+
+	public static BeanCallException protocolReplaced(final Class<?> beanClass, final Method method) {
+		final String message = String.format(
+				"bean returned another protocol, not allowed for parallel execution: %s::%s",
+				beanClass.getName(),
+				method.getName());
+		log.atError().log(message);
+
+		return new BeanCallException(message);
+	}
 }
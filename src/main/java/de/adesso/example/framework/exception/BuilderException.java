@@ -96,6 +96,13 @@ public class BuilderException extends RuntimeException {
 		return new BuilderException(message);
 	}
 
+	public static BuilderException ambiguousMethod(final Class<?> implClass, final String methodName) {
+		final String message = String.format("method %s::%s is overloaded, it cannot be used as branch",
+				implClass.getName(), methodName);
+		log.atError().log(message);
+		return new BuilderException(message);
+	}
+
 	public static BuilderException cannotLoadAppendixClass(final String typeName,
 			final ClassNotFoundException e) {
 		final String message = String.format("problem should never happen, could not load class %s", typeName);
@@ -146,4 +153,35 @@ public class BuilderException extends RuntimeException {
 		log.atError().log(message);
 		return new BuilderException(message);
 	}
+
+	public static BuilderException invalidBatchMethod(final Class<?> type, final String methodName,
+			final String reason) {
+		final String message = String.format("invalid batch method %s::%s, %s", type.getName(), methodName,
+				reason);
+		log.atError().log(message);
+		return new BuilderException(message);
+	}
+
+	public static BuilderException invalidMemoizedMethod(final Class<?> type, final String methodName,
+			final String reason) {
+		final String message = String.format("invalid memoized method %s::%s, %s", type.getName(), methodName,
+				reason);
+		log.atError().log(message);
+		return new BuilderException(message);
+	}
+
+	public static BuilderException invalidCachedMethod(final Class<?> type, final String methodName,
+			final String reason) {
+		final String message = String.format("invalid cached method %s::%s, %s", type.getName(), methodName,
+				reason);
+		log.atError().log(message);
+		return new BuilderException(message);
+	}
+
+	public static BuilderException indexNotReadable(final String indexLocation, final Exception e) {
+		final String message = String.format("cannot read the index of emulated interfaces %s", indexLocation);
+		log.atError().log(message);
+		log.atError().log(e);
+		return new BuilderException(message, e);
+	}
 }
@@ -0,0 +1,112 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright © 2020 Matthias Brenner and Adesso SE
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the “Software”), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package de.adesso.example.framework.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Set;
+import java.util.TreeSet;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic.Kind;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+/**
+ * Annotation processor writing the index of all interfaces annotated as
+ * {@code @Emulated} during compilation. The framework reads the index at start
+ * up instead of scanning the class path. The index is written to
+ * {@value #INDEX_LOCATION} and contains the binary names of the interfaces, one
+ * per line.
+ * <p>
+ * For each interface it generates the {@code GeneratedEmulation} with the
+ * method implementations resolved from the annotations, see
+ * {@link EmulationGenerator}. Then the framework neither reads the annotations
+ * nor resolves the arguments by reflection at start up.
+ * <p>
+ * The processor does not depend on the framework, it refers to the annotations
+ * and classes by their names.
+ *
+ * @author Matthias
+ *
+ */
+public class EmulatedIndexProcessor extends AbstractProcessor {
+
+	/** location of the index within the class path */
+	public static final String INDEX_LOCATION = "META-INF/de.adesso.example.framework.emulated";
+
+	private static final String EMULATED_ANNOTATION = "de.adesso.example.framework.annotation.Emulated";
+
+	private final Set<String> emulatedInterfaces = new TreeSet<>();
+
+	@Override
+	public Set<String> getSupportedAnnotationTypes() {
+		return Set.of(EMULATED_ANNOTATION);
+	}
+
+	@Override
+	public SourceVersion getSupportedSourceVersion() {
+		return SourceVersion.latestSupported();
+	}
+
+	@Override
+	public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment roundEnv) {
+		for (final TypeElement annotation : annotations) {
+			for (final Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+				if (element.getKind() == ElementKind.INTERFACE) {
+					this.emulatedInterfaces.add(
+							this.processingEnv.getElementUtils().getBinaryName((TypeElement) element).toString());
+					new EmulationGenerator(this.processingEnv).generate((TypeElement) element);
+				}
+			}
+		}
+		if (roundEnv.processingOver() && !this.emulatedInterfaces.isEmpty()) {
+			this.writeIndex();
+		}
+		// other processors may be interested in the annotation, too
+		return false;
+	}
+
+	private void writeIndex() {
+		try {
+			final FileObject index = this.processingEnv.getFiler()
+					.createResource(StandardLocation.CLASS_OUTPUT, "", INDEX_LOCATION);
+			try (Writer writer = index.openWriter()) {
+				for (final String emulatedInterface : this.emulatedInterfaces) {
+					writer.write(emulatedInterface);
+					writer.write('\n');
+				}
+			}
+		} catch (final IOException e) {
+			this.processingEnv.getMessager().printMessage(Kind.ERROR,
+					String.format("cannot write the index %s: %s", INDEX_LOCATION, e.getMessage()));
+		}
+	}
+}
@@ -0,0 +1,400 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright © 2020 Matthias Brenner and Adesso SE
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the “Software”), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package de.adesso.example.framework.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic.Kind;
+import javax.tools.JavaFileObject;
+
+/**
+ * Generates the {@code GeneratedEmulation} of an emulated interface. It
+ * resolves at compile time what {@code EmulationDefinitionReader} and
+ * {@code ArgumentFactory} resolve by reflection at start up: the bean method of
+ * each {@code @Implementation} and the argument of each of its parameters,
+ * taken from the parameters of the emulated method or from the appendixes.
+ * <p>
+ * If the processor cannot resolve an interface exactly like the reader, e.g.
+ * because a bean method is overloaded or a bean parameter matches several
+ * parameters of the emulated method, nothing is generated. The framework then
+ * reads the annotations as before and reports the problem.
+ *
+ * @author Matthias
+ *
+ */
+class EmulationGenerator {
+
+	/** has to match {@code GeneratedEmulation.SUFFIX} */
+	static final String SUFFIX = "_Emulation";
+
+	private static final String ANNOTATION = "de.adesso.example.framework.annotation.";
+	private static final String CORE = "de.adesso.example.framework.core.";
+
+	private final ProcessingEnvironment processingEnv;
+	private final Elements elements;
+	private final Types types;
+
+	EmulationGenerator(final ProcessingEnvironment processingEnv) {
+		this.processingEnv = processingEnv;
+		this.elements = processingEnv.getElementUtils();
+		this.types = processingEnv.getTypeUtils();
+	}
+
+	/**
+	 * Generates the class of the interface.
+	 *
+	 * @param emulatedInterface the interface annotated as {@code @Emulated}
+	 */
+	void generate(final TypeElement emulatedInterface) {
+		final PackageElement packageElement = this.elements.getPackageOf(emulatedInterface);
+		final String binaryName = this.elements.getBinaryName(emulatedInterface).toString();
+		final String packageName = packageElement.getQualifiedName().toString();
+		final String className = (packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1))
+				.replace('$', '_') + SUFFIX;
+
+		final String source;
+		try {
+			source = new Resolution(packageElement).source(emulatedInterface, packageName, className);
+		} catch (final UnresolvableException e) {
+			this.processingEnv.getMessager().printMessage(Kind.NOTE,
+					String.format("%s is read at start up: %s", binaryName, e.getMessage()), emulatedInterface);
+			return;
+		}
+		try {
+			final JavaFileObject file = this.processingEnv.getFiler().createSourceFile(
+					(packageName.isEmpty() ? "" : packageName + ".") + className, emulatedInterface);
+			try (Writer writer = file.openWriter()) {
+				writer.write(source);
+			}
+		} catch (final IOException e) {
+			this.processingEnv.getMessager().printMessage(Kind.ERROR,
+					String.format("cannot write the emulation of %s: %s", binaryName, e.getMessage()),
+					emulatedInterface);
+		}
+	}
+
+	/**
+	 * Resolves the methods of one interface into the source of its generated
+	 * class.
+	 */
+	private final class Resolution {
+
+		private final PackageElement packageElement;
+		private final StringBuilder source = new StringBuilder();
+
+		Resolution(final PackageElement packageElement) {
+			this.packageElement = packageElement;
+		}
+
+		String source(final TypeElement emulatedInterface, final String packageName, final String className)
+				throws UnresolvableException {
+			final String interfaceLiteral = this.literal(emulatedInterface.asType());
+			if (!packageName.isEmpty()) {
+				this.source.append("package ").append(packageName).append(";\n\n");
+			}
+			this.source.append("/**\n")
+					.append(" * Method implementations of {@link ").append(interfaceLiteral, 0,
+							interfaceLiteral.length() - ".class".length())
+					.append("} resolved from its annotations.\n")
+					.append(" */\n")
+					.append("@javax.annotation.processing.Generated(\"")
+					.append(EmulatedIndexProcessor.class.getName()).append("\")\n")
+					.append("public final class ").append(className)
+					.append(" implements ").append(CORE).append("GeneratedEmulation {\n\n")
+					.append("\t@Override\n")
+					.append("\t@SuppressWarnings(\"unchecked\")\n")
+					.append("\tpublic java.util.List<").append(CORE).append("MethodImplementation> methodImplementations()\n")
+					.append("\t\t\tthrows NoSuchMethodException {\n")
+					.append("\t\treturn java.util.List.of(");
+			final List<String> implementations = new ArrayList<>();
+			for (final ExecutableElement method : this.methodsOf(emulatedInterface)) {
+				if (annotation(method, ANNOTATION + "BatchOf") == null) {
+					implementations.add(this.methodImplementation(interfaceLiteral, method));
+				}
+			}
+			this.source.append(String.join(",", implementations))
+					.append(");\n")
+					.append("\t}\n")
+					.append("}\n");
+
+			return this.source.toString();
+		}
+
+		/** the methods {@code Class.getMethods()} returns at run time */
+		private List<ExecutableElement> methodsOf(final TypeElement emulatedInterface) {
+			return ElementFilter.methodsIn(EmulationGenerator.this.elements.getAllMembers(emulatedInterface))
+					.stream()
+					.filter(m -> m.getEnclosingElement().getKind().isInterface())
+					.filter(m -> m.getEnclosingElement().equals(emulatedInterface)
+							|| !m.getModifiers().contains(Modifier.STATIC))
+					.collect(Collectors.toList());
+		}
+
+		private String methodImplementation(final String interfaceLiteral, final ExecutableElement method)
+				throws UnresolvableException {
+			final String methodName = method.getSimpleName().toString();
+			final StringBuilder code = new StringBuilder("\n\t\t\t\t").append(CORE)
+					.append("MethodImplementation.builder()\n")
+					.append("\t\t\t\t\t\t.methodIdentifier(").append(this.string(methodName)).append(")\n")
+					.append("\t\t\t\t\t\t.method(").append(this.methodLookup(interfaceLiteral, method))
+					.append(")\n");
+
+			final AnnotationMirror definition = annotation(method, ANNOTATION + "ImplementationDefinition");
+			final List<AnnotationMirror> implementations = new ArrayList<>();
+			if (definition != null) {
+				code.append("\t\t\t\t\t\t.executionStrategy(").append(ANNOTATION).append("ExecutionStrategy.")
+						.append(((VariableElement) this.value(definition, "execution")).getSimpleName())
+						.append(")\n")
+						.append("\t\t\t\t\t\t.executorName(").append(this.string((String) this.value(definition,
+								"executor")))
+						.append(")\n");
+				for (final Object implementation : (List<?>) this.value(definition, "value")) {
+					implementations.add((AnnotationMirror) ((AnnotationValue) implementation).getValue());
+				}
+			}
+			final AnnotationMirror single = annotation(method, ANNOTATION + "Implementation");
+			if (single != null) {
+				implementations.add(single);
+			}
+			for (final AnnotationMirror implementation : implementations) {
+				code.append("\t\t\t\t\t\t.beanOperation(").append(this.beanOperation(method, implementation))
+						.append(")\n");
+			}
+
+			final AnnotationMirror splitJoin = annotation(method, ANNOTATION + "SplitJoinDefinition");
+			if (splitJoin != null) {
+				final AnnotationMirror branch = (AnnotationMirror) this.value(splitJoin, "branch");
+				code.append("\t\t\t\t\t\t.parallelOperation(").append(CORE).append("ParallelOperation.builder()\n")
+						.append("\t\t\t\t\t\t\t\t.splitType(").append(this.literal((TypeMirror) this.value(splitJoin,
+								"split")))
+						.append(")\n")
+						.append("\t\t\t\t\t\t\t\t.branchType(").append(this.literal((TypeMirror) this.value(branch,
+								"bean")))
+						.append(")\n")
+						.append("\t\t\t\t\t\t\t\t.branchMethodIdentifier(").append(this.string((String) this.value(
+								branch, "method")))
+						.append(")\n")
+						.append("\t\t\t\t\t\t\t\t.joinType(").append(this.literal((TypeMirror) this.value(splitJoin,
+								"join")))
+						.append(")\n")
+						.append("\t\t\t\t\t\t\t\t.executorName(").append(this.string((String) this.value(splitJoin,
+								"executor")))
+						.append(")\n")
+						.append("\t\t\t\t\t\t\t\t.build())\n");
+			}
+
+			return code.append("\t\t\t\t\t\t.build()").toString();
+		}
+
+		private String beanOperation(final ExecutableElement emulatedMethod, final AnnotationMirror implementation)
+				throws UnresolvableException {
+			final TypeMirror beanType = (TypeMirror) this.value(implementation, "bean");
+			final String beanLiteral = this.literal(beanType);
+			final String configuredName = (String) this.value(implementation, "method");
+			final String methodName = configuredName.isEmpty() ? emulatedMethod.getSimpleName().toString()
+					: configuredName;
+			final ExecutableElement beanMethod = this.beanMethod((TypeElement) EmulationGenerator.this.types
+					.asElement(beanType), methodName);
+
+			final StringBuilder code = new StringBuilder(CORE).append("BeanOperation.builder()\n");
+			if (EmulationGenerator.this.types.asElement(beanType).getKind().isInterface()) {
+				code.append("\t\t\t\t\t\t\t\t.anInterface(").append(beanLiteral).append(")\n");
+			} else {
+				code.append("\t\t\t\t\t\t\t\t.beanType((Class<Object>) (Class<?>) ").append(beanLiteral)
+						.append(")\n");
+			}
+			code.append("\t\t\t\t\t\t\t\t.methodIdentifier(").append(this.string(methodName)).append(")\n")
+					.append("\t\t\t\t\t\t\t\t.method(").append(this.methodLookup(beanLiteral, beanMethod))
+					.append(")\n");
+			for (final VariableElement parameter : beanMethod.getParameters()) {
+				code.append("\t\t\t\t\t\t\t\t.argument(").append(this.argument(emulatedMethod, parameter))
+						.append(")\n");
+			}
+
+			return code.append("\t\t\t\t\t\t\t\t.build()").toString();
+		}
+
+		/** the public method of the bean with the given name, it may not be overloaded */
+		private ExecutableElement beanMethod(final TypeElement bean, final String methodName)
+				throws UnresolvableException {
+			final List<ExecutableElement> candidates = ElementFilter.methodsIn(
+					EmulationGenerator.this.elements.getAllMembers(bean)).stream()
+					.filter(m -> m.getModifiers().contains(Modifier.PUBLIC))
+					.filter(m -> m.getSimpleName().contentEquals(methodName))
+					.collect(Collectors.toList());
+			if (candidates.size() != 1) {
+				throw new UnresolvableException(String.format("%s %s::%s",
+						candidates.isEmpty() ? "there is no method" : "overloaded method", bean, methodName));
+			}
+
+			return candidates.get(0);
+		}
+
+		/** the argument like {@code ArgumentFactory.createArgument} */
+		private String argument(final ExecutableElement emulatedMethod, final VariableElement beanParameter)
+				throws UnresolvableException {
+			final TypeMirror parameterType = EmulationGenerator.this.types.erasure(beanParameter.asType());
+			final List<? extends VariableElement> emulatedParameters = emulatedMethod.getParameters();
+			final List<Integer> candidates = new ArrayList<>();
+			for (int i = 0; i < emulatedParameters.size(); i++) {
+				if (this.isAssignable(EmulationGenerator.this.types.erasure(emulatedParameters.get(i).asType()),
+						parameterType)) {
+					candidates.add(i);
+				}
+			}
+			if (candidates.size() == 1) {
+				return "new " + CORE + "ArgumentFromMethod(" + this.literal(parameterType) + ", "
+						+ candidates.get(0) + ")";
+			}
+			if (candidates.size() > 1) {
+				throw new UnresolvableException(String.format("parameter %s of %s matches several parameters",
+						beanParameter, beanParameter.getEnclosingElement()));
+			}
+			if (this.isAssignable(parameterType, this.rawType("java.util.List"))) {
+				return "new " + CORE + "ArgumentListFromAppendix(" + this.typeArgument(beanParameter) + ")";
+			}
+			if (this.isAssignable(parameterType, this.rawType("java.util.Set"))) {
+				return "new " + CORE + "ArgumentSetFromAppendix(" + this.typeArgument(beanParameter) + ")";
+			}
+			if (this.isAssignable(parameterType, this.rawType("java.util.Optional"))) {
+				return "new " + CORE + "ArgumentOptionalFromAppendix(" + this.typeArgument(beanParameter) + ")";
+			}
+
+			return "new " + CORE + "ArgumentFromAppendix(" + this.literal(parameterType) + ")";
+		}
+
+		/** like {@code Class.isAssignableFrom}, primitive types have to be the same */
+		private boolean isAssignable(final TypeMirror from, final TypeMirror to) {
+			if (from.getKind().isPrimitive() || to.getKind().isPrimitive()) {
+				return EmulationGenerator.this.types.isSameType(from, to);
+			}
+			return EmulationGenerator.this.types.isSubtype(from, to);
+		}
+
+		private TypeMirror rawType(final String name) {
+			return EmulationGenerator.this.types
+					.erasure(EmulationGenerator.this.elements.getTypeElement(name).asType());
+		}
+
+		private String typeArgument(final VariableElement parameter) throws UnresolvableException {
+			final List<? extends TypeMirror> typeArguments = ((DeclaredType) parameter.asType()).getTypeArguments();
+			if (typeArguments.isEmpty() || typeArguments.get(0).getKind() != TypeKind.DECLARED) {
+				throw new UnresolvableException(String.format("type argument of parameter %s of %s unknown",
+						parameter, parameter.getEnclosingElement()));
+			}
+			return this.literal(EmulationGenerator.this.types.erasure(typeArguments.get(0)));
+		}
+
+		private String methodLookup(final String typeLiteral, final ExecutableElement method)
+				throws UnresolvableException {
+			final StringBuilder code = new StringBuilder(typeLiteral).append(".getMethod(")
+					.append(this.string(method.getSimpleName().toString()));
+			for (final VariableElement parameter : method.getParameters()) {
+				code.append(", ").append(this.literal(EmulationGenerator.this.types.erasure(parameter.asType())));
+			}
+
+			return code.append(')').toString();
+		}
+
+		/** the class literal of the type, it has to be accessible from the package */
+		private String literal(final TypeMirror type) throws UnresolvableException {
+			if (type.getKind().isPrimitive() || type.getKind() == TypeKind.VOID) {
+				return type.toString() + ".class";
+			}
+			if (type.getKind() == TypeKind.ARRAY) {
+				final String component = this.literal(((ArrayType) type).getComponentType());
+				return component.substring(0, component.length() - ".class".length()) + "[].class";
+			}
+			if (type.getKind() != TypeKind.DECLARED) {
+				throw new UnresolvableException(String.format("type %s unknown", type));
+			}
+			final TypeElement typeElement = (TypeElement) EmulationGenerator.this.types.asElement(type);
+			for (Element e = typeElement; e instanceof TypeElement; e = e.getEnclosingElement()) {
+				if (e.getModifiers().contains(Modifier.PRIVATE) || !e.getModifiers().contains(Modifier.PUBLIC)
+						&& !EmulationGenerator.this.elements.getPackageOf(e).equals(this.packageElement)) {
+					throw new UnresolvableException(String.format("%s is not accessible", typeElement));
+				}
+			}
+
+			return typeElement.getQualifiedName() + ".class";
+		}
+
+		private String string(final String value) {
+			return EmulationGenerator.this.elements.getConstantExpression(value);
+		}
+
+		/** the value of the annotation attribute, the default if it isn't given */
+		private Object value(final AnnotationMirror annotation, final String name) {
+			for (final Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : EmulationGenerator.this.elements
+					.getElementValuesWithDefaults(annotation).entrySet()) {
+				if (entry.getKey().getSimpleName().contentEquals(name)) {
+					return entry.getValue().getValue();
+				}
+			}
+			throw new IllegalArgumentException(String.format("annotation %s has no attribute %s", annotation, name));
+		}
+	}
+
+	private static AnnotationMirror annotation(final Element element, final String annotationName) {
+		for (final AnnotationMirror annotation : element.getAnnotationMirrors()) {
+			if (((TypeElement) annotation.getAnnotationType().asElement()).getQualifiedName()
+					.contentEquals(annotationName)) {
+				return annotation;
+			}
+		}
+		return null;
+	}
+
+	/** the interface cannot be resolved like at run time */
+	private static class UnresolvableException extends Exception {
+
+		private static final long serialVersionUID = 1L;
+
+		UnresolvableException(final String message) {
+			super(message);
+		}
+	}
+}
@@ -0,0 +1,137 @@
+package de.adesso.example.application.stock;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.javamoney.moneta.Money;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import de.adesso.example.application.Standard;
+
+public class MappedPriceCatalogTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void testPricesAreRead() throws IOException {
+		final Path file = this.folder.newFile().toPath();
+		try (MappedPriceCatalog.Writer writer = MappedPriceCatalog.create(file, Standard.EUROS, 10)) {
+			writer.add("12345", Money.of(123.50, Standard.EUROS))
+					.add("112244", 6400)
+					.add("112244", 6500);
+		}
+
+		final MappedPriceCatalog catalog = MappedPriceCatalog.open(file);
+
+		assertThat(catalog.size())
+				.isEqualTo(2);
+		assertThat(catalog.getCurrency())
+				.isEqualTo(Standard.EUROS);
+		assertThat(catalog.getPrice("12345"))
+				.isEqualTo(Money.of(123.50, Standard.EUROS));
+		assertThat(catalog.getMinorUnits("112244"))
+				.isEqualTo(6500);
+		assertThat(catalog.getPrice("99999"))
+				.isNull();
+		assertThat(catalog.getMinorUnits("1234"))
+				.isEqualTo(Long.MIN_VALUE);
+	}
+
+	@Test
+	public void testManyArticles() throws IOException {
+		final int articles = 100_000;
+		final Path file = this.folder.newFile().toPath();
+		try (MappedPriceCatalog.Writer writer = MappedPriceCatalog.create(file, Standard.EUROS, articles)) {
+			for (int i = 0; i < articles; i++) {
+				writer.add("A" + i, i);
+			}
+		}
+
+		final MappedPriceCatalog catalog = MappedPriceCatalog.open(file);
+
+		for (int i = 0; i < articles; i++) {
+			assertThat(catalog.getMinorUnits("A" + i))
+					.isEqualTo(i);
+		}
+		assertThat(catalog.getPrice("A" + articles))
+				.isNull();
+	}
+
+	@Test
+	public void testInvalidArticles() throws IOException {
+		final Path file = this.folder.newFile().toPath();
+		try (MappedPriceCatalog.Writer writer = MappedPriceCatalog.create(file, Standard.EUROS, 1)) {
+			assertThatThrownBy(() -> writer.add("", 1))
+					.isInstanceOf(IllegalArgumentException.class);
+			assertThatThrownBy(() -> writer.add("123456789012345678901234", 1))
+					.isInstanceOf(IllegalArgumentException.class);
+			assertThatThrownBy(() -> writer.add("Ä", 1))
+					.isInstanceOf(IllegalArgumentException.class);
+			writer.add("1", 1);
+			assertThatThrownBy(() -> writer.add("2", 1))
+					.isInstanceOf(IllegalStateException.class);
+		}
+	}
+
+	@Test
+	public void testOtherFileIsRejected() throws IOException {
+		final Path file = this.folder.newFile().toPath();
+		Files.write(file, new byte[MappedPriceCatalog.HEADER_SIZE]);
+
+		assertThatThrownBy(() -> MappedPriceCatalog.open(file))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	public void testTruncatedFileIsRejected() throws IOException {
+		final Path file = this.createCatalog();
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+			channel.truncate(channel.size() - 8 * MappedPriceCatalog.RECORD_SIZE);
+		}
+
+		assertThatThrownBy(() -> MappedPriceCatalog.open(file))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessageContaining("truncated");
+	}
+
+	@Test
+	public void testShortFileIsRejected() throws IOException {
+		final Path file = this.folder.newFile().toPath();
+
+		assertThatThrownBy(() -> MappedPriceCatalog.open(file))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	public void testInvalidSlotCountIsRejected() throws IOException {
+		final Path file = this.createCatalog();
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+			channel.write(ByteBuffer.allocate(Long.BYTES).order(ByteOrder.LITTLE_ENDIAN).putLong(0, 24), 16);
+		}
+
+		assertThatThrownBy(() -> MappedPriceCatalog.open(file))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessageContaining("power of two");
+	}
+
+	private Path createCatalog() throws IOException {
+		final Path file = this.folder.newFile().toPath();
+		try (MappedPriceCatalog.Writer writer = MappedPriceCatalog.create(file, Standard.EUROS, 10)) {
+			for (int i = 0; i < 5; i++) {
+				writer.add("A" + i, i);
+			}
+		}
+		return file;
+	}
+}
@@ -0,0 +1,345 @@
+package de.adesso.example.framework;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import de.adesso.example.framework.exception.TooManyElementsException;
+import lombok.AllArgsConstructor;
+
+public class AppendixListTest {
+
+	private final TestOwner owner = new TestOwner();
+	private final OtherTestOwner otherOwner = new OtherTestOwner();
+
+	@Test
+	public void testQueryBySuperTypeKeepsOrdering() {
+		final AppendixList list = this.createList();
+
+		assertThat(list.getAllAppenixesOfTypeAsListT(A.class))
+				.extracting(a -> a.value)
+				.containsExactly(1, 2, 3, 4);
+		assertThat(list.getAllAppenixesOfTypeAsListT(Tag.class))
+				.hasSize(4);
+		assertThat(list.getAllAppenixesOfTypeAsListT(B.class))
+				.extracting(a -> a.value)
+				.containsExactly(2, 3);
+		assertThat(list.getAllAppenixesOfTypeAsListT(Object.class))
+				.hasSize(5);
+		assertThat(list.getAppendixOfTypeT(String.class))
+				.contains("string");
+		assertThat(list.getAppendixOfTypeT(Integer.class))
+				.isEmpty();
+	}
+
+	@Test(expected = TooManyElementsException.class)
+	public void testTooManyElements() {
+		this.createList().getAppendixOfTypeT(B.class);
+	}
+
+	@Test
+	public void testRemoveAllMatchesOwnerAndExactType() {
+		final AppendixList list = this.createList();
+
+		list.removeAll(this.owner, B.class);
+
+		assertThat(list.getAllAppenixesOfTypeAsListT(A.class))
+				.extracting(a -> a.value)
+				.containsExactly(1, 2, 4);
+		assertThat(list.getAllAppenixesOfTypeAsListT(B.class))
+				.extracting(a -> a.value)
+				.containsExactly(2);
+	}
+
+	@Test
+	public void testTransfer() {
+		final AppendixList list = this.createList();
+		final AppendixList target = new AppendixList();
+		target.addAppendix(this.owner, new A(0));
+
+		target.transfer(list);
+
+		assertThat(target.getAllAppenixesOfTypeAsListT(A.class))
+				.extracting(a -> a.value)
+				.containsExactly(0, 1, 2, 3, 4);
+		assertThat(list.getAllAppenixesAsList())
+				.isEmpty();
+		assertThat(list.getAllAppenixesOfTypeAsListT(A.class))
+				.isEmpty();
+	}
+
+	@Test
+	public void testContainsAllTypes() {
+		final AppendixList list = this.createList();
+
+		assertThat(list.containsAll(AppendixTypeMask.of(List.of(A.class, Tag.class, String.class))))
+				.isTrue();
+		assertThat(list.containsAll(AppendixTypeMask.of(List.of(A.class, Integer.class))))
+				.isFalse();
+		assertThat(new AppendixList().containsAll(AppendixTypeMask.EMPTY))
+				.isTrue();
+	}
+
+	@Test
+	public void testContainsAllTypesFollowsRemovalAndTransfer() {
+		final AppendixList list = this.createList();
+		final AppendixTypeMask maskOfB = AppendixTypeMask.of(List.of(B.class));
+
+		list.removeAll(this.owner, B.class);
+		assertThat(list.containsAll(maskOfB))
+				.isTrue();
+		list.removeAll(this.otherOwner, B.class);
+		assertThat(list.containsAll(maskOfB))
+				.isFalse();
+		assertThat(list.containsAll(AppendixTypeMask.of(List.of(A.class))))
+				.isTrue();
+
+		final AppendixList target = new AppendixList();
+		target.transfer(list);
+		assertThat(target.containsAll(AppendixTypeMask.of(List.of(A.class, String.class))))
+				.isTrue();
+		assertThat(list.containsAll(AppendixTypeMask.of(List.of(A.class))))
+				.isFalse();
+	}
+
+	@Test
+	public void testTransferKeepsOrderOfLaterAppendixes() {
+		final AppendixList target = new AppendixList();
+		for (int i = 0; i < 3; i++) {
+			final AppendixList branch = new AppendixList();
+			branch.addAppendix(this.owner, new A(i * 2));
+			branch.addAppendix(this.owner, new B(i * 2 + 1));
+			target.transfer(branch);
+			target.addAppendix(this.owner, "after " + i);
+		}
+
+		assertThat(target.getAllAppenixesOfTypeAsListT(A.class))
+				.extracting(a -> a.value)
+				.containsExactly(0, 1, 2, 3, 4, 5);
+		assertThat(target.getAllAppenixesOfTypeAsListT(String.class))
+				.containsExactly("after 0", "after 1", "after 2");
+		assertThat(target.containsAll(AppendixTypeMask.of(List.of(B.class, String.class))))
+				.isTrue();
+	}
+
+	@Test
+	public void testAddAllSharesAppendixes() {
+		final AppendixList list = this.createList();
+		final AppendixList target = new AppendixList();
+
+		target.addAll(list);
+		list.addAppendix(this.owner, new A(5));
+		target.removeAll(this.owner, String.class);
+
+		assertThat(target.getAllAppenixesOfTypeAsListT(A.class))
+				.extracting(a -> a.value)
+				.containsExactly(1, 2, 3, 4);
+		assertThat(list.getAllAppenixesOfTypeAsListT(A.class))
+				.extracting(a -> a.value)
+				.containsExactly(1, 2, 3, 4, 5);
+		assertThat(list.getAppendixOfTypeT(String.class))
+				.contains("string");
+		assertThat(target.getAppendixOfTypeT(String.class))
+				.isEmpty();
+	}
+
+	@Test
+	public void testCopyIsIndependent() {
+		final AppendixList list = this.createList();
+		final AppendixList copy = list.copy();
+
+		copy.addAppendix(this.owner, new A(5));
+		list.addAppendix(this.owner, new A(6));
+
+		assertThat(copy.getAllAppenixesOfTypeAsListT(A.class))
+				.extracting(a -> a.value)
+				.containsExactly(1, 2, 3, 4, 5);
+		assertThat(list.getAllAppenixesOfTypeAsListT(A.class))
+				.extracting(a -> a.value)
+				.containsExactly(1, 2, 3, 4, 6);
+		assertThat(copy.getAppendixOfTypeT(String.class))
+				.contains("string");
+	}
+
+	@Test
+	public void testRemoveSharedAppendixOfCopy() {
+		final AppendixList list = this.createList();
+		final AppendixList copy = list.copy();
+
+		copy.removeAll(this.owner, B.class);
+		copy.removeAll(this.otherOwner, B.class);
+
+		assertThat(copy.getAllAppenixesOfTypeAsListT(A.class))
+				.extracting(a -> a.value)
+				.containsExactly(1, 4);
+		assertThat(copy.containsAll(AppendixTypeMask.of(List.of(B.class))))
+				.isFalse();
+		assertThat(list.getAllAppenixesOfTypeAsListT(B.class))
+				.extracting(a -> a.value)
+				.containsExactly(2, 3);
+		assertThat(list.containsAll(AppendixTypeMask.of(List.of(B.class))))
+				.isTrue();
+	}
+
+	@Test
+	public void testRepeatedCopies() {
+		AppendixList list = new AppendixList();
+		for (int i = 0; i < 40; i++) {
+			list.addAppendix(this.owner, new A(i));
+			list = list.copy();
+		}
+
+		assertThat(list.getAllAppenixesOfTypeAsListT(A.class))
+				.hasSize(40)
+				.extracting(a -> a.value)
+				.startsWith(0, 1, 2)
+				.endsWith(38, 39);
+		assertThat(list.getAllAppenixesAsList())
+				.hasSize(40);
+	}
+
+	@Test
+	public void testSingleAppendixAfterCopiesAndSplices() {
+		final AppendixList list = this.createList();
+		final AppendixList copy = list.copy();
+		final AppendixList target = new AppendixList();
+		target.addAppendix(this.owner, 0L);
+		target.addAll(copy);
+		copy.addAppendix(this.owner, 1.0);
+
+		assertThat(target.getAppendixOfTypeT(String.class))
+				.contains("string");
+		assertThat(target.getAppendixOfTypeT(Long.class))
+				.contains(0L);
+		assertThat(target.getAppendixOfTypeT(Double.class))
+				.isEmpty();
+		assertThat(copy.getAppendixOfTypeT(Double.class))
+				.contains(1.0);
+
+		target.addAppendix(this.owner, "other string");
+		assertThatThrownBy(() -> target.getAppendixOfTypeT(String.class))
+				.isInstanceOf(TooManyElementsException.class);
+		assertThat(copy.getAppendixOfTypeT(String.class))
+				.contains("string");
+	}
+
+	@Test
+	public void testManySplicesKeepSegmentsBounded() {
+		final int branches = 1000;
+		final AppendixList target = new AppendixList();
+		for (int i = 0; i < branches; i++) {
+			final AppendixList branch = target.copy();
+			branch.addAppendix(this.owner, new A(i));
+			final AppendixList result = new AppendixList();
+			result.addAppendix(this.owner, new B(i));
+			target.transfer(result);
+			assertThat(target.numberOfSegments())
+					.isLessThanOrEqualTo(32 - Integer.numberOfLeadingZeros(target.size()));
+		}
+
+		assertThat(target.getAllAppenixesOfTypeAsListT(A.class))
+				.hasSize(branches)
+				.extracting(a -> a.value)
+				.startsWith(0, 1, 2)
+				.endsWith(branches - 2, branches - 1);
+		target.addAppendix(this.owner, "string");
+		assertThat(target.getAppendixOfTypeT(String.class))
+				.contains("string");
+		assertThat(target.copy().numberOfSegments())
+				.isLessThanOrEqualTo(11);
+	}
+
+	@Test
+	public void testReset() {
+		final AppendixList list = this.createList();
+		final AppendixList copy = list.copy();
+
+		list.reset();
+		list.addAppendix(this.owner, new A(7));
+
+		assertThat(list.getAllAppenixesAsList())
+				.hasSize(1);
+		assertThat(list.containsAll(AppendixTypeMask.of(List.of(String.class))))
+				.isFalse();
+		assertThat(list.getAppendixOfTypeT(A.class))
+				.hasValueSatisfying(a -> assertThat(a.value).isEqualTo(7));
+		assertThat(copy.getAllAppenixesAsList())
+				.hasSize(5);
+	}
+
+	@Test
+	public void testSize() {
+		final AppendixList list = this.createList();
+		final AppendixList copy = list.copy();
+		copy.addAppendix(this.owner, new A(5));
+		final AppendixList target = new AppendixList();
+		target.addAppendix(this.owner, new A(0));
+		target.addAll(copy);
+
+		assertThat(list.size())
+				.isEqualTo(5);
+		assertThat(copy.size())
+				.isEqualTo(6);
+		assertThat(target.size())
+				.isEqualTo(7)
+				.isEqualTo(target.getAllAppenixesAsList().size());
+		target.removeAll(this.owner, A.class);
+		assertThat(target.size())
+				.isEqualTo(target.getAllAppenixesAsList().size());
+		target.reset();
+		assertThat(target.size())
+				.isZero();
+	}
+
+	@Test
+	public void testAddAllExceptSkipsExcludedInstances() {
+		final AppendixList list = this.createList();
+		final AppendixList excluded = list.copy();
+		list.addAppendix(this.otherOwner, new A(5));
+		list.addAppendix(this.owner, new String("string"));
+		final AppendixList target = new AppendixList();
+
+		target.addAllExcept(list, excluded);
+
+		assertThat(target.getAllAppenixesOfTypeAsListT(A.class))
+				.extracting(a -> a.value)
+				.containsExactly(5);
+		// compared by identity, not by equality
+		assertThat(target.getAppendixOfTypeT(String.class))
+				.contains("string");
+		target.removeAll(this.otherOwner, A.class);
+		assertThat(target.getAllAppenixesOfTypeAsListT(A.class))
+				.isEmpty();
+		assertThat(list.size())
+				.isEqualTo(7);
+	}
+
+	private AppendixList createList() {
+		final AppendixList list = new AppendixList();
+		list.addAppendix(this.owner, new A(1));
+		list.addAppendix(this.owner, "string");
+		list.addAppendix(this.otherOwner, new B(2));
+		list.addAppendix(this.owner, new B(3));
+		list.addAppendix(this.owner, new A(4));
+		return list;
+	}
+
+	private interface Tag {
+	}
+
+	@AllArgsConstructor
+	private static class A implements Tag {
+
+		final int value;
+	}
+
+	private static class B extends A {
+
+		B(final int value) {
+			super(value);
+		}
+	}
+}
@@ -0,0 +1,48 @@
+package de.adesso.example.framework;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+
+public class ApplicationProtocolPoolTest {
+
+	@Test
+	public void testReleasedProtocolIsReused() {
+		final ApplicationProtocol<String> protocol = ApplicationProtocolPool.acquire();
+		protocol.addAppendix(null, "appendix");
+		protocol.setResult("result");
+
+		ApplicationProtocolPool.release(protocol);
+		final ApplicationProtocol<Integer> reused = ApplicationProtocolPool.acquire();
+
+		assertThat(reused)
+				.isSameAs(protocol);
+		assertThat(reused.getResult())
+				.isNull();
+		assertThat(reused.getAllAppenixesOfTypeAsListT(String.class))
+				.isEmpty();
+	}
+
+	@Test
+	public void testNestedAcquireProvidesDifferentProtocols() {
+		final ApplicationProtocol<String> outer = ApplicationProtocolPool.acquire();
+		final ApplicationProtocol<String> inner = ApplicationProtocolPool.acquire();
+
+		assertThat(inner)
+				.isNotSameAs(outer);
+
+		ApplicationProtocolPool.release(inner);
+		ApplicationProtocolPool.release(outer);
+	}
+
+	@Test
+	public void testForkIsNotPooled() {
+		final ApplicationProtocol<String> parent = new ApplicationProtocol<>();
+		final ApplicationProtocol<String> fork = parent.fork();
+
+		ApplicationProtocolPool.release(fork);
+
+		assertThat(ApplicationProtocolPool.<String>acquire())
+				.isNotSameAs(fork);
+	}
+}
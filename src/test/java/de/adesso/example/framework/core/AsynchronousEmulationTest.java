@@ -0,0 +1,127 @@
+package de.adesso.example.framework.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import de.adesso.example.framework.ApplicationProtocol;
+import de.adesso.example.framework.TestConfig;
+import de.adesso.example.framework.annotation.ProxyStrategy;
+import de.adesso.example.framework.exception.BeanCallException;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = { TestConfig.class })
+public class AsynchronousEmulationTest {
+
+	@Autowired
+	private ApplicationContext context;
+
+	@Test
+	public void testCallerIsNotBlocked() throws Exception {
+		for (final ProxyStrategy proxyStrategy : ProxyStrategy.values()) {
+			final AsyncBean bean = new AsyncBean();
+			final AsyncInterface emulated = this.createProxy(proxyStrategy, bean, "append");
+
+			final CompletableFuture<ApplicationProtocol<String>> future = emulated.calculate("a");
+
+			// the asynchronous bean waits for the latch, the caller returned already
+			assertThat(future)
+					.isNotDone();
+			bean.latch.countDown();
+			assertThat(future.get(5, TimeUnit.SECONDS).getResult())
+					.isEqualTo("a-async-sync");
+			assertThat(bean.callingThread)
+					.isNotSameAs(Thread.currentThread());
+		}
+	}
+
+	@Test
+	public void testFailingAsynchronousBean() throws Exception {
+		final AsyncBean bean = new AsyncBean();
+		final AsyncInterface emulated = this.createProxy(ProxyStrategy.JDK_PROXY, bean, "fail");
+
+		final CompletableFuture<ApplicationProtocol<String>> future = emulated.calculate("a");
+
+		assertThatThrownBy(future::join)
+				.isInstanceOf(CompletionException.class)
+				.hasCauseInstanceOf(BeanCallException.class);
+	}
+
+	private AsyncInterface createProxy(final ProxyStrategy proxyStrategy, final AsyncBean bean,
+			final String asyncMethod) throws Exception {
+		final AsyncInterface emulated = new DaisyChainDispatcherFactory(this.context)
+				.emulationInterface(AsyncInterface.class)
+				.proxyStrategy(proxyStrategy)
+				.implementation(MethodImplementation.builder()
+						.methodIdentifier("calculate")
+						.beanOperation(BeanOperation.builder()
+								.implementation(bean)
+								.methodIdentifier("init")
+								.argument(new ArgumentFromMethod(String.class, 0))
+								.argument(new ArgumentApplicationProtocol())
+								.build())
+						.beanOperation(BeanOperation.builder()
+								.implementation(bean)
+								.methodIdentifier(asyncMethod)
+								.argument(new ArgumentApplicationProtocol())
+								.build())
+						.beanOperation(BeanOperation.builder()
+								.implementation(bean)
+								.methodIdentifier("finish")
+								.argument(new ArgumentApplicationProtocol())
+								.build())
+						.build())
+				.build();
+		((InitializingBean) emulated).afterPropertiesSet();
+		return emulated;
+	}
+
+	public interface AsyncInterface {
+
+		CompletableFuture<ApplicationProtocol<String>> calculate(String text);
+	}
+
+	public static class AsyncBean {
+
+		final CountDownLatch latch = new CountDownLatch(1);
+		volatile Thread callingThread;
+
+		public ApplicationProtocol<String> init(final String text, final ApplicationProtocol<String> state) {
+			this.callingThread = Thread.currentThread();
+			return state.setResult(text);
+		}
+
+		public CompletableFuture<ApplicationProtocol<String>> append(final ApplicationProtocol<String> state) {
+			return CompletableFuture.supplyAsync(() -> {
+				try {
+					this.latch.await();
+				} catch (final InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				return state.setResult(state.getResult() + "-async");
+			});
+		}
+
+		public CompletableFuture<ApplicationProtocol<String>> fail(final ApplicationProtocol<String> state) {
+			return CompletableFuture.supplyAsync(() -> {
+				throw new IllegalStateException("failed");
+			});
+		}
+
+		public ApplicationProtocol<String> finish(final ApplicationProtocol<String> state) {
+			return state.setResult(state.getResult() + "-sync");
+		}
+	}
+}
@@ -0,0 +1,135 @@
+package de.adesso.example.framework.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import de.adesso.example.framework.ApplicationProtocol;
+import de.adesso.example.framework.TestConfig;
+import de.adesso.example.framework.annotation.BatchImplementation;
+import de.adesso.example.framework.annotation.BatchOf;
+import de.adesso.example.framework.annotation.ProxyStrategy;
+import lombok.AllArgsConstructor;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = { TestConfig.class })
+public class BatchInvocationTest {
+
+	@Autowired
+	private ApplicationContext context;
+
+	@Test
+	public void testBatchEqualsSingleCalls() throws Exception {
+		for (final ProxyStrategy proxyStrategy : ProxyStrategy.values()) {
+			final PriceBean priceBean = new PriceBean();
+			final Pricing emulated = this.createProxy(proxyStrategy, priceBean);
+			final ApplicationProtocol<Integer> appendixes = new ApplicationProtocol<Integer>()
+					.addAppendix(null, new Factor(10));
+
+			final List<ApplicationProtocol<Integer>> results = emulated.prices(Arrays.asList("a", "bb", "ccc"),
+					appendixes);
+
+			assertThat(results)
+					.extracting(ApplicationProtocol::getResult)
+					.containsExactly(9, 19, 29);
+			assertThat(results.get(0).getResult())
+					.isEqualTo(emulated.price("a", appendixes.copy()).getResult());
+			// the bean with batch form is called once for all items
+			assertThat(priceBean.batchCalls)
+					.isEqualTo(1);
+		}
+	}
+
+	@Test
+	public void testItemsHaveOwnAppendixes() throws Exception {
+		final Pricing emulated = this.createProxy(ProxyStrategy.JDK_PROXY, new PriceBean());
+		final ApplicationProtocol<Integer> appendixes = new ApplicationProtocol<Integer>()
+				.addAppendix(null, new Factor(1));
+
+		final List<ApplicationProtocol<Integer>> results = emulated.prices(Arrays.asList("a", "b"), appendixes);
+
+		assertThat(results.get(0))
+				.isNotSameAs(results.get(1))
+				.isNotSameAs(appendixes);
+		assertThat(results.get(0).getAllAppenixesOfTypeAsListT(String.class))
+				.containsExactly("a");
+		assertThat(appendixes.getAllAppenixesOfTypeAsListT(String.class))
+				.isEmpty();
+	}
+
+	private Pricing createProxy(final ProxyStrategy proxyStrategy, final PriceBean priceBean) throws Exception {
+		final Pricing emulated = new DaisyChainDispatcherFactory(this.context)
+				.emulationInterface(Pricing.class)
+				.proxyStrategy(proxyStrategy)
+				.implementation(MethodImplementation.builder()
+						.methodIdentifier("price")
+						.beanOperation(BeanOperation.builder()
+								.implementation(priceBean)
+								.methodIdentifier("price")
+								.argument(new ArgumentFromMethod(String.class, 0))
+								.argument(new ArgumentFromAppendix(Factor.class))
+								.argument(new ArgumentApplicationProtocol())
+								.build())
+						.beanOperation(BeanOperation.builder()
+								.implementation(new DiscountBean())
+								.methodIdentifier("discount")
+								.argument(new ArgumentFromMethod(String.class, 0))
+								.argument(new ArgumentApplicationProtocol())
+								.build())
+						.build())
+				.build();
+		((InitializingBean) emulated).afterPropertiesSet();
+		return emulated;
+	}
+
+	public interface Pricing {
+
+		ApplicationProtocol<Integer> price(String article, ApplicationProtocol<Integer> appendixes);
+
+		@BatchOf("price")
+		List<ApplicationProtocol<Integer>> prices(List<String> articles, ApplicationProtocol<Integer> appendixes);
+	}
+
+	@AllArgsConstructor
+	public static class Factor {
+
+		final int value;
+	}
+
+	public static class PriceBean {
+
+		int batchCalls;
+
+		@BatchImplementation(method = "prices")
+		public ApplicationProtocol<Integer> price(final String article, final Factor factor,
+				final ApplicationProtocol<Integer> state) {
+			return state.setResult(article.length() * factor.value);
+		}
+
+		public List<ApplicationProtocol<Integer>> prices(final List<String> articles, final List<Factor> factors,
+				final List<ApplicationProtocol<Integer>> states) {
+			this.batchCalls++;
+			for (int i = 0; i < articles.size(); i++) {
+				this.price(articles.get(i), factors.get(i), states.get(i));
+			}
+			return states;
+		}
+	}
+
+	public static class DiscountBean {
+
+		public ApplicationProtocol<Integer> discount(final String article, final ApplicationProtocol<Integer> state) {
+			state.addAppendix(null, article);
+			return state.setResult(state.getResult() - 1);
+		}
+	}
+}
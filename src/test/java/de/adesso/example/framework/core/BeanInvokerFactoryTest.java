@@ -0,0 +1,117 @@
+package de.adesso.example.framework.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+
+import org.junit.Test;
+
+public class BeanInvokerFactoryTest {
+
+	@Test
+	public void testPublicMethodIsCalled() throws Exception {
+		final BeanInvoker invoker = BeanInvokerFactory.compile(PublicBean.class.getMethod("price", String.class,
+				int.class));
+
+		assertThat(invoker.invoke(new PublicBean(), new Object[] { "abc", 2 }))
+				.isEqualTo(6);
+	}
+
+	@Test
+	public void testHiddenMethodIsCalled() throws Exception {
+		final BeanInvoker invoker = BeanInvokerFactory.compile(HiddenBean.class.getMethod("price", String.class));
+
+		assertThat(invoker.invoke(new HiddenBean(), new Object[] { "abc" }))
+				.isEqualTo(3);
+	}
+
+	@Test
+	public void testExceptionIsPassedThrough() throws Exception {
+		final BeanInvoker invoker = BeanInvokerFactory.compile(PublicBean.class.getMethod("fail", boolean.class));
+
+		assertThatThrownBy(() -> invoker.invoke(new PublicBean(), new Object[] { false }))
+				.isInstanceOf(IOException.class);
+	}
+
+	@Test
+	public void testErrorIsPassedThrough() throws Exception {
+		final BeanInvoker invoker = BeanInvokerFactory.compile(PublicBean.class.getMethod("fail", boolean.class));
+
+		assertThatThrownBy(() -> invoker.invoke(new PublicBean(), new Object[] { true }))
+				.isInstanceOf(StackOverflowError.class);
+	}
+
+	@Test
+	public void testBeanOfChildClassLoaderIsNotSpun() throws Exception {
+		final Class<?> beanClass = new ChildClassLoader(BeanInvokerFactoryTest.class)
+				.loadClass(PublicBean.class.getName());
+		final Method method = beanClass.getMethod("price", String.class, int.class);
+		assertThat(beanClass)
+				.isNotSameAs(PublicBean.class);
+		assertThat(BeanInvokerFactory.isLinkable(method))
+				.isFalse();
+
+		final BeanInvoker invoker = BeanInvokerFactory.compile(method);
+
+		assertThat(invoker.invoke(beanClass.getConstructor().newInstance(), new Object[] { "abc", 2 }))
+				.isEqualTo(6);
+	}
+
+	/**
+	 * Defines its own copy of a class and its nested classes, which the parent
+	 * cannot see.
+	 */
+	private static class ChildClassLoader extends ClassLoader {
+
+		private final Class<?> copied;
+
+		ChildClassLoader(final Class<?> copied) {
+			super(copied.getClassLoader());
+			this.copied = copied;
+		}
+
+		@Override
+		protected Class<?> loadClass(final String name, final boolean resolve) throws ClassNotFoundException {
+			if (!name.startsWith(this.copied.getName())) {
+				return super.loadClass(name, resolve);
+			}
+			synchronized (this.getClassLoadingLock(name)) {
+				final Class<?> loaded = this.findLoadedClass(name);
+				if (loaded != null) {
+					return loaded;
+				}
+				final String resource = name.substring(name.lastIndexOf('.') + 1) + ".class";
+				try (InputStream in = this.copied.getResourceAsStream(resource)) {
+					final byte[] bytes = in.readAllBytes();
+					return this.defineClass(name, bytes, 0, bytes.length);
+				} catch (final IOException e) {
+					throw new ClassNotFoundException(name, e);
+				}
+			}
+		}
+	}
+
+	public static class PublicBean {
+
+		public int price(final String article, final int quantity) {
+			return article.length() * quantity;
+		}
+
+		public Object fail(final boolean error) throws IOException {
+			if (error) {
+				throw new StackOverflowError();
+			}
+			throw new IOException();
+		}
+	}
+
+	static class HiddenBean {
+
+		public int price(final String article) {
+			return article.length();
+		}
+	}
+}
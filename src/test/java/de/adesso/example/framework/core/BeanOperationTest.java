@@ -14,6 +14,9 @@ import org.springframework.context.ApplicationContext;
 import org.springframework.test.context.junit4.SpringRunner;
 
 import de.adesso.example.framework.ApplicationProtocol;
+import de.adesso.example.framework.annotation.CallStrategy;
+import de.adesso.example.framework.annotation.CallingStrategy;
+import de.adesso.example.framework.annotation.Required;
 
 @RunWith(SpringRunner.class)
 public class BeanOperationTest {
@@ -140,6 +143,42 @@ public class BeanOperationTest {
 				.isEqualTo(testString + testInt);
 	}
 
+	@Test
+	public void testSkippedWithoutRequiredAppendix() {
+		final BeanOperation operation = this.createAppendixOperation();
+		final ApplicationProtocol<String> state = new ApplicationProtocol<>();
+
+		final ApplicationProtocol<?> newState = operation.execute(state, new Object[0]);
+
+		assertThat(newState)
+				.isSameAs(state);
+		assertThat(newState.getResult())
+				.isNull();
+	}
+
+	@Test
+	public void testCalledWithRequiredAppendix() {
+		final BeanOperation operation = this.createAppendixOperation();
+		final ApplicationProtocol<String> state = new ApplicationProtocol<>();
+		state.addAppendix(null, "appendix");
+
+		final ApplicationProtocol<?> newState = operation.execute(state, new Object[0]);
+
+		assertThat(newState.getResult())
+				.isEqualTo("appendix");
+	}
+
+	private BeanOperation createAppendixOperation() {
+		final BeanOperation operation = BeanOperation.builder()
+				.implementation(new TestImplementation())
+				.methodIdentifier("appendixMethod")
+				.argument(new ArgumentFromAppendix(String.class))
+				.argument(new ArgumentApplicationProtocol())
+				.build();
+		operation.init(this.methodImplMock, this.contextMock);
+		return operation;
+	}
+
 	private class TestImplementation {
 
 		@SuppressWarnings("unused")
@@ -149,5 +188,14 @@ public class BeanOperationTest {
 
 			return state;
 		}
+
+		@SuppressWarnings("unused")
+		@CallStrategy(strategy = CallingStrategy.REQUIRED_PARAMETER)
+		public ApplicationProtocol<String> appendixMethod(@Required final String appendix,
+				final ApplicationProtocol<String> state) {
+			state.setResult(appendix);
+
+			return state;
+		}
 	}
 }
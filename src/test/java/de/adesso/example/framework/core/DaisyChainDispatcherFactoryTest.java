@@ -2,6 +2,7 @@ package de.adesso.example.framework.core;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.lang.reflect.Proxy;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -19,6 +20,7 @@ import de.adesso.example.framework.ApplicationOwner;
 import de.adesso.example.framework.ApplicationProtocol;
 import de.adesso.example.framework.EmulatedInterface;
 import de.adesso.example.framework.TestConfig;
+import de.adesso.example.framework.annotation.ProxyStrategy;
 import de.adesso.example.framework.exception.UnknownMethodException;
 import lombok.AllArgsConstructor;
 
@@ -81,6 +83,29 @@ public class DaisyChainDispatcherFactoryTest {
 				.isEqualTo(anotherTestString);
 	}
 
+	@Test
+	public void testOperationOnGeneratedClass() throws Exception {
+		final EmulatedInterface emulated = this.createProxy(ProxyStrategy.GENERATED_CLASS);
+
+		assertThat(Proxy.isProxyClass(emulated.getClass()))
+				.isFalse();
+		assertThat(emulated.getClass().getName())
+				.startsWith(EmulatedInterface.class.getName());
+		assertThat(emulated.toString())
+				.isEqualTo(EmulatedInterface.class.getName() + " implemented by proxy");
+
+		final String testString = "So sieht der String aus. ";
+		final String anotherTestString = "Das ist ein Teststring";
+		final ApplicationProtocol<String> resultState = emulated.operation(testString, 5, 13, anotherTestString);
+
+		assertThat(resultState.getResult())
+				.isEqualTo(testString + anotherTestString);
+		assertThat(resultState.getAppendixOfClassT(A1.class))
+				.isNotEmpty();
+		assertThat(resultState.getAllAppenixesOfTypeAsListT(B2.class))
+				.hasSize(2);
+	}
+
 	@Test(expected = ClassCastException.class)
 	public void testNotInterface() {
 		new DaisyChainDispatcherFactory(this.context)
@@ -102,11 +127,85 @@ public class DaisyChainDispatcherFactoryTest {
 						.build());
 	}
 
+	@Test
+	public void testOverloadedMethods() throws Exception {
+		for (final ProxyStrategy proxyStrategy : ProxyStrategy.values()) {
+			final Overloaded emulated = this.createOverloadedProxy(proxyStrategy);
+
+			assertThat(emulated.describe("abc").getResult())
+					.isEqualTo("text abc");
+			assertThat(emulated.describe(Integer.valueOf(42)).getResult())
+					.isEqualTo("number 42");
+		}
+	}
+
+	@Test
+	public void testDispatchOrdinalOfMethodInstances() throws Exception {
+		final Overloaded emulated = this.createOverloadedProxy(ProxyStrategy.JDK_PROXY);
+		final DaisyChainDispatcher dispatcher = (DaisyChainDispatcher) Proxy.getInvocationHandler(emulated);
+
+		// every call of getMethod returns a new instance
+		final int ordinal = dispatcher.dispatchOrdinal(Overloaded.class.getMethod("describe", Integer.class));
+
+		assertThat(dispatcher.dispatchOrdinal(Overloaded.class.getMethod("describe", Integer.class)))
+				.isEqualTo(ordinal)
+				.isNotEqualTo(dispatcher.dispatchOrdinal(Overloaded.class.getMethod("describe", String.class)))
+				.isGreaterThanOrEqualTo(0);
+		assertThat(dispatcher.dispatchOrdinal(Object.class.getMethod("toString")))
+				.isNegative();
+	}
+
+	@Test(expected = UnknownMethodException.class)
+	public void testOverloadedMethodWithoutMethod() {
+		new DaisyChainDispatcherFactory(this.context)
+				.emulationInterface(Overloaded.class)
+				.implementation(MethodImplementation.builder()
+						.methodIdentifier("describe")
+						.beanOperation(BeanOperation.builder()
+								.implementation(new Describer())
+								.methodIdentifier("text")
+								.argument(new ArgumentFromMethod(String.class, 0))
+								.build())
+						.build());
+	}
+
 	// ------------------------------------------------------------------------//
 
+	private Overloaded createOverloadedProxy(final ProxyStrategy proxyStrategy) throws Exception {
+		final Overloaded emulated = new DaisyChainDispatcherFactory(this.context)
+				.emulationInterface(Overloaded.class)
+				.proxyStrategy(proxyStrategy)
+				.implementation(MethodImplementation.builder()
+						.methodIdentifier("describe")
+						.method(Overloaded.class.getMethod("describe", String.class))
+						.beanOperation(BeanOperation.builder()
+								.implementation(new Describer())
+								.methodIdentifier("text")
+								.argument(new ArgumentFromMethod(String.class, 0))
+								.build())
+						.build())
+				.implementation(MethodImplementation.builder()
+						.methodIdentifier("describe")
+						.method(Overloaded.class.getMethod("describe", Integer.class))
+						.beanOperation(BeanOperation.builder()
+								.implementation(new Describer())
+								.methodIdentifier("number")
+								.argument(new ArgumentFromMethod(Integer.class, 0))
+								.build())
+						.build())
+				.build();
+		((InitializingBean) emulated).afterPropertiesSet();
+		return emulated;
+	}
+
 	private EmulatedInterface createProxy() throws Exception {
+		return this.createProxy(ProxyStrategy.JDK_PROXY);
+	}
+
+	private EmulatedInterface createProxy(final ProxyStrategy proxyStrategy) throws Exception {
 		final EmulatedInterface emulated = new DaisyChainDispatcherFactory(this.context)
 				.emulationInterface(EmulatedInterface.class)
+				.proxyStrategy(proxyStrategy)
 				.implementation(MethodImplementation.builder()
 						.methodIdentifier(EmulatedInterface.method_1)
 						.beanOperation(BeanOperation.builder()
@@ -212,6 +311,24 @@ public class DaisyChainDispatcherFactoryTest {
 		}
 	}
 
+	public interface Overloaded {
+
+		ApplicationProtocol<String> describe(String text);
+
+		ApplicationProtocol<String> describe(Integer number);
+	}
+
+	public static class Describer {
+
+		public ApplicationProtocol<String> text(final String text) {
+			return new ApplicationProtocol<String>().setResult("text " + text);
+		}
+
+		public ApplicationProtocol<String> number(final Integer number) {
+			return new ApplicationProtocol<String>().setResult("number " + number);
+		}
+	}
+
 	@SuppressWarnings("unused")
 	private static class Wrong {
 
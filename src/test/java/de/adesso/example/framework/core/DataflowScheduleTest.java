@@ -0,0 +1,161 @@
+package de.adesso.example.framework.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import de.adesso.example.framework.ApplicationProtocol;
+import de.adesso.example.framework.annotation.Dataflow;
+import de.adesso.example.framework.annotation.ResultAccess;
+import de.adesso.example.framework.exception.BeanCallException;
+import lombok.AllArgsConstructor;
+
+@RunWith(SpringRunner.class)
+public class DataflowScheduleTest {
+
+	@Mock
+	private ApplicationContext contextMock;
+	@Mock
+	private MethodImplementation methodImplMock;
+
+	@Test
+	public void testIndependentOperationsShareLevel() {
+		final DataflowSchedule schedule = this.createSchedule(
+				this.initOperation(), this.tagOperation(), this.appendOperation());
+
+		assertThat(schedule.getLevels())
+				.containsExactly(new int[] { 0, 1 }, new int[] { 2 });
+	}
+
+	@Test
+	public void testUndeclaredOperationIsBarrier() {
+		final DataflowSchedule schedule = this.createSchedule(
+				this.initOperation(), this.barrierOperation(), this.tagOperation());
+
+		assertThat(schedule.getLevels())
+				.containsExactly(new int[] { 0 }, new int[] { 1 }, new int[] { 2 });
+	}
+
+	@Test
+	public void testResultEqualsSequentialExecution() {
+		final List<BeanOperation> operations = Arrays.asList(
+				this.initOperation(), this.tagOperation(), this.appendOperation());
+		final Object[] args = { "result" };
+
+		ApplicationProtocol<String> sequential = new ApplicationProtocol<>();
+		for (final BeanOperation o : operations) {
+			sequential = MethodImplementation.executeOperation(o, sequential, args);
+		}
+		final ApplicationProtocol<String> dataflow = new DataflowSchedule(operations, ForkJoinPool.commonPool())
+				.execute(new ApplicationProtocol<String>(), args);
+
+		assertThat(dataflow.getResult())
+				.isEqualTo(sequential.getResult())
+				.isEqualTo("result-tag");
+		assertThat(dataflow.getAllAppenixesOfTypeAsListT(Tag.class))
+				.extracting(t -> t.value)
+				.containsExactly("tag");
+	}
+
+	@Test(expected = BeanCallException.class)
+	public void testFailingOperation() {
+		final DataflowSchedule schedule = this.createSchedule(this.initOperation(), this.failingOperation());
+
+		schedule.execute(new ApplicationProtocol<String>(), new Object[] { "result" });
+	}
+
+	@Test(expected = BeanCallException.class)
+	public void testReplacedProtocol() {
+		final DataflowSchedule schedule = this.createSchedule(this.initOperation(), this.replacingOperation());
+
+		schedule.execute(new ApplicationProtocol<String>(), new Object[] { "result" });
+	}
+
+	private DataflowSchedule createSchedule(final BeanOperation... operations) {
+		return new DataflowSchedule(Arrays.asList(operations), ForkJoinPool.commonPool());
+	}
+
+	private BeanOperation initOperation() {
+		return this.createOperation("init",
+				new ArgumentFromMethod(String.class, 0), new ArgumentApplicationProtocol());
+	}
+
+	private BeanOperation tagOperation() {
+		return this.createOperation("tag", new ArgumentApplicationProtocol());
+	}
+
+	private BeanOperation appendOperation() {
+		return this.createOperation("append", new ArgumentFromAppendix(Tag.class), new ArgumentApplicationProtocol());
+	}
+
+	private BeanOperation barrierOperation() {
+		return this.createOperation("barrier", new ArgumentApplicationProtocol());
+	}
+
+	private BeanOperation failingOperation() {
+		return this.createOperation("fail", new ArgumentApplicationProtocol());
+	}
+
+	private BeanOperation replacingOperation() {
+		return this.createOperation("replace", new ArgumentApplicationProtocol());
+	}
+
+	private BeanOperation createOperation(final String methodIdentifier, final Argument... arguments) {
+		final BeanOperation operation = BeanOperation.builder()
+				.implementation(new TestBean())
+				.methodIdentifier(methodIdentifier)
+				.arguments(Arrays.asList(arguments))
+				.build();
+		operation.init(this.methodImplMock, this.contextMock);
+		return operation;
+	}
+
+	@AllArgsConstructor
+	public static class Tag {
+
+		final String value;
+	}
+
+	public static class TestBean {
+
+		@Dataflow(result = ResultAccess.WRITE)
+		public ApplicationProtocol<String> init(final String result, final ApplicationProtocol<String> state) {
+			state.setResult(result);
+			return state;
+		}
+
+		@Dataflow(writes = Tag.class, result = ResultAccess.NONE)
+		public ApplicationProtocol<String> tag(final ApplicationProtocol<String> state) {
+			state.addAppendix(null, new Tag("tag"));
+			return state;
+		}
+
+		@Dataflow(result = ResultAccess.WRITE)
+		public ApplicationProtocol<String> append(final Tag tag, final ApplicationProtocol<String> state) {
+			state.setResult(state.getResult() + "-" + tag.value);
+			return state;
+		}
+
+		public ApplicationProtocol<String> barrier(final ApplicationProtocol<String> state) {
+			return state;
+		}
+
+		@Dataflow(result = ResultAccess.NONE)
+		public ApplicationProtocol<String> fail(final ApplicationProtocol<String> state) {
+			throw new IllegalStateException("failed");
+		}
+
+		@Dataflow(result = ResultAccess.NONE)
+		public ApplicationProtocol<String> replace(final ApplicationProtocol<String> state) {
+			return new ApplicationProtocol<>();
+		}
+	}
+}
@@ -0,0 +1,81 @@
+package de.adesso.example.framework.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.Set;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import de.adesso.example.application.Cashier;
+import de.adesso.example.framework.OtherAnnotatedEmulatedInterface;
+
+public class EmulatedInterfaceIndexTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void testIndexWrittenDuringCompilation() {
+		final Optional<Set<String>> index = EmulatedInterfaceIndex.read(this.getClass().getClassLoader(),
+				"de.adesso.example");
+
+		assertThat(index)
+				.hasValueSatisfying(names -> assertThat(names)
+						.contains(Cashier.class.getName(), OtherAnnotatedEmulatedInterface.class.getName()));
+	}
+
+	@Test
+	public void testIndexRestrictedToPackage() {
+		final Optional<Set<String>> index = EmulatedInterfaceIndex.read(this.getClass().getClassLoader(),
+				"de.adesso.example.framework");
+
+		assertThat(index)
+				.hasValueSatisfying(names -> assertThat(names)
+						.contains(OtherAnnotatedEmulatedInterface.class.getName())
+						.doesNotContain(Cashier.class.getName()));
+	}
+
+	@Test
+	public void testMissingIndex() {
+		final ClassLoader withoutIndex = new URLClassLoader(new URL[0], null);
+
+		assertThat(EmulatedInterfaceIndex.read(withoutIndex, "de.adesso.example"))
+				.isEmpty();
+	}
+
+	@Test
+	public void testRootWithoutIndexIsReported() throws Exception {
+		final Path indexed = this.createRoot("indexed");
+		Files.createDirectories(indexed.resolve("META-INF"));
+		Files.writeString(indexed.resolve(EmulatedInterfaceIndex.INDEX_LOCATION), "de.adesso.example.Indexed\n");
+		final Path unindexed = this.createRoot("unindexed");
+
+		try (URLClassLoader classLoader = new URLClassLoader(
+				new URL[] { indexed.toUri().toURL(), unindexed.toUri().toURL() }, null)) {
+			assertThat(EmulatedInterfaceIndex.read(classLoader, "de.adesso.example"))
+					.hasValueSatisfying(names -> assertThat(names)
+							.containsExactly("de.adesso.example.Indexed"));
+			assertThat(EmulatedInterfaceIndex.unindexedRoots(classLoader, "de.adesso.example"))
+					.containsExactly(unindexed.toUri().toURL().toString());
+		}
+	}
+
+	@Test
+	public void testTestClassesAreIndexed() {
+		assertThat(EmulatedInterfaceIndex.unindexedRoots(this.getClass().getClassLoader(), "de.adesso.example"))
+				.isEmpty();
+	}
+
+	private Path createRoot(final String name) throws Exception {
+		final Path root = this.folder.newFolder(name).toPath();
+		Files.createDirectories(root.resolve("de/adesso/example"));
+		return root;
+	}
+}
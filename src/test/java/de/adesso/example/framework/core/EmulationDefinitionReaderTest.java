@@ -0,0 +1,99 @@
+package de.adesso.example.framework.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+import de.adesso.example.application.Cashier;
+import de.adesso.example.application.PriceCalculatorAnnotated;
+import de.adesso.example.application.shopping.ShoppingBean;
+import de.adesso.example.framework.AnnotatedEmulatedInterfacePojo;
+import de.adesso.example.framework.AnnotatedEmulatedInterfaceSpringBeanInterface;
+import de.adesso.example.framework.ApplicationProtocol;
+import de.adesso.example.framework.TestPojoBean;
+import de.adesso.example.framework.annotation.Implementation;
+import de.adesso.example.framework.annotation.ImplementationDefinition;
+
+public class EmulationDefinitionReaderTest {
+
+	private final EmulationDefinitionReader reader = new EmulationDefinitionReader(new ArgumentFactory());
+
+	@Test
+	public void testGeneratedEmulationMatchesAnnotations() throws Exception {
+		for (final Class<?> emulatedInterface : List.of(Cashier.class, PriceCalculatorAnnotated.class,
+				ShoppingBean.class, AnnotatedEmulatedInterfacePojo.class,
+				AnnotatedEmulatedInterfaceSpringBeanInterface.class)) {
+			final GeneratedEmulation generated = (GeneratedEmulation) Class
+					.forName(GeneratedEmulation.nameOf(emulatedInterface))
+					.getDeclaredConstructor()
+					.newInstance();
+
+			assertThat(this.describe(generated.methodImplementations()))
+					.as(emulatedInterface.getName())
+					.isEqualTo(this.describe(this.reader.readAnnotations(emulatedInterface)));
+		}
+	}
+
+	@Test
+	public void testGeneratedEmulationIsTaken() {
+		assertThat(this.reader.readMethodImplementations(PriceCalculatorAnnotated.class))
+				.extracting(MethodImplementation::getMethodIdentifier)
+				.containsExactly("calculatePriceOfArticle");
+	}
+
+	@Test
+	public void testInterfaceWithoutGeneratedEmulationIsRead() {
+		final List<MethodImplementation> implementations = this.reader
+				.readMethodImplementations(NotGenerated.class);
+
+		assertThat(implementations)
+				.hasSize(1);
+		assertThat(implementations.get(0).getBeanOperations())
+				.extracting(BeanOperation::getMethodIdentifier)
+				.containsExactly("operation");
+	}
+
+	@Test
+	public void testNameOfNestedInterface() {
+		assertThat(GeneratedEmulation.nameOf(NotGenerated.class))
+				.isEqualTo("de.adesso.example.framework.core.EmulationDefinitionReaderTest_NotGenerated_Emulation");
+	}
+
+	private List<String> describe(final List<MethodImplementation> implementations) {
+		return implementations.stream()
+				.map(m -> String.join("\n", m.getMethod().toString(), m.getMethodIdentifier(),
+						m.getExecutionStrategy().toString(), m.getExecutorName(),
+						String.valueOf(m.getParallelOperation()),
+						m.getBeanOperations().stream()
+								.map(this::describe)
+								.collect(Collectors.joining("\n"))))
+				.sorted()
+				.collect(Collectors.toList());
+	}
+
+	private String describe(final BeanOperation operation) {
+		return String.join(" ", String.valueOf(operation.getAnInterface()), String.valueOf(operation.getBeanType()),
+				operation.getMethod().toString(),
+				operation.getArguments().stream()
+						.map(this::describe)
+						.collect(Collectors.joining(", ")));
+	}
+
+	private String describe(final Argument argument) {
+		final String description = argument.getClass().getSimpleName() + "<" + argument.getType().getName() + ">";
+		if (argument instanceof ArgumentFromMethod) {
+			return description + "@" + ((ArgumentFromMethod) argument).getSourcePosition();
+		}
+		return description;
+	}
+
+	/** not annotated as emulated, thus the processor doesn't generate it */
+	public interface NotGenerated {
+
+		@ImplementationDefinition(value = @Implementation(bean = TestPojoBean.class))
+		ApplicationProtocol<String> operation(String aString, ApplicationProtocol<String> state);
+	}
+}
@@ -0,0 +1,56 @@
+package de.adesso.example.framework.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import de.adesso.example.framework.AnnotatedEmulatedInterfaceSpringBean;
+import de.adesso.example.framework.ApplicationProtocol;
+import de.adesso.example.framework.OtherAnnotatedEmulatedInterface;
+import de.adesso.example.framework.TestConfig;
+import de.adesso.example.framework.core.EmulationStartupReport.Phase;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = { TestConfig.class },
+		properties = ApplicationBeanDefinitionRegistryPostProcessor.PARALLEL_STARTUP_PROPERTY + "=true")
+public class EmulationStartupReportTest {
+
+	@Autowired
+	private EmulationStartupReport report;
+
+	@Autowired
+	private AnnotatedEmulatedInterfaceSpringBean springBeanBased;
+
+	@Autowired
+	private OtherAnnotatedEmulatedInterface otherEmulatedInterface;
+
+	@Test
+	public void testPhasesAreRecorded() {
+		assertThat(this.report.getEmulatedInterfaces())
+				.contains(AnnotatedEmulatedInterfaceSpringBean.class, OtherAnnotatedEmulatedInterface.class);
+		for (final Phase phase : Phase.values()) {
+			assertThat(this.report.getDuration(OtherAnnotatedEmulatedInterface.class, phase))
+					.isGreaterThan(Duration.ZERO);
+		}
+		assertThat(this.report.getTotal(OtherAnnotatedEmulatedInterface.class))
+				.isGreaterThanOrEqualTo(this.report.getDuration(OtherAnnotatedEmulatedInterface.class, Phase.INIT));
+	}
+
+	@Test
+	public void testParallelBuiltEmulationWorks() {
+		final String testString = "test string";
+
+		final ApplicationProtocol<String> state = this.springBeanBased.operation(testString,
+				new ApplicationProtocol<>());
+
+		assertThat(state.getResult()).isEqualTo(testString);
+		assertThat(this.otherEmulatedInterface.operation(testString, new ApplicationProtocol<>()).getResult())
+				.isNotNull();
+	}
+}
@@ -0,0 +1,133 @@
+package de.adesso.example.framework.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import de.adesso.example.framework.ApplicationProtocol;
+import de.adesso.example.framework.TestConfig;
+import de.adesso.example.framework.annotation.CallStrategy;
+import de.adesso.example.framework.annotation.CallingStrategy;
+import de.adesso.example.framework.annotation.Required;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = { TestConfig.class })
+public class FlightRecorderEventTest {
+
+	@Autowired
+	private ApplicationContext context;
+
+	@Test
+	public void testEventsOfChain() throws Exception {
+		final RecordedInterface emulated = this.createProxy();
+
+		final List<RecordedEvent> events;
+		try (Recording recording = new Recording()) {
+			recording.enable(DispatchEvent.class);
+			recording.enable(MethodExecutionEvent.class);
+			recording.enable(BeanOperationEvent.class);
+			recording.start();
+			emulated.calculate("a", new ApplicationProtocol<String>().addAppendix(null, 1));
+			recording.stop();
+
+			final Path file = Files.createTempFile("chain", ".jfr");
+			try {
+				recording.dump(file);
+				events = RecordingFile.readAllEvents(file);
+			} finally {
+				Files.delete(file);
+			}
+		}
+
+		final List<RecordedEvent> dispatches = this.eventsOf(events, "Dispatch");
+		assertThat(dispatches)
+				.hasSize(1);
+		assertThat(dispatches.get(0).getString("emulatedInterface"))
+				.isEqualTo(RecordedInterface.class.getName());
+		assertThat(dispatches.get(0).getInt("appendixes"))
+				.isEqualTo(1);
+
+		final List<RecordedEvent> executions = this.eventsOf(events, "MethodExecution");
+		assertThat(executions)
+				.hasSize(1);
+		assertThat(executions.get(0).getString("method"))
+				.isEqualTo("calculate");
+		assertThat(executions.get(0).getInt("steps"))
+				.isEqualTo(2);
+
+		final List<RecordedEvent> operations = this.eventsOf(events, "BeanOperation");
+		assertThat(operations)
+				.extracting(e -> e.getString("beanMethod"))
+				.containsExactly("init", "appendixMethod");
+		assertThat(operations)
+				.extracting(e -> e.getInt("step"))
+				.containsExactly(0, 1);
+		assertThat(operations)
+				.extracting(e -> e.getBoolean("skipped"))
+				.containsExactly(false, true);
+		assertThat(operations.get(0).getString("emulatedInterface"))
+				.isEqualTo(RecordedInterface.class.getName());
+	}
+
+	private List<RecordedEvent> eventsOf(final List<RecordedEvent> events, final String name) {
+		return events.stream()
+				.filter(e -> e.getEventType().getName().equals("de.adesso.example.framework." + name))
+				.collect(Collectors.toList());
+	}
+
+	private RecordedInterface createProxy() throws Exception {
+		final RecordedBean bean = new RecordedBean();
+		final RecordedInterface emulated = new DaisyChainDispatcherFactory(this.context)
+				.emulationInterface(RecordedInterface.class)
+				.implementation(MethodImplementation.builder()
+						.methodIdentifier("calculate")
+						.beanOperation(BeanOperation.builder()
+								.implementation(bean)
+								.methodIdentifier("init")
+								.argument(new ArgumentFromMethod(String.class, 0))
+								.argument(new ArgumentApplicationProtocol())
+								.build())
+						.beanOperation(BeanOperation.builder()
+								.implementation(bean)
+								.methodIdentifier("appendixMethod")
+								.argument(new ArgumentFromAppendix(String.class))
+								.argument(new ArgumentApplicationProtocol())
+								.build())
+						.build())
+				.build();
+		((InitializingBean) emulated).afterPropertiesSet();
+		return emulated;
+	}
+
+	public interface RecordedInterface {
+
+		ApplicationProtocol<String> calculate(String text, ApplicationProtocol<String> state);
+	}
+
+	public static class RecordedBean {
+
+		public ApplicationProtocol<String> init(final String text, final ApplicationProtocol<String> state) {
+			return state.setResult(text);
+		}
+
+		@CallStrategy(strategy = CallingStrategy.REQUIRED_PARAMETER)
+		public ApplicationProtocol<String> appendixMethod(@Required final String appendix,
+				final ApplicationProtocol<String> state) {
+			return state.setResult(state.getResult() + appendix);
+		}
+	}
+}
@@ -0,0 +1,213 @@
+package de.adesso.example.framework.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import de.adesso.example.framework.ApplicationProtocol;
+import de.adesso.example.framework.annotation.Memoized;
+import de.adesso.example.framework.exception.BuilderException;
+import lombok.AllArgsConstructor;
+
+@RunWith(SpringRunner.class)
+public class MemoizedOperationTest {
+
+	@Mock
+	private ApplicationContext contextMock;
+	@Mock
+	private MethodImplementation methodImplMock;
+
+	@Test
+	public void testHitReplaysEffectWithoutCall() {
+		final TestBean bean = new TestBean();
+		final BeanOperation operation = this.createOperation(bean, "price");
+
+		final ApplicationProtocol<String> first = this.execute(operation, "a");
+		final ApplicationProtocol<String> second = this.execute(operation, "a");
+		this.execute(operation, "b");
+
+		assertThat(bean.calls)
+				.isEqualTo(2);
+		assertThat(second.getResult())
+				.isEqualTo(first.getResult())
+				.isEqualTo("price of a");
+		assertThat(second.getAllAppenixesOfTypeAsListT(Tag.class))
+				.extracting(t -> t.value)
+				.containsExactly("existing", "a");
+		assertThat(operation.getStepCache().getHits())
+				.isEqualTo(1);
+		assertThat(operation.getStepCache().getMisses())
+				.isEqualTo(2);
+	}
+
+	@Test
+	public void testCachedEffectIsNotChangedByProtocol() {
+		final BeanOperation operation = this.createOperation(new TestBean(), "price");
+
+		final ApplicationProtocol<String> first = this.execute(operation, "a");
+		first.addAppendix(null, new Tag("later"));
+		first.removeAll(null, Tag.class);
+		final ApplicationProtocol<String> second = this.execute(operation, "a");
+
+		assertThat(second.getAllAppenixesOfTypeAsListT(Tag.class))
+				.extracting(t -> t.value)
+				.containsExactly("existing", "a");
+	}
+
+	@Test
+	public void testSizeEviction() {
+		final TestBean bean = new TestBean();
+		final BeanOperation operation = this.createOperation(bean, "small");
+
+		this.execute(operation, "a");
+		this.execute(operation, "b");
+		this.execute(operation, "a");
+
+		assertThat(bean.calls)
+				.isEqualTo(3);
+		assertThat(operation.getStepCache().getEvictions())
+				.isEqualTo(2);
+		assertThat(operation.getStepCache().getSize())
+				.isEqualTo(1);
+	}
+
+	@Test
+	public void testTimeToLive() throws InterruptedException {
+		final StepCache cache = new StepCache(10, 1, TimeUnit.MILLISECONDS);
+		final List<Object> key = Arrays.asList("a");
+		cache.put(key, new ApplicationProtocol<>());
+
+		Thread.sleep(5);
+
+		assertThat(cache.get(key))
+				.isNull();
+		assertThat(cache.getEvictions())
+				.isEqualTo(1);
+	}
+
+	@Test
+	public void testOverflowAfterExpiryEvictsOldest() throws InterruptedException {
+		final StepCache cache = new StepCache(2, 200, TimeUnit.MILLISECONDS);
+		final List<Object> a = Arrays.asList("a");
+		final List<Object> b = Arrays.asList("b");
+		final List<Object> c = Arrays.asList("c");
+		cache.put(a, new ApplicationProtocol<>());
+
+		Thread.sleep(250);
+		assertThat(cache.get(a))
+				.isNull();
+
+		cache.put(b, new ApplicationProtocol<>());
+		cache.put(a, new ApplicationProtocol<>());
+		cache.put(c, new ApplicationProtocol<>());
+
+		assertThat(cache.get(b))
+				.isNull();
+		assertThat(cache.get(a))
+				.isNotNull();
+		assertThat(cache.get(c))
+				.isNotNull();
+		assertThat(cache.getEvictions())
+				.isEqualTo(2);
+		assertThat(cache.getSize())
+				.isEqualTo(2);
+	}
+
+	@Test
+	public void testConcurrentPutsStayBounded() throws Exception {
+		final StepCache cache = new StepCache(10, 0, TimeUnit.SECONDS);
+		final ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			final List<Future<?>> callers = new ArrayList<>();
+			for (int t = 0; t < 4; t++) {
+				final int offset = t;
+				callers.add(executor.submit(() -> {
+					for (int i = 0; i < 10_000; i++) {
+						final List<Object> key = Arrays.asList((i * 7 + offset) % 100);
+						if (cache.get(key) == null) {
+							cache.put(key, new ApplicationProtocol<>());
+						}
+						assertThat(cache.getSize())
+								.isLessThanOrEqualTo(10 + 4);
+					}
+				}));
+			}
+			for (final Future<?> caller : callers) {
+				caller.get();
+			}
+		} finally {
+			executor.shutdown();
+		}
+
+		assertThat(cache.getSize())
+				.isLessThanOrEqualTo(10);
+		assertThat(cache.getEvictions())
+				.isPositive()
+				.isLessThanOrEqualTo(cache.getMisses() - cache.getSize());
+	}
+
+	@Test(expected = BuilderException.class)
+	public void testAsynchronousMethodIsRejected() {
+		this.createOperation(new TestBean(), "async");
+	}
+
+	private ApplicationProtocol<String> execute(final BeanOperation operation, final String article) {
+		final ApplicationProtocol<String> state = new ApplicationProtocol<>();
+		state.addAppendix(null, new Tag("existing"));
+		return MethodImplementation.executeOperation(operation, state, new Object[] { article });
+	}
+
+	private BeanOperation createOperation(final TestBean bean, final String methodIdentifier) {
+		final BeanOperation operation = BeanOperation.builder()
+				.implementation(bean)
+				.methodIdentifier(methodIdentifier)
+				.arguments(Arrays.asList(new ArgumentFromMethod(String.class, 0), new ArgumentApplicationProtocol()))
+				.build();
+		operation.init(this.methodImplMock, this.contextMock);
+		return operation;
+	}
+
+	@AllArgsConstructor
+	public static class Tag {
+
+		final String value;
+	}
+
+	public static class TestBean {
+
+		int calls;
+
+		@Memoized
+		public ApplicationProtocol<String> price(final String article, final ApplicationProtocol<String> state) {
+			this.calls++;
+			state.setResult("price of " + article);
+			state.addAppendix(null, new Tag(article));
+			return state;
+		}
+
+		@Memoized(maximumSize = 1)
+		public ApplicationProtocol<String> small(final String article, final ApplicationProtocol<String> state) {
+			return this.price(article, state);
+		}
+
+		@Memoized
+		public CompletionStage<ApplicationProtocol<String>> async(final String article,
+				final ApplicationProtocol<String> state) {
+			return CompletableFuture.completedFuture(state);
+		}
+	}
+}
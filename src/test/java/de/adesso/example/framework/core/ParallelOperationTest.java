@@ -0,0 +1,171 @@
+package de.adesso.example.framework.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.support.StaticApplicationContext;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import de.adesso.example.framework.ApplicationProtocol;
+import de.adesso.example.framework.TestConfig;
+import de.adesso.example.framework.exception.BeanCallException;
+import de.adesso.example.framework.exception.BuilderException;
+import lombok.AllArgsConstructor;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = { TestConfig.class })
+public class ParallelOperationTest {
+
+	@Autowired
+	private ApplicationContext context;
+
+	@Test
+	public void testJoinKeepsOrderOfSplit() {
+		final ParallelOperation operation = this.createOperation("upper", "");
+		final List<String> words = Arrays.asList("eins", "zwei", "drei", "vier", "fünf", "sechs");
+
+		final ApplicationProtocol<?> result = operation.execute(new ApplicationProtocol<String>(),
+				new Object[] { words });
+
+		assertThat(result.getResult())
+				.isEqualTo("EINS ZWEI DREI VIER FÜNF SECHS");
+	}
+
+	@Test
+	public void testConfiguredExecutor() {
+		final ParallelOperation operation = this.createOperation("upper", "threadPoolTaskScheduler");
+
+		final ApplicationProtocol<?> result = operation.execute(new ApplicationProtocol<String>(),
+				new Object[] { Arrays.asList("a", "b") });
+
+		assertThat(result.getResult())
+				.isEqualTo("A B");
+	}
+
+	@Test(expected = BeanCallException.class)
+	public void testFailingBranch() {
+		final ParallelOperation operation = this.createOperation("fail", "");
+
+		operation.execute(new ApplicationProtocol<String>(), new Object[] { Arrays.asList("a", "b") });
+	}
+
+	@Test(expected = BuilderException.class)
+	public void testOverloadedBranchIsRejected() {
+		this.createOperation("overloaded", "");
+	}
+
+	@Test(timeout = 10_000)
+	public void testNestedSplitOnSingleThread() {
+		final ExecutorService single = Executors.newSingleThreadExecutor();
+		try (StaticApplicationContext nestedContext = new StaticApplicationContext()) {
+			nestedContext.getBeanFactory().registerSingleton("single", single);
+			nestedContext.refresh();
+			final ParallelOperation inner = this.createOperation(nestedContext, WordBean.class, "upper", "single");
+			nestedContext.getBeanFactory().registerSingleton("nestedBean", new NestedBean(inner));
+			final ParallelOperation outer = this.createOperation(nestedContext, NestedBean.class, "twice",
+					"single");
+
+			final ApplicationProtocol<?> result = outer.execute(new ApplicationProtocol<String>(),
+					new Object[] { Arrays.asList("a", "b", "c") });
+
+			assertThat(result.getResult())
+					.isEqualTo("A A B B C C");
+		} finally {
+			single.shutdownNow();
+		}
+	}
+
+	private ParallelOperation createOperation(final String branchMethod, final String executor) {
+		return this.createOperation(this.context, WordBean.class, branchMethod, executor);
+	}
+
+	private ParallelOperation createOperation(final ApplicationContext context, final Class<?> branchType,
+			final String branchMethod, final String executor) {
+		final ParallelOperation operation = ParallelOperation.builder()
+				.splitType(WordSplit.class)
+				.branchType(branchType)
+				.branchMethodIdentifier(branchMethod)
+				.joinType(WordJoin.class)
+				.executorName(executor)
+				.build();
+		operation.init(context);
+		return operation;
+	}
+
+	public static class WordSplit extends ParallelSplit {
+
+		@Override
+		public List<ParallelBranch> split(final Object[] args, final ApplicationProtocol<?> state) {
+			@SuppressWarnings("unchecked")
+			final List<String> words = (List<String>) args[0];
+			return words.stream()
+					.map(w -> new ParallelBranch(w, w, words.size() - words.indexOf(w),
+							new ApplicationProtocol<String>()))
+					.collect(Collectors.toList());
+		}
+	}
+
+	public static class WordBean {
+
+		public ApplicationProtocol<String> upper(final String word, final int delay,
+				final ApplicationProtocol<String> state) throws InterruptedException {
+			// the first words finish last
+			Thread.sleep(delay * 10L);
+			state.setResult(word.toUpperCase());
+			return state;
+		}
+
+		public ApplicationProtocol<String> overloaded(final String word, final int delay,
+				final ApplicationProtocol<String> state) {
+			return state;
+		}
+
+		public ApplicationProtocol<String> overloaded(final String word, final long delay,
+				final ApplicationProtocol<String> state) {
+			return state;
+		}
+
+		public ApplicationProtocol<String> fail(final String word, final int delay,
+				final ApplicationProtocol<String> state) {
+			throw new IllegalStateException(word);
+		}
+	}
+
+	/**
+	 * Splits each word again, on the same executor.
+	 */
+	@AllArgsConstructor
+	public static class NestedBean {
+
+		private final ParallelOperation inner;
+
+		public ApplicationProtocol<?> twice(final String word, final int delay,
+				final ApplicationProtocol<String> state) {
+			return this.inner.execute(state, new Object[] { Arrays.asList(word, word) });
+		}
+	}
+
+	public static class WordJoin extends ParallelJoin {
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public ApplicationProtocol<?> join(final Object[] args, final ApplicationProtocol<?> state,
+				final List<ParallelBranch> branches) {
+			final ApplicationProtocol<String> result = (ApplicationProtocol<String>) state;
+			result.setResult(branches.stream()
+					.map(b -> (String) b.getResult().getResult())
+					.collect(Collectors.joining(" ")));
+			return result;
+		}
+	}
+}
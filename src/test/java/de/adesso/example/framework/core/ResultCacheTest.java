@@ -0,0 +1,233 @@
+package de.adesso.example.framework.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationContextAware;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import de.adesso.example.framework.ApplicationProtocol;
+import de.adesso.example.framework.CacheKey;
+import de.adesso.example.framework.TestConfig;
+import de.adesso.example.framework.annotation.CachedResult;
+import de.adesso.example.framework.annotation.ProxyStrategy;
+import de.adesso.example.framework.annotation.SingleFlight;
+import de.adesso.example.framework.exception.BuilderException;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = { TestConfig.class })
+public class ResultCacheTest {
+
+	@Autowired
+	private ApplicationContext context;
+	@Autowired
+	private ResultCacheRegistry registry;
+
+	@Test
+	public void testHitIsAppliedToProtocolWithoutCall() throws Exception {
+		final PriceBean priceBean = new PriceBean();
+		final Pricing emulated = this.createProxy(priceBean);
+
+		final ApplicationProtocol<Integer> first = emulated.price("abc", this.appendixes(10));
+		final ApplicationProtocol<Integer> appendixes = this.appendixes(10);
+		final ApplicationProtocol<Integer> second = emulated.price("abc", appendixes);
+
+		assertThat(priceBean.calls)
+				.isEqualTo(1);
+		assertThat(second)
+				.isSameAs(appendixes)
+				.isNotSameAs(first);
+		assertThat(second.getResult())
+				.isEqualTo(first.getResult())
+				.isEqualTo(30);
+		assertThat(second.getAllAppenixesOfTypeAsListT(String.class))
+				.containsExactly("abc");
+		// the appendixes of the key are not added again
+		assertThat(second.getAllAppenixesOfTypeAsListT(Factor.class))
+				.hasSize(1);
+		assertThat(this.registry.getResultCache(Pricing.class, "price").getHits())
+				.isEqualTo(1);
+	}
+
+	@Test
+	public void testHitKeepsOwnUnlistedAppendixes() throws Exception {
+		final Pricing emulated = this.createProxy(new PriceBean());
+
+		emulated.price("abc", this.appendixes(10).addAppendix(null, 1L));
+		final ApplicationProtocol<Integer> second = emulated.price("abc", this.appendixes(10).addAppendix(null, 2L));
+
+		assertThat(second.getAllAppenixesOfTypeAsListT(Long.class))
+				.containsExactly(2L);
+		assertThat(second.getAllAppenixesOfTypeAsListT(String.class))
+				.containsExactly("abc");
+	}
+
+	@Test
+	public void testArgumentsAndAppendixesArePartOfKey() throws Exception {
+		final PriceBean priceBean = new PriceBean();
+		final Pricing emulated = this.createProxy(priceBean);
+
+		emulated.price("abc", this.appendixes(10));
+		emulated.price("abc", this.appendixes(2));
+		emulated.price("ab", this.appendixes(2));
+
+		assertThat(priceBean.calls)
+				.isEqualTo(3);
+	}
+
+	@Test
+	public void testUnlistedAppendixesAreNotPartOfKey() throws Exception {
+		final PriceBean priceBean = new PriceBean();
+		final Pricing emulated = this.createProxy(priceBean);
+
+		emulated.price("abc", this.appendixes(10));
+		emulated.price("abc", this.appendixes(10).addAppendix(null, 1L));
+
+		assertThat(priceBean.calls)
+				.isEqualTo(1);
+	}
+
+	@Test
+	public void testCacheKeyReplacesEquality() throws Exception {
+		final PriceBean priceBean = new PriceBean();
+		final KeyedPricing emulated = this.createProxy(priceBean, KeyedPricing.class);
+
+		emulated.price("abc", this.appendixes(10).addAppendix(null, new Tier("gold")));
+		emulated.price("abc", this.appendixes(10).addAppendix(null, new Tier("gold")));
+		emulated.price("abc", this.appendixes(10).addAppendix(null, new Tier("silver")));
+		// an other type with the same cache key
+		emulated.price("abc", this.appendixes(10).addAppendix(null, new Label("gold")));
+
+		assertThat(priceBean.calls)
+				.isEqualTo(3);
+	}
+
+	@Test(expected = BuilderException.class)
+	public void testConflictingAppendixesAreRejected() throws Exception {
+		this.createProxy(new PriceBean(), ConflictingPricing.class);
+	}
+
+	@Test
+	public void testChangedResultIsNotCached() throws Exception {
+		final Pricing emulated = this.createProxy(new PriceBean());
+
+		emulated.price("abc", this.appendixes(10))
+				.setResult(0)
+				.addAppendix(null, "changed");
+		final ApplicationProtocol<Integer> second = emulated.price("abc", this.appendixes(10));
+
+		assertThat(second.getResult())
+				.isEqualTo(30);
+		assertThat(second.getAllAppenixesOfTypeAsListT(String.class))
+				.containsExactly("abc");
+	}
+
+	@Test
+	public void testInvalidation() throws Exception {
+		final PriceBean priceBean = new PriceBean();
+		final Pricing emulated = this.createProxy(priceBean);
+
+		emulated.price("abc", this.appendixes(10));
+		this.registry.invalidate("factors");
+		emulated.price("abc", this.appendixes(10));
+
+		assertThat(priceBean.calls)
+				.isEqualTo(2);
+	}
+
+	private ApplicationProtocol<Integer> appendixes(final int factor) {
+		return new ApplicationProtocol<Integer>()
+				.addAppendix(null, new Factor(factor));
+	}
+
+	private Pricing createProxy(final PriceBean priceBean) throws Exception {
+		return this.createProxy(priceBean, Pricing.class);
+	}
+
+	private <T> T createProxy(final PriceBean priceBean, final Class<T> emulationInterface) throws Exception {
+		final T emulated = new DaisyChainDispatcherFactory(this.context)
+				.emulationInterface(emulationInterface)
+				.proxyStrategy(ProxyStrategy.JDK_PROXY)
+				.implementation(MethodImplementation.builder()
+						.methodIdentifier("price")
+						.beanOperation(BeanOperation.builder()
+								.implementation(priceBean)
+								.methodIdentifier("price")
+								.argument(new ArgumentFromMethod(String.class, 0))
+								.argument(new ArgumentFromAppendix(Factor.class))
+								.argument(new ArgumentApplicationProtocol())
+								.build())
+						.build())
+				.build();
+		((ApplicationContextAware) emulated).setApplicationContext(this.context);
+		((InitializingBean) emulated).afterPropertiesSet();
+		return emulated;
+	}
+
+	public interface Pricing {
+
+		@CachedResult(appendixes = Factor.class, invalidatedBy = "factors")
+		ApplicationProtocol<Integer> price(String article, ApplicationProtocol<Integer> appendixes);
+	}
+
+	public interface KeyedPricing {
+
+		@CachedResult(appendixes = { Factor.class, CacheKey.class })
+		ApplicationProtocol<Integer> price(String article, ApplicationProtocol<Integer> appendixes);
+	}
+
+	public interface ConflictingPricing {
+
+		@CachedResult(appendixes = Factor.class)
+		@SingleFlight(appendixes = {})
+		ApplicationProtocol<Integer> price(String article, ApplicationProtocol<Integer> appendixes);
+	}
+
+	@AllArgsConstructor
+	@EqualsAndHashCode
+	public static class Factor {
+
+		final int value;
+	}
+
+	@AllArgsConstructor
+	public static class Tier implements CacheKey {
+
+		final String name;
+
+		@Override
+		public Object cacheKey() {
+			return this.name;
+		}
+	}
+
+	@AllArgsConstructor
+	public static class Label implements CacheKey {
+
+		final String name;
+
+		@Override
+		public Object cacheKey() {
+			return this.name;
+		}
+	}
+
+	public static class PriceBean {
+
+		int calls;
+
+		public ApplicationProtocol<Integer> price(final String article, final Factor factor,
+				final ApplicationProtocol<Integer> state) {
+			this.calls++;
+			state.addAppendix(null, article);
+			return state.setResult(article.length() * factor.value);
+		}
+	}
+}
@@ -0,0 +1,167 @@
+package de.adesso.example.framework.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationContextAware;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import de.adesso.example.framework.ApplicationProtocol;
+import de.adesso.example.framework.TestConfig;
+import de.adesso.example.framework.annotation.SingleFlight;
+import de.adesso.example.framework.exception.BeanCallException;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = { TestConfig.class })
+public class SingleFlightTest {
+
+	private static final int CALLERS = 4;
+
+	@Autowired
+	private ApplicationContext context;
+	@Autowired
+	private ResultCacheRegistry registry;
+
+	private final ExecutorService callers = Executors.newFixedThreadPool(CALLERS);
+
+	@After
+	public void shutdown() {
+		this.callers.shutdownNow();
+	}
+
+	@Test
+	public void testConcurrentCallsShareExecution() throws Exception {
+		final SlowBean bean = new SlowBean();
+		final Pricing emulated = this.createProxy(bean);
+		final SingleFlightGroup group = this.registry.getSingleFlight(Pricing.class, "price");
+
+		final List<Future<ApplicationProtocol<Integer>>> results = new ArrayList<>();
+		for (int i = 0; i < CALLERS; i++) {
+			results.add(this.callers.submit(() -> emulated.price("abc", new ApplicationProtocol<>())));
+		}
+		this.awaitCoalesced(group, CALLERS - 1);
+		bean.release.countDown();
+
+		final List<ApplicationProtocol<Integer>> protocols = new ArrayList<>();
+		for (final Future<ApplicationProtocol<Integer>> result : results) {
+			protocols.add(result.get(5, TimeUnit.SECONDS));
+		}
+		assertThat(bean.calls.get())
+				.isEqualTo(1);
+		assertThat(protocols)
+				.extracting(ApplicationProtocol::getResult)
+				.containsOnly(3);
+		assertThat(protocols)
+				.doesNotHaveDuplicates();
+		assertThat(protocols.get(0).getAllAppenixesOfTypeAsListT(String.class))
+				.containsExactly("abc");
+		assertThat(group.getExecutions())
+				.isEqualTo(1);
+		assertThat(group.getInFlight())
+				.isZero();
+	}
+
+	@Test
+	public void testSequentialCallsAreExecuted() throws Exception {
+		final SlowBean bean = new SlowBean();
+		bean.release.countDown();
+		final Pricing emulated = this.createProxy(bean);
+
+		emulated.price("abc", new ApplicationProtocol<>());
+		emulated.price("abc", new ApplicationProtocol<>());
+
+		assertThat(bean.calls.get())
+				.isEqualTo(2);
+	}
+
+	@Test
+	public void testFailureIsShared() throws Exception {
+		final SlowBean bean = new SlowBean();
+		final Pricing emulated = this.createProxy(bean);
+		final SingleFlightGroup group = this.registry.getSingleFlight(Pricing.class, "price");
+
+		final List<Future<ApplicationProtocol<Integer>>> results = new ArrayList<>();
+		for (int i = 0; i < CALLERS; i++) {
+			results.add(this.callers.submit(() -> emulated.price("fail", new ApplicationProtocol<>())));
+		}
+		this.awaitCoalesced(group, CALLERS - 1);
+		bean.release.countDown();
+
+		for (final Future<ApplicationProtocol<Integer>> result : results) {
+			assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS))
+					.isInstanceOf(ExecutionException.class)
+					.hasCauseInstanceOf(BeanCallException.class);
+		}
+		assertThat(bean.calls.get())
+				.isEqualTo(1);
+		assertThat(group.getInFlight())
+				.isZero();
+	}
+
+	private void awaitCoalesced(final SingleFlightGroup group, final int coalesced) throws InterruptedException {
+		final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (group.getCoalesced() < coalesced && System.nanoTime() < deadline) {
+			Thread.sleep(1);
+		}
+		assertThat(group.getCoalesced())
+				.isEqualTo(coalesced);
+	}
+
+	private Pricing createProxy(final SlowBean bean) throws Exception {
+		final Pricing emulated = new DaisyChainDispatcherFactory(this.context)
+				.emulationInterface(Pricing.class)
+				.implementation(MethodImplementation.builder()
+						.methodIdentifier("price")
+						.beanOperation(BeanOperation.builder()
+								.implementation(bean)
+								.methodIdentifier("price")
+								.argument(new ArgumentFromMethod(String.class, 0))
+								.argument(new ArgumentApplicationProtocol())
+								.build())
+						.build())
+				.build();
+		((ApplicationContextAware) emulated).setApplicationContext(this.context);
+		((InitializingBean) emulated).afterPropertiesSet();
+		return emulated;
+	}
+
+	public interface Pricing {
+
+		@SingleFlight(appendixes = {})
+		ApplicationProtocol<Integer> price(String article, ApplicationProtocol<Integer> appendixes);
+	}
+
+	public static class SlowBean {
+
+		final AtomicInteger calls = new AtomicInteger();
+		final CountDownLatch release = new CountDownLatch(1);
+
+		public ApplicationProtocol<Integer> price(final String article, final ApplicationProtocol<Integer> state)
+				throws InterruptedException {
+			this.calls.incrementAndGet();
+			this.release.await();
+			if (article.equals("fail")) {
+				throw new IllegalStateException(article);
+			}
+			state.addAppendix(null, article);
+			return state.setResult(article.length());
+		}
+	}
+}
@@ -0,0 +1,234 @@
+package de.adesso.example.framework.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import de.adesso.example.framework.ApplicationProtocol;
+import de.adesso.example.framework.annotation.BatchImplementation;
+import de.adesso.example.framework.exception.BeanCallException;
+
+@RunWith(SpringRunner.class)
+public class StepBatchCollectorTest {
+
+	private static final int CALLERS = 4;
+
+	@Mock
+	private ApplicationContext contextMock;
+	@Mock
+	private MethodImplementation methodImplMock;
+
+	private final ExecutorService callers = Executors.newFixedThreadPool(CALLERS);
+
+	@After
+	public void shutdown() {
+		this.callers.shutdownNow();
+	}
+
+	@Test
+	public void testConcurrentCallsShareBatch() throws Exception {
+		final LengthBean bean = new LengthBean();
+		final BeanOperation operation = this.createOperation(bean, "length");
+
+		final List<Future<ApplicationProtocol<Integer>>> results = new ArrayList<>();
+		for (final String article : Arrays.asList("a", "bb", "ccc", "dddd")) {
+			results.add(this.callers.submit(() -> this.execute(operation, article)));
+		}
+
+		for (int i = 0; i < CALLERS; i++) {
+			assertThat(results.get(i).get(5, TimeUnit.SECONDS).getResult())
+					.isEqualTo(i + 1);
+		}
+		// the batch is full before the window is over
+		assertThat(bean.batchCalls.get())
+				.isEqualTo(1);
+		assertThat(operation.getBatchCollector().getCalls())
+				.isEqualTo(CALLERS);
+	}
+
+	@Test
+	public void testSingleCallAfterWindow() {
+		final LengthBean bean = new LengthBean();
+		final BeanOperation operation = this.createOperation(bean, "quick");
+
+		assertThat(this.execute(operation, "abc").getResult())
+				.isEqualTo(3);
+		assertThat(this.execute(operation, "ab").getResult())
+				.isEqualTo(2);
+		assertThat(bean.batchCalls.get())
+				.isEqualTo(2);
+	}
+
+	@Test
+	public void testUncontendedCallIsExecutedAtOnce() {
+		final LengthBean bean = new LengthBean();
+		final BeanOperation operation = this.createOperation(bean, "adaptive");
+		bean.release.countDown();
+
+		final long start = System.nanoTime();
+		assertThat(this.execute(operation, "abc").getResult())
+				.isEqualTo(3);
+
+		// the window is 5 seconds
+		assertThat(System.nanoTime() - start)
+				.isLessThan(TimeUnit.SECONDS.toNanos(1));
+		assertThat(bean.batchSizes)
+				.containsExactly(1);
+	}
+
+	@Test
+	public void testCallsDuringBatchFormNextBatch() throws Exception {
+		final LengthBean bean = new LengthBean();
+		final BeanOperation operation = this.createOperation(bean, "adaptive");
+
+		final List<Future<ApplicationProtocol<Integer>>> results = new ArrayList<>();
+		results.add(this.callers.submit(() -> this.execute(operation, "a")));
+		this.awaitCondition(() -> bean.batchSizes.size() == 1);
+		for (final String article : Arrays.asList("bb", "ccc", "dddd")) {
+			results.add(this.callers.submit(() -> this.execute(operation, article)));
+		}
+		this.awaitCondition(() -> operation.getBatchCollector().getCalls() == CALLERS);
+		bean.release.countDown();
+
+		for (int i = 0; i < CALLERS; i++) {
+			assertThat(results.get(i).get(5, TimeUnit.SECONDS).getResult())
+					.isEqualTo(i + 1);
+		}
+		assertThat(bean.batchSizes)
+				.containsExactly(1, 3);
+	}
+
+	@Test
+	public void testFailureOfBatchIsIsolated() throws Exception {
+		final LengthBean bean = new LengthBean();
+		final BeanOperation operation = this.createOperation(bean, "length");
+
+		final List<Future<ApplicationProtocol<Integer>>> results = new ArrayList<>();
+		for (final String article : Arrays.asList("a", "fail", "ccc", "dddd")) {
+			results.add(this.callers.submit(() -> this.execute(operation, article)));
+		}
+
+		assertThatThrownBy(() -> results.get(1).get(5, TimeUnit.SECONDS))
+				.isInstanceOf(ExecutionException.class)
+				.hasCauseInstanceOf(BeanCallException.class);
+		assertThat(results.get(0).get(5, TimeUnit.SECONDS).getResult())
+				.isEqualTo(1);
+		assertThat(results.get(2).get(5, TimeUnit.SECONDS).getResult())
+				.isEqualTo(3);
+		assertThat(results.get(3).get(5, TimeUnit.SECONDS).getResult())
+				.isEqualTo(4);
+		assertThat(bean.batchCalls.get())
+				.isEqualTo(1);
+		assertThat(bean.singleCalls.get())
+				.isEqualTo(CALLERS);
+		assertThat(operation.getBatchCollector().getIsolatedCalls())
+				.isEqualTo(CALLERS);
+	}
+
+	@Test
+	public void testFailureOfSingleCallBatchIsNotRepeated() {
+		final LengthBean bean = new LengthBean();
+		final BeanOperation operation = this.createOperation(bean, "quick");
+
+		assertThatThrownBy(() -> this.execute(operation, "fail"))
+				.isInstanceOf(BeanCallException.class);
+		assertThat(bean.singleCalls.get())
+				.isZero();
+		assertThat(operation.getBatchCollector().getIsolatedCalls())
+				.isZero();
+	}
+
+	private void awaitCondition(final BooleanSupplier condition) throws InterruptedException {
+		final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+			Thread.sleep(1);
+		}
+		assertThat(condition.getAsBoolean())
+				.isTrue();
+	}
+
+	private ApplicationProtocol<Integer> execute(final BeanOperation operation, final String article) {
+		return MethodImplementation.executeOperation(operation, new ApplicationProtocol<Integer>(),
+				new Object[] { article });
+	}
+
+	private BeanOperation createOperation(final LengthBean bean, final String methodIdentifier) {
+		final BeanOperation operation = BeanOperation.builder()
+				.implementation(bean)
+				.methodIdentifier(methodIdentifier)
+				.arguments(Arrays.asList(new ArgumentFromMethod(String.class, 0), new ArgumentApplicationProtocol()))
+				.build();
+		operation.init(this.methodImplMock, this.contextMock);
+		return operation;
+	}
+
+	public static class LengthBean {
+
+		final AtomicInteger batchCalls = new AtomicInteger();
+		final AtomicInteger singleCalls = new AtomicInteger();
+		final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+		final CountDownLatch release = new CountDownLatch(1);
+
+		@BatchImplementation(method = "lengths", collectWindowMicros = 5_000_000, maxBatchSize = CALLERS,
+				fixedWindow = true)
+		public ApplicationProtocol<Integer> length(final String article, final ApplicationProtocol<Integer> state) {
+			return this.single(article, state);
+		}
+
+		@BatchImplementation(method = "lengths", collectWindowMicros = 1_000)
+		public ApplicationProtocol<Integer> quick(final String article, final ApplicationProtocol<Integer> state) {
+			return this.single(article, state);
+		}
+
+		@BatchImplementation(method = "slowLengths", collectWindowMicros = 5_000_000)
+		public ApplicationProtocol<Integer> adaptive(final String article, final ApplicationProtocol<Integer> state) {
+			return this.single(article, state);
+		}
+
+		public ApplicationProtocol<Integer> single(final String article, final ApplicationProtocol<Integer> state) {
+			this.singleCalls.incrementAndGet();
+			if (article.equals("fail")) {
+				throw new IllegalStateException("fail");
+			}
+			return state.setResult(article.length());
+		}
+
+		public List<ApplicationProtocol<Integer>> slowLengths(final List<String> articles,
+				final List<ApplicationProtocol<Integer>> states) throws InterruptedException {
+			this.batchSizes.add(articles.size());
+			this.release.await();
+			return this.lengths(articles, states);
+		}
+
+		public List<ApplicationProtocol<Integer>> lengths(final List<String> articles,
+				final List<ApplicationProtocol<Integer>> states) {
+			this.batchCalls.incrementAndGet();
+			for (int i = 0; i < articles.size(); i++) {
+				if (articles.get(i).equals("fail")) {
+					throw new IllegalStateException("fail");
+				}
+				states.get(i).setResult(articles.get(i).length());
+			}
+			return states;
+		}
+	}
+}
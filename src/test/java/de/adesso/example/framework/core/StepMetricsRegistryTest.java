@@ -0,0 +1,114 @@
+package de.adesso.example.framework.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationContextAware;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import de.adesso.example.framework.ApplicationProtocol;
+import de.adesso.example.framework.TestConfig;
+import de.adesso.example.framework.annotation.CallStrategy;
+import de.adesso.example.framework.annotation.CallingStrategy;
+import de.adesso.example.framework.annotation.Required;
+import de.adesso.example.framework.exception.BeanCallException;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = { TestConfig.class })
+public class StepMetricsRegistryTest {
+
+	@Autowired
+	private ApplicationContext context;
+
+	@Autowired
+	private StepMetricsRegistry registry;
+
+	@Test
+	public void testStepsAreRecorded() throws Exception {
+		final MeteredInterface emulated = this.createProxy();
+
+		emulated.calculate("a", new ApplicationProtocol<>());
+		emulated.calculate("b", new ApplicationProtocol<String>().addAppendix(null, "appendix"));
+		assertThatThrownBy(() -> emulated.calculate("fail", new ApplicationProtocol<>()))
+				.isInstanceOf(BeanCallException.class);
+
+		final List<StepMetrics> steps = this.registry.getStepMetrics(MeteredInterface.class, "calculate");
+		assertThat(steps)
+				.extracting(StepMetrics::getStep)
+				.containsExactly("MeteredBean.init", "MeteredBean.appendixMethod");
+		assertThat(steps.get(0).getInvocations())
+				.isEqualTo(3);
+		assertThat(steps.get(0).getFailures())
+				.isEqualTo(1);
+		assertThat(steps.get(0).getLatencies().getCount())
+				.isEqualTo(3);
+		assertThat(steps.get(1).getInvocations())
+				.isEqualTo(1);
+		assertThat(steps.get(1).getSkips())
+				.isEqualTo(1);
+		assertThat(steps.get(1).getLatencies().getPercentile(99))
+				.isLessThanOrEqualTo(steps.get(1).getLatencies().getMax());
+		assertThat(this.registry.getStepMetrics())
+				.containsAll(steps);
+	}
+
+	@Test
+	public void testUnknownMethod() {
+		assertThat(this.registry.getStepMetrics(MeteredInterface.class, "unknown"))
+				.isEmpty();
+	}
+
+	private MeteredInterface createProxy() throws Exception {
+		final MeteredBean bean = new MeteredBean();
+		final MeteredInterface emulated = new DaisyChainDispatcherFactory(this.context)
+				.emulationInterface(MeteredInterface.class)
+				.implementation(MethodImplementation.builder()
+						.methodIdentifier("calculate")
+						.beanOperation(BeanOperation.builder()
+								.implementation(bean)
+								.methodIdentifier("init")
+								.argument(new ArgumentFromMethod(String.class, 0))
+								.argument(new ArgumentApplicationProtocol())
+								.build())
+						.beanOperation(BeanOperation.builder()
+								.implementation(bean)
+								.methodIdentifier("appendixMethod")
+								.argument(new ArgumentFromAppendix(String.class))
+								.argument(new ArgumentApplicationProtocol())
+								.build())
+						.build())
+				.build();
+		((ApplicationContextAware) emulated).setApplicationContext(this.context);
+		((InitializingBean) emulated).afterPropertiesSet();
+		return emulated;
+	}
+
+	public interface MeteredInterface {
+
+		ApplicationProtocol<String> calculate(String text, ApplicationProtocol<String> state);
+	}
+
+	public static class MeteredBean {
+
+		public ApplicationProtocol<String> init(final String text, final ApplicationProtocol<String> state) {
+			if ("fail".equals(text)) {
+				throw new IllegalStateException(text);
+			}
+			return state.setResult(text);
+		}
+
+		@CallStrategy(strategy = CallingStrategy.REQUIRED_PARAMETER)
+		public ApplicationProtocol<String> appendixMethod(@Required final String appendix,
+				final ApplicationProtocol<String> state) {
+			return state.setResult(state.getResult() + appendix);
+		}
+	}
+}
@@ -0,0 +1,28 @@
+package de.adesso.example.framework.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+public class VirtualThreadsTest {
+
+	@Test
+	public void testExecutorDependsOnRuntime() throws Exception {
+		final boolean supported = Runtime.version().feature() >= 21;
+
+		final Optional<ExecutorService> executor = VirtualThreads.newPerTaskExecutor();
+
+		assertThat(executor.isPresent())
+				.isEqualTo(supported);
+		if (supported) {
+			final ExecutorService service = executor.get();
+			assertThat(service.submit(() -> "done").get(1, TimeUnit.SECONDS))
+					.isEqualTo("done");
+			service.shutdown();
+		}
+	}
+}